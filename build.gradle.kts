@@ -1,3 +1,7 @@
+import groovy.json.JsonSlurper
+import java.io.DataOutputStream
+import java.math.BigDecimal
+import java.math.BigInteger
 import xyz.jpenilla.runpaper.task.RunServer
 
 plugins {
@@ -95,12 +99,110 @@ indraSpotlessLicenser {
     }
 }
 
+/**
+ * Compiles the bundled data json files into the binary format read by
+ * me.machinemaker.papertweaks.data.CompiledData. Keep the two in sync,
+ * and bump FORMAT_VERSION in both when the layout changes.
+ */
+abstract class CompileDataFiles : DefaultTask() {
+
+    @get:InputDirectory
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val source: DirectoryProperty
+
+    @get:OutputDirectory
+    abstract val destination: DirectoryProperty
+
+    @TaskAction
+    fun compile() {
+        val root = source.get().asFile
+        val out = destination.get().asFile
+        out.deleteRecursively()
+        root.walkTopDown().filter { it.isFile && it.extension == "json" }.forEach { json ->
+            val relative = json.relativeTo(root.parentFile).path.removeSuffix(".json") + ".bin"
+            val target = out.resolve(relative)
+            target.parentFile.mkdirs()
+            val value = JsonSlurper().parse(json, Charsets.UTF_8.name())
+            val strings = LinkedHashMap<String, Int>()
+            collectStrings(value, strings)
+            DataOutputStream(target.outputStream().buffered()).use { stream ->
+                stream.writeInt(MAGIC)
+                stream.writeShort(FORMAT_VERSION)
+                stream.writeInt(strings.size)
+                strings.keys.forEach {
+                    val bytes = it.toByteArray(Charsets.UTF_8)
+                    stream.writeInt(bytes.size)
+                    stream.write(bytes)
+                }
+                writeValue(stream, value, strings)
+            }
+            logger.info("Compiled {} ({} bytes) to {} ({} bytes)", json.name, json.length(), target.name, target.length())
+        }
+    }
+
+    private fun collectStrings(value: Any?, strings: MutableMap<String, Int>) {
+        when (value) {
+            is String -> strings.putIfAbsent(value, strings.size)
+            is List<*> -> value.forEach { collectStrings(it, strings) }
+            is Map<*, *> -> value.forEach { (key, child) ->
+                strings.putIfAbsent(key as String, strings.size)
+                collectStrings(child, strings)
+            }
+        }
+    }
+
+    private fun writeValue(stream: DataOutputStream, value: Any?, strings: Map<String, Int>) {
+        when (value) {
+            null -> stream.writeByte(0)
+            false -> stream.writeByte(1)
+            true -> stream.writeByte(2)
+            is Int, is Long, is BigInteger -> {
+                stream.writeByte(3)
+                stream.writeLong((value as Number).toLong())
+            }
+            is BigDecimal, is Double, is Float -> {
+                stream.writeByte(4)
+                stream.writeDouble((value as Number).toDouble())
+            }
+            is String -> {
+                stream.writeByte(5)
+                stream.writeInt(strings.getValue(value))
+            }
+            is List<*> -> {
+                stream.writeByte(6)
+                stream.writeInt(value.size)
+                value.forEach { writeValue(stream, it, strings) }
+            }
+            is Map<*, *> -> {
+                stream.writeByte(7)
+                stream.writeInt(value.size)
+                value.forEach { (key, child) ->
+                    stream.writeInt(strings.getValue(key as String))
+                    writeValue(stream, child, strings)
+                }
+            }
+            else -> throw GradleException("Unsupported json value ${value::class}")
+        }
+    }
+
+    private companion object {
+        const val MAGIC = 0x50544442 // PTDB
+        const val FORMAT_VERSION = 1
+    }
+}
+
+val compileDataFiles = tasks.register<CompileDataFiles>("compileDataFiles") {
+    source.set(layout.projectDirectory.dir("src/main/resources/data"))
+    destination.set(layout.buildDirectory.dir("generated/compiledData"))
+}
+
 tasks {
     assemble {
         dependsOn(shadowJar)
     }
 
     processResources {
+        from(compileDataFiles)
         filteringCharset = Charsets.UTF_8.name()
         filesMatching(listOf("plugin.yml", "paper-plugin.yml")) {
             expand("version" to project.version)
@@ -35,13 +35,17 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Stream;
 import me.machinemaker.lectern.BaseConfig;
 import me.machinemaker.papertweaks.cloud.CloudModule;
+import me.machinemaker.papertweaks.data.DatasetLoader;
 import me.machinemaker.papertweaks.db.DatabaseModule;
 import me.machinemaker.papertweaks.db.DatabaseType;
+import me.machinemaker.papertweaks.heads.HeadFactory;
 import me.machinemaker.papertweaks.integrations.Integrations;
 import me.machinemaker.papertweaks.migrations.ModulesFileMigrations;
 import me.machinemaker.papertweaks.modules.ModuleManager;
 import me.machinemaker.papertweaks.modules.ModuleRegistry;
 import me.machinemaker.papertweaks.modules.teleportation.homes.Homes;
+import me.machinemaker.papertweaks.particles.ParticleService;
+import me.machinemaker.papertweaks.teleport.TeleportWarmups;
 import me.machinemaker.papertweaks.utils.PlayerMapFactory;
 import net.kyori.adventure.text.Component;
 import org.bukkit.command.CommandSender;
@@ -75,6 +79,9 @@ public class PaperTweaks extends JavaPlugin {
     private PaperTweaksMetrics metrics;
     private @MonotonicNonNull PaperTweaksConfig config;
     private @MonotonicNonNull Jdbi jdbi;
+    private @MonotonicNonNull ParticleService particleService;
+    private @MonotonicNonNull TeleportWarmups teleportWarmups;
+    private @MonotonicNonNull DatasetLoader datasetLoader;
 
     @Override
     public void onEnable() {
@@ -113,6 +120,9 @@ public class PaperTweaks extends JavaPlugin {
         I18n.create(this.i18nPath, this.getClassLoader()).setupI18n();
 
         final PlayerMapFactory mapFactory = new PlayerMapFactory();
+        this.particleService = new ParticleService();
+        this.teleportWarmups = new TeleportWarmups(this.config.teleportWarmup.countdown, this.config.teleportWarmup.countdownIntervalTicks, this.config.teleportWarmup.maxPrefetchesPerWorld);
+        this.datasetLoader = new DatasetLoader(this.getClassLoader(), this.dataPath);
         final Injector pluginInjector;
         try {
             pluginInjector = Guice.createInjector(new DatabaseModule(this.jdbi), new AbstractModule() {
@@ -123,6 +133,9 @@ public class PaperTweaks extends JavaPlugin {
                     this.bind(JavaPlugin.class).toInstance(PaperTweaks.this);
                     this.bind(Plugin.class).toInstance(PaperTweaks.this);
                     this.bind(PlayerMapFactory.class).toInstance(mapFactory);
+                    this.bind(ParticleService.class).toInstance(PaperTweaks.this.particleService);
+                    this.bind(TeleportWarmups.class).toInstance(PaperTweaks.this.teleportWarmups);
+                    this.bind(DatasetLoader.class).toInstance(PaperTweaks.this.datasetLoader);
                     this.bind(Path.class).annotatedWith(Names.named("data")).toInstance(PaperTweaks.this.dataPath);
                     this.bind(Path.class).annotatedWith(Names.named("modules")).toInstance(PaperTweaks.this.modulesPath);
                     this.bind(Path.class).annotatedWith(Names.named("i18n")).toInstance(PaperTweaks.this.i18nPath);
@@ -134,6 +147,8 @@ public class PaperTweaks extends JavaPlugin {
         } catch (final CreationException e) {
             throw new RuntimeException("Could not create injector!", e);
         }
+        this.particleService.start(this);
+        this.teleportWarmups.start(this);
 
         this.getServer().getConsoleSender().sendMessage(join(PLUGIN_PREFIX, translatable("plugin-lifecycle.on-enable.loaded-modules", GOLD, text(this.moduleManager.loadModules(), GRAY))));
         this.getServer().getConsoleSender().sendMessage(join(PLUGIN_PREFIX, translatable("plugin-lifecycle.on-enable.enabled-modules", GREEN, text(this.moduleManager.enableModules(), GRAY))));
@@ -141,11 +156,23 @@ public class PaperTweaks extends JavaPlugin {
         pluginInjector.getInstance(RootCommand.class).registerCommands();
         this.getServer().getPluginManager().registerEvents(pluginInjector.getInstance(GlobalListener.class), this);
         this.getServer().getPluginManager().registerEvents(mapFactory, this);
+        this.getServer().getPluginManager().registerEvents(this.particleService, this);
+        this.getServer().getPluginManager().registerEvents(this.teleportWarmups, this);
     }
 
     @Override
     public void onDisable() {
         this.moduleManager.disableModules(true);
+        if (this.particleService != null) {
+            this.particleService.stop();
+        }
+        if (this.teleportWarmups != null) {
+            this.teleportWarmups.stop();
+        }
+        if (this.datasetLoader != null) {
+            this.datasetLoader.shutdown();
+        }
+        HeadFactory.clear();
         EXECUTOR_SERVICE.shutdownNow();
     }
 
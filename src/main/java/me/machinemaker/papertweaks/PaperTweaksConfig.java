@@ -25,6 +25,7 @@ import me.machinemaker.lectern.annotations.Description;
 import me.machinemaker.lectern.annotations.Key;
 import me.machinemaker.lectern.annotations.YamlConfig;
 import me.machinemaker.papertweaks.db.DatabaseType;
+import me.machinemaker.papertweaks.teleport.TeleportWarmups;
 
 @YamlConfig
 public class PaperTweaksConfig extends BaseConfig {
@@ -34,6 +35,8 @@ public class PaperTweaksConfig extends BaseConfig {
 
     public Database database = new Database();
 
+    public TeleportWarmup teleportWarmup = new TeleportWarmup();
+
     @ConfigurationSection(path = "database", description = "Settings related to the embedded database. Don't change these, they are just there if you want to look inside the H2 database for yourself")
     public static class Database {
 
@@ -44,4 +47,19 @@ public class PaperTweaksConfig extends BaseConfig {
 
         public String password = "password";
     }
+
+    @ConfigurationSection(path = "teleport-warmup", description = "Settings for the delay before teleporting with /back, /home and /spawn")
+    public static class TeleportWarmup {
+
+        @Description("How the time left is shown to the player. One of: NONE, ACTION_BAR, BOSS_BAR")
+        public TeleportWarmups.Countdown countdown = TeleportWarmups.Countdown.NONE;
+
+        @Key("countdown-interval-ticks")
+        @Description("How often, in ticks, the countdown is redrawn")
+        public int countdownIntervalTicks = 10;
+
+        @Key("max-prefetches-per-world")
+        @Description("The max number of destination chunks loaded ahead of time per world. Warmups over the limit load the destination when they teleport")
+        public int maxPrefetchesPerWorld = 16;
+    }
 }
@@ -34,6 +34,7 @@ import me.machinemaker.papertweaks.adventure.Components;
 import me.machinemaker.papertweaks.cloud.PaperTweaksCommand;
 import me.machinemaker.papertweaks.cloud.arguments.ModuleArgument;
 import me.machinemaker.papertweaks.cloud.dispatchers.CommandDispatcher;
+import me.machinemaker.papertweaks.heads.HeadFactory;
 import me.machinemaker.papertweaks.menus.AbstractConfigurationMenu;
 import me.machinemaker.papertweaks.modules.ModuleBase;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
@@ -108,6 +109,8 @@ public class RootCommand extends PaperTweaksCommand {
             .handler(this::sendModuleList)
         ).command(this.simple("version")
             .handler(this::showVersion)
+        ).command(this.simple("heads")
+            .handler(this::showHeadStats)
         );
     }
 
@@ -171,4 +174,9 @@ public class RootCommand extends PaperTweaksCommand {
         context.getSender().sendMessage(component);
     }
 
+    private void showHeadStats(final CommandContext<CommandDispatcher> context) {
+        final HeadFactory.Stats stats = HeadFactory.stats();
+        context.getSender().sendMessage(translatable("commands.heads.success", GRAY, text(stats.templates(), GOLD), text(stats.hits(), GOLD), text(stats.misses(), GOLD), text(stats.evictions(), GOLD)));
+    }
+
 }
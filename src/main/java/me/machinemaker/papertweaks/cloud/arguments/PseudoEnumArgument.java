@@ -36,6 +36,7 @@ import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class PseudoEnumArgument<C> extends CommandArgument<C, String> {
@@ -43,6 +44,10 @@ public class PseudoEnumArgument<C> extends CommandArgument<C, String> {
     private final StringArgument.StringMode stringMode;
 
     protected PseudoEnumArgument(final boolean required, final String name, final StringArgument.StringMode stringMode, final String defaultValue, final Set<String> allowedValues, final @Nullable BiFunction<CommandContext<C>, String, List<String>> suggestionsProvider, final ArgumentDescription defaultDescription) {
+        this(required, name, stringMode, defaultValue, () -> allowedValues, suggestionsProvider, defaultDescription);
+    }
+
+    protected PseudoEnumArgument(final boolean required, final String name, final StringArgument.StringMode stringMode, final String defaultValue, final Supplier<Set<String>> allowedValues, final @Nullable BiFunction<CommandContext<C>, String, List<String>> suggestionsProvider, final ArgumentDescription defaultDescription) {
         super(required, name, new PseudoEnumParser<>(stringMode, allowedValues), defaultValue, String.class, suggestionsProvider, defaultDescription);
         this.stringMode = stringMode;
     }
@@ -57,6 +62,19 @@ public class PseudoEnumArgument<C> extends CommandArgument<C, String> {
      * @since 1.6.0
      */
     public static <C> PseudoEnumArgument.Builder<C> builder(final String name, final Set<String> allowedValues) {
+        return new Builder<>(name, () -> allowedValues);
+    }
+
+    /**
+     * Create a new builder with allowed values that are only looked up
+     * when the argument is parsed or suggested
+     *
+     * @param name          Name of the argument
+     * @param allowedValues Supplier of the allowed values
+     * @param <C>           Command sender type
+     * @return Created builder
+     */
+    public static <C> PseudoEnumArgument.Builder<C> builder(final String name, final Supplier<Set<String>> allowedValues) {
         return new Builder<>(name, allowedValues);
     }
 
@@ -141,6 +159,19 @@ public class PseudoEnumArgument<C> extends CommandArgument<C, String> {
         return of(name, allowedValues, StringArgument.StringMode.SINGLE);
     }
 
+    /**
+     * Create a new required command argument with the 'single' parsing mode
+     * and allowed values that are only looked up when needed
+     *
+     * @param name          Argument name
+     * @param allowedValues Supplier of the allowed values
+     * @param <C>           Command sender type
+     * @return Created argument
+     */
+    public static <C> CommandArgument<C, String> single(final String name, final Supplier<Set<String>> allowedValues) {
+        return PseudoEnumArgument.<C>builder(name, allowedValues).single().asRequired().build();
+    }
+
     /**
      * Create a new required command argument with the 'greedy' parsing mode
      *
@@ -186,10 +217,10 @@ public class PseudoEnumArgument<C> extends CommandArgument<C, String> {
      */
     public static final class Builder<C> extends CommandArgument.TypedBuilder<C, String, Builder<C>> {
 
-        private final Set<String> allowedValues;
+        private final Supplier<Set<String>> allowedValues;
         private StringArgument.StringMode stringMode = StringArgument.StringMode.SINGLE;
 
-        private Builder(final String name, final Set<String> allowedValues) {
+        private Builder(final String name, final Supplier<Set<String>> allowedValues) {
             super(String.class, name);
             this.allowedValues = allowedValues;
         }
@@ -263,11 +294,15 @@ public class PseudoEnumArgument<C> extends CommandArgument<C, String> {
      */
     public static final class PseudoEnumParser<C> implements ArgumentParser<C, String> {
 
-        private final Set<String> allowedValues;
+        private final Supplier<Set<String>> allowedValues;
         private final StringArgument.StringParser<C> stringParser;
 
         public PseudoEnumParser(final StringArgument.StringMode stringMode, final Set<String> allowedValues) {
-            this.stringParser = new StringArgument.StringParser<>(stringMode, (context, s) -> new ArrayList<>(allowedValues));
+            this(stringMode, () -> allowedValues);
+        }
+
+        public PseudoEnumParser(final StringArgument.StringMode stringMode, final Supplier<Set<String>> allowedValues) {
+            this.stringParser = new StringArgument.StringParser<>(stringMode, (context, s) -> new ArrayList<>(allowedValues.get()));
             this.allowedValues = allowedValues;
         }
 
@@ -278,8 +313,9 @@ public class PseudoEnumArgument<C> extends CommandArgument<C, String> {
                 return result;
             } else if (result.getParsedValue().isPresent()) {
                 final String input = result.getParsedValue().get();
-                if (!this.allowedValues.contains(input)) {
-                    return ArgumentParseResult.failure(new PseudoEnumParseException(input, this.allowedValues, commandContext));
+                final Set<String> allowedValues = this.allowedValues.get();
+                if (!allowedValues.contains(input)) {
+                    return ArgumentParseResult.failure(new PseudoEnumParseException(input, allowedValues, commandContext));
                 } else {
                     return result;
                 }
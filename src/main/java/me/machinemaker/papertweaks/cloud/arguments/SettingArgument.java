@@ -39,6 +39,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.function.Consumer;
 import me.machinemaker.papertweaks.cloud.dispatchers.CommandDispatcher;
 import me.machinemaker.papertweaks.cloud.dispatchers.PlayerCommandDispatcher;
 import me.machinemaker.papertweaks.modules.MenuModuleConfig;
@@ -81,6 +82,10 @@ public class SettingArgument<C, S extends Setting<?, C>> extends ArgumentPair<Co
     }
 
     public static <C, S extends ModuleSetting<?, C>> Command.Builder<CommandDispatcher> resetPlayerSettings(final Command.Builder<CommandDispatcher> builder, final String translationKey, final ModuleSettings<C, S> settings) {
+        return resetPlayerSettings(builder, translationKey, settings, player -> {});
+    }
+
+    public static <C, S extends ModuleSetting<?, C>> Command.Builder<CommandDispatcher> resetPlayerSettings(final Command.Builder<CommandDispatcher> builder, final String translationKey, final ModuleSettings<C, S> settings, final Consumer<Player> afterReset) {
         return builder
             .literal("reset", RichDescription.translatable(translationKey))
             .handler(context -> {
@@ -90,6 +95,7 @@ public class SettingArgument<C, S extends Setting<?, C>> extends ArgumentPair<Co
                         playerSetting.reset(player);
                     }
                 }
+                afterReset.accept(player);
                 context.getSender().sendMessage(translatable(translationKey + ".success", NamedTextColor.GREEN));
             });
     }
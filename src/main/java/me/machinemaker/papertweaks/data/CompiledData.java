@@ -0,0 +1,151 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.data;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Reader for the data files compiled by the {@code compileDataFiles} gradle task.
+ * <p>
+ * A compiled file is the 4 byte magic {@code PTDB}, a 2 byte format version,
+ * a table of every distinct string in the file (object keys included) and then
+ * the value tree, where strings are just indexes into that table. Repeated
+ * textures and names are stored once, and each is decoded at most once,
+ * straight from the file's bytes, into a single shared {@link TextNode}.
+ * <p>
+ * Keep this in sync with the task in build.gradle.kts.
+ */
+final class CompiledData {
+
+    static final String EXTENSION = ".bin";
+    static final int FORMAT_VERSION = 1;
+    private static final int MAGIC = 0x50544442; // PTDB
+
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INTEGER = 3;
+    private static final byte DECIMAL = 4;
+    private static final byte STRING = 5;
+    private static final byte ARRAY = 6;
+    private static final byte OBJECT = 7;
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final @Nullable TextNode[] strings;
+
+    private CompiledData(final byte[] bytes) throws IOException {
+        this.bytes = bytes;
+        this.buffer = ByteBuffer.wrap(bytes);
+        if (this.buffer.remaining() < 6 || this.buffer.getInt() != MAGIC) {
+            throw new IOException("Not a compiled data file");
+        }
+        final int version = this.buffer.getShort() & 0xFFFF;
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported compiled data version " + version + ", expected " + FORMAT_VERSION);
+        }
+        final int count = this.buffer.getInt();
+        this.offsets = new int[count];
+        this.lengths = new int[count];
+        this.strings = new TextNode[count];
+        for (int i = 0; i < count; i++) {
+            final int length = this.buffer.getInt();
+            this.offsets[i] = this.buffer.position();
+            this.lengths[i] = length;
+            this.buffer.position(this.buffer.position() + length);
+        }
+    }
+
+    /**
+     * Reads a compiled data file into the same tree Jackson would have
+     * read from the original json.
+     *
+     * @param bytes the compiled file
+     * @return the root node
+     * @throws IOException if the file isn't a compiled data file, or is from a different format version
+     */
+    static JsonNode read(final byte[] bytes) throws IOException {
+        try {
+            final CompiledData data = new CompiledData(bytes);
+            final JsonNode root = data.readValue();
+            if (data.buffer.hasRemaining()) {
+                throw new IOException(data.buffer.remaining() + " trailing bytes after the root value");
+            }
+            return root;
+        } catch (final BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated or corrupt compiled data file", e);
+        }
+    }
+
+    private JsonNode readValue() throws IOException {
+        final byte tag = this.buffer.get();
+        return switch (tag) {
+            case NULL -> NODES.nullNode();
+            case FALSE -> NODES.booleanNode(false);
+            case TRUE -> NODES.booleanNode(true);
+            case INTEGER -> {
+                final long value = this.buffer.getLong();
+                yield value == (int) value ? NODES.numberNode((int) value) : NODES.numberNode(value);
+            }
+            case DECIMAL -> NODES.numberNode(this.buffer.getDouble());
+            case STRING -> this.string(this.buffer.getInt());
+            case ARRAY -> {
+                final int size = this.buffer.getInt();
+                final ArrayNode array = NODES.arrayNode(size);
+                for (int i = 0; i < size; i++) {
+                    array.add(this.readValue());
+                }
+                yield array;
+            }
+            case OBJECT -> {
+                final int size = this.buffer.getInt();
+                final ObjectNode object = NODES.objectNode();
+                for (int i = 0; i < size; i++) {
+                    final String key = this.string(this.buffer.getInt()).textValue();
+                    object.set(key, this.readValue());
+                }
+                yield object;
+            }
+            default -> throw new IOException("Unknown value tag " + tag + " at " + (this.buffer.position() - 1));
+        };
+    }
+
+    private TextNode string(final int index) {
+        @Nullable TextNode node = this.strings[index];
+        if (node == null) {
+            node = new TextNode(new String(this.bytes, this.offsets[index], this.lengths[index], StandardCharsets.UTF_8));
+            this.strings[index] = node;
+        }
+        return node;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.data;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.lang.ref.SoftReference;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Parsed data from a bundled resource.
+ * <p>
+ * The data is held strongly from the first {@link #load()} until it is
+ * {@link #release() released}, after which it is only softly reachable
+ * so the garbage collector can take it back if memory gets tight. If it
+ * is still around when the dataset is loaded again, and the resource's
+ * content hash hasn't changed, it is reused instead of being parsed again.
+ *
+ * @param <T> the type of the parsed data
+ */
+public final class Dataset<T> {
+
+    private final DatasetLoader loader;
+    private final String resource;
+    private final DatasetLoader.Parser<T> parser;
+    private final T fallback;
+    private volatile @Nullable T value;
+    private SoftReference<T> released = new SoftReference<>(null);
+    private byte @Nullable [] hash;
+    private @Nullable CompletableFuture<T> loading;
+    private int generation; // bumped on release so a load that was already running doesn't store its result
+
+    Dataset(final DatasetLoader loader, final String resource, final DatasetLoader.Parser<T> parser, final T fallback) {
+        this.loader = loader;
+        this.resource = resource;
+        this.parser = parser;
+        this.fallback = fallback;
+    }
+
+    public String resource() {
+        return this.resource;
+    }
+
+    public boolean isLoaded() {
+        return this.value != null;
+    }
+
+    /**
+     * Starts loading the data in the background, if it isn't already loaded.
+     *
+     * @return a future completed with the data
+     */
+    public synchronized CompletableFuture<T> load() {
+        final @Nullable T current = this.value;
+        if (current != null) {
+            return CompletableFuture.completedFuture(current);
+        }
+        if (this.loading == null) {
+            final int generation = this.generation;
+            this.loading = CompletableFuture.supplyAsync(() -> this.read(generation), this.loader.executor());
+        }
+        return this.loading;
+    }
+
+    /**
+     * Gets the data, waiting for it to be loaded if needed.
+     *
+     * @return the data
+     */
+    public T get() {
+        final @Nullable T current = this.value;
+        return current != null ? current : this.load().join();
+    }
+
+    /**
+     * Lets go of the strong reference to the data, for when the modules
+     * using it are disabled.
+     */
+    public synchronized void release() {
+        final @Nullable T current = this.value;
+        if (current != null && current != this.fallback) {
+            this.released = new SoftReference<>(current);
+        }
+        this.value = null;
+        this.loading = null;
+        this.generation++;
+    }
+
+    private T read(final int generation) {
+        DatasetLoader.Source source;
+        final byte[] contentHash;
+        try {
+            source = this.loader.read(this.resource);
+            contentHash = MessageDigest.getInstance("SHA-256").digest(source.bytes());
+        } catch (final Exception e) {
+            DatasetLoader.LOGGER.error("Could not read {}. Modules using it will not work properly", this.resource, e);
+            return this.complete(this.fallback, null, generation);
+        }
+        synchronized (this) {
+            final @Nullable T cached = this.released.get();
+            if (cached != null && Arrays.equals(contentHash, this.hash)) {
+                return this.complete(cached, contentHash, generation);
+            }
+        }
+        final long start = System.nanoTime();
+        JsonNode root;
+        try {
+            root = source.readTree();
+        } catch (final Exception e) {
+            if (source.kind() != DatasetLoader.Source.Kind.COMPILED) {
+                DatasetLoader.LOGGER.error("Could not parse {}. Modules using it will not work properly", source.path(), e);
+                return this.complete(this.fallback, null, generation);
+            }
+            DatasetLoader.LOGGER.warn("Could not read the compiled {}, falling back to the bundled json: {}", source.path(), e.getMessage());
+            try {
+                source = this.loader.bundled(this.resource);
+                root = source.readTree();
+            } catch (final Exception ex) {
+                DatasetLoader.LOGGER.error("Could not parse {}. Modules using it will not work properly", this.resource, ex);
+                return this.complete(this.fallback, null, generation);
+            }
+        }
+        final T parsed;
+        try {
+            parsed = this.parser.parse(root);
+        } catch (final Exception e) {
+            DatasetLoader.LOGGER.error("Could not parse {}. Modules using it will not work properly", source.path(), e);
+            return this.complete(this.fallback, null, generation);
+        }
+        final long parseMillis = (System.nanoTime() - start) / 1_000_000;
+        DatasetLoader.LOGGER.info("Loaded {} from {} in {}ms ({} KB on disk, about {} KB in memory)", this.resource, source.path(), parseMillis, source.bytes().length / 1024, SizeEstimator.estimate(parsed) / 1024);
+        return this.complete(parsed, contentHash, generation);
+    }
+
+    private synchronized T complete(final T data, final byte @Nullable [] contentHash, final int generation) {
+        if (generation != this.generation) {
+            // released while loading, only keep the result around softly
+            if (data != this.fallback) {
+                this.released = new SoftReference<>(data);
+                this.hash = contentHash;
+            }
+            return data;
+        }
+        this.value = data;
+        this.hash = contentHash;
+        this.released = new SoftReference<>(null);
+        this.loading = null;
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        return "Dataset{resource=" + this.resource + ", loaded=" + this.isLoaded() + "}";
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.data;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import me.machinemaker.papertweaks.LoggerFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * Hands out the {@link Dataset}s for the plugin's bundled data files.
+ * Datasets are parsed on a single background thread the first time
+ * they are needed, and there is only ever one dataset per resource.
+ * <p>
+ * A resource is read from the first of these that exists:
+ * <ol>
+ *     <li>a json file at the same path in the plugin's data folder, so servers can override the bundled data</li>
+ *     <li>the binary version compiled into the jar at build time</li>
+ *     <li>the bundled json file</li>
+ * </ol>
+ */
+public final class DatasetLoader {
+
+    static final Logger LOGGER = LoggerFactory.getLogger("Datasets");
+    private static final ObjectMapper JSON_READER = new ObjectMapper();
+
+    private final ClassLoader classLoader;
+    private final Path dataPath;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "PaperTweaks Dataset Loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Dataset<?>> datasets = new ConcurrentHashMap<>();
+
+    public DatasetLoader(final ClassLoader classLoader, final Path dataPath) {
+        this.classLoader = classLoader;
+        this.dataPath = dataPath;
+    }
+
+    /**
+     * Gets the dataset for a bundled resource. Nothing is read until the
+     * dataset is loaded.
+     *
+     * @param resource the path of the json resource
+     * @param parser the parser for the resource, the first one registered for a resource is used
+     * @param fallback the value to use if the resource can't be read or parsed
+     * @param <T> the type of the parsed data
+     * @return the dataset
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Dataset<T> dataset(final String resource, final Parser<T> parser, final T fallback) {
+        return (Dataset<T>) this.datasets.computeIfAbsent(resource, r -> new Dataset<>(this, r, parser, fallback));
+    }
+
+    public Collection<Dataset<?>> datasets() {
+        return Collections.unmodifiableCollection(this.datasets.values());
+    }
+
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    Executor executor() {
+        return this.executor;
+    }
+
+    Source read(final String resource) throws IOException {
+        final Path override = this.dataPath.resolve(resource);
+        if (Files.isRegularFile(override)) {
+            return new Source(Source.Kind.OVERRIDE, override.toString(), Files.readAllBytes(override));
+        }
+        final String compiled = resource.substring(0, resource.length() - ".json".length()) + CompiledData.EXTENSION;
+        final byte @Nullable [] compiledBytes = this.readResource(compiled);
+        if (compiledBytes != null) {
+            return new Source(Source.Kind.COMPILED, compiled, compiledBytes);
+        }
+        return this.bundled(resource);
+    }
+
+    Source bundled(final String resource) throws IOException {
+        final byte @Nullable [] bytes = this.readResource(resource);
+        if (bytes == null) {
+            throw new IOException(resource + " is missing from the jar");
+        }
+        return new Source(Source.Kind.BUNDLED, resource, bytes);
+    }
+
+    private byte @Nullable [] readResource(final String resource) throws IOException {
+        try (final @Nullable InputStream stream = this.classLoader.getResourceAsStream(resource)) {
+            return stream == null ? null : stream.readAllBytes();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Parser<T> {
+
+        /**
+         * Turns the tree read from a data file into the data.
+         *
+         * @param root the root of the data file, the same whether it came from json or a compiled file
+         * @return the data
+         * @throws IOException if the tree couldn't be mapped
+         */
+        T parse(JsonNode root) throws IOException;
+    }
+
+    record Source(Kind kind, String path, byte[] bytes) {
+
+        JsonNode readTree() throws IOException {
+            return this.kind == Kind.COMPILED ? CompiledData.read(this.bytes) : JSON_READER.readTree(this.bytes);
+        }
+
+        enum Kind {
+            OVERRIDE,
+            COMPILED,
+            BUNDLED
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.data;
+
+import com.google.common.collect.Multimap;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Rough estimate of the memory an object graph keeps alive, assuming
+ * compressed oops. Only the plugin's own classes are inspected
+ * reflectively; collections, maps, arrays and strings are estimated from
+ * their contents and anything else counts as a bare object header.
+ */
+final class SizeEstimator {
+
+    private static final int HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int COLLECTION_OVERHEAD = 32;
+    private static final int MAP_ENTRY = 32;
+
+    private SizeEstimator() {
+    }
+
+    static long estimate(final Object root) {
+        final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Object> stack = new ArrayDeque<>();
+        stack.push(root);
+        long total = 0;
+        while (!stack.isEmpty()) {
+            final Object object = stack.pop();
+            if (!seen.add(object) || object instanceof Enum<?> || object instanceof Class<?>) {
+                continue;
+            }
+            final Class<?> type = object.getClass();
+            if (object instanceof final String string) {
+                total += align(HEADER + 8) + align(16 + string.length());
+            } else if (type.isArray()) {
+                final int length = Array.getLength(object);
+                final Class<?> component = type.getComponentType();
+                total += align(16 + (long) length * (component.isPrimitive() ? primitiveSize(component) : REFERENCE));
+                if (!component.isPrimitive()) {
+                    for (int i = 0; i < length; i++) {
+                        push(stack, Array.get(object, i));
+                    }
+                }
+            } else if (object instanceof final Map<?, ?> map) {
+                total += COLLECTION_OVERHEAD + (long) map.size() * MAP_ENTRY;
+                map.forEach((key, value) -> {
+                    push(stack, key);
+                    push(stack, value);
+                });
+            } else if (object instanceof final Multimap<?, ?> multimap) {
+                total += COLLECTION_OVERHEAD;
+                push(stack, multimap.asMap());
+            } else if (object instanceof final Collection<?> collection) {
+                total += COLLECTION_OVERHEAD + (long) collection.size() * REFERENCE;
+                collection.forEach(element -> push(stack, element));
+            } else if (type.getClassLoader() == SizeEstimator.class.getClassLoader()) {
+                total += fields(object, stack);
+            } else {
+                total += align(HEADER);
+            }
+        }
+        return total;
+    }
+
+    private static long fields(final Object object, final Deque<Object> stack) {
+        long size = HEADER;
+        for (Class<?> type = object.getClass(); type != null && type.getClassLoader() == SizeEstimator.class.getClassLoader(); type = type.getSuperclass()) {
+            for (final Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                if (field.getType().isPrimitive()) {
+                    size += primitiveSize(field.getType());
+                    continue;
+                }
+                size += REFERENCE;
+                try {
+                    field.setAccessible(true);
+                    push(stack, field.get(object));
+                } catch (final ReflectiveOperationException | RuntimeException ignored) {
+                    // count the reference, skip what it points to
+                }
+            }
+        }
+        return align(size);
+    }
+
+    private static void push(final Deque<Object> stack, final @Nullable Object object) {
+        if (object != null) {
+            stack.push(object);
+        }
+    }
+
+    private static int primitiveSize(final Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(final long size) {
+        return (size + 7) & ~7L;
+    }
+}
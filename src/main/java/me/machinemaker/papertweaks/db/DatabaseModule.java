@@ -22,6 +22,8 @@ package me.machinemaker.papertweaks.db;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
+import me.machinemaker.papertweaks.db.dao.mobs.countmobdeaths.MobDeathCountDAO;
+import me.machinemaker.papertweaks.db.dao.survival.trackstats.StatHistoryDAO;
 import me.machinemaker.papertweaks.db.dao.teleportation.homes.HomesDAO;
 import org.jdbi.v3.core.Jdbi;
 
@@ -43,4 +45,16 @@ public class DatabaseModule extends AbstractModule {
     HomesDAO homesDAO(Jdbi jdbi) {
         return jdbi.onDemand(HomesDAO.class);
     }
+
+    @Provides
+    @Singleton
+    StatHistoryDAO statHistoryDAO(Jdbi jdbi) {
+        return jdbi.onDemand(StatHistoryDAO.class);
+    }
+
+    @Provides
+    @Singleton
+    MobDeathCountDAO mobDeathCountDAO(Jdbi jdbi) {
+        return jdbi.onDemand(MobDeathCountDAO.class);
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.db.dao.mobs.countmobdeaths;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import me.machinemaker.papertweaks.db.model.mobs.countmobdeaths.MobDeathCount;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.BindBean;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transaction;
+
+@RegisterConstructorMapper(MobDeathCount.class)
+public interface MobDeathCountDAO {
+
+    @SqlQuery("SELECT * FROM mob_death_counts")
+    List<MobDeathCount> getCounts();
+
+    @SqlBatch("UPDATE mob_death_counts SET deaths = :deaths WHERE scope = :scope AND mob = :mob")
+    int[] updateCounts(@BindBean Collection<MobDeathCount> counts);
+
+    @SqlBatch("INSERT INTO mob_death_counts (scope, mob, deaths) VALUES (:scope, :mob, :deaths)")
+    void insertCounts(@BindBean Collection<MobDeathCount> counts);
+
+    @Transaction
+    default void setCounts(final List<MobDeathCount> counts) {
+        final int[] updated = this.updateCounts(counts);
+        final List<MobDeathCount> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(counts.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            this.insertCounts(missing);
+        }
+    }
+
+    @SqlUpdate("DELETE FROM mob_death_counts WHERE scope = :scope")
+    int deleteScope(String scope);
+}
@@ -0,0 +1,73 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.db.dao.survival.trackstats;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import me.machinemaker.papertweaks.db.model.survival.trackstats.StatDelta;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.BindBean;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transaction;
+
+@RegisterConstructorMapper(StatDelta.class)
+public interface StatHistoryDAO {
+
+    @SqlBatch("INSERT INTO stat_history (stat, player, resolution, bucket, delta) VALUES (:stat, :player, :resolution, :bucket, :delta)")
+    void insertDeltas(@BindBean Collection<StatDelta> deltas);
+
+    @SqlQuery("SELECT * FROM stat_history WHERE stat = :stat AND player = :player AND resolution = :resolution AND bucket >= :from ORDER BY bucket")
+    List<StatDelta> getDeltas(String stat, UUID player, int resolution, long from);
+
+    @SqlQuery("SELECT value FROM stat_history_heads WHERE stat = :stat AND player = :player")
+    Optional<Integer> getHead(String stat, UUID player);
+
+    @SqlUpdate("UPDATE stat_history_heads SET value = :value WHERE stat = :stat AND player = :player")
+    int updateHead(String stat, UUID player, int value);
+
+    @SqlUpdate("INSERT INTO stat_history_heads (stat, player, value) VALUES (:stat, :player, :value)")
+    void insertHead(String stat, UUID player, int value);
+
+    @Transaction
+    default void setHead(final String stat, final UUID player, final int value) {
+        if (this.updateHead(stat, player, value) == 0) {
+            this.insertHead(stat, player, value);
+        }
+    }
+
+    @SqlQuery("SELECT MIN(bucket) FROM stat_history WHERE resolution = :resolution")
+    Optional<Long> getFirstBucket(int resolution);
+
+    @SqlQuery("SELECT MAX(bucket) FROM stat_history WHERE resolution = :resolution")
+    Optional<Long> getLastBucket(int resolution);
+
+    @SqlUpdate("INSERT INTO stat_history (stat, player, resolution, bucket, delta) SELECT stat, player, 1, (bucket / 3600) * 3600, SUM(delta) FROM stat_history WHERE resolution = 0 AND bucket >= :from AND bucket < :to GROUP BY stat, player, (bucket / 3600) * 3600")
+    int rollupHourly(long from, long to);
+
+    @SqlUpdate("INSERT INTO stat_history (stat, player, resolution, bucket, delta) SELECT stat, player, 2, (bucket / 86400) * 86400, SUM(delta) FROM stat_history WHERE resolution = 1 AND bucket >= :from AND bucket < :to GROUP BY stat, player, (bucket / 86400) * 86400")
+    int rollupDaily(long from, long to);
+
+    @SqlUpdate("DELETE FROM stat_history WHERE resolution = :resolution AND bucket < :before")
+    int deleteBefore(int resolution, long before);
+}
@@ -0,0 +1,75 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.db.model.mobs.countmobdeaths;
+
+import java.util.Objects;
+import org.jdbi.v3.core.mapper.reflect.JdbiConstructor;
+
+/**
+ * The number of deaths of one mob type counted in a scope, like
+ * {@code global} or {@code world:<uuid>}.
+ */
+public class MobDeathCount {
+
+    private final String scope;
+    private final String mob;
+    private final int deaths;
+
+    @JdbiConstructor
+    public MobDeathCount(final String scope, final String mob, final int deaths) {
+        this.scope = scope;
+        this.mob = mob;
+        this.deaths = deaths;
+    }
+
+    public String getScope() {
+        return this.scope;
+    }
+
+    public String getMob() {
+        return this.mob;
+    }
+
+    public int getDeaths() {
+        return this.deaths;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || this.getClass() != o.getClass()) return false;
+        final MobDeathCount that = (MobDeathCount) o;
+        return this.deaths == that.deaths && this.scope.equals(that.scope) && this.mob.equals(that.mob);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.scope, this.mob, this.deaths);
+    }
+
+    @Override
+    public String toString() {
+        return "MobDeathCount{" +
+                "scope='" + this.scope + '\'' +
+                ", mob='" + this.mob + '\'' +
+                ", deaths=" + this.deaths +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.db.model.survival.trackstats;
+
+import java.util.Objects;
+import java.util.UUID;
+import org.jdbi.v3.core.mapper.reflect.JdbiConstructor;
+
+/**
+ * A single row of stat history. Rows only store the change in a stat
+ * over their bucket, so summing the rows in a window gives the progress
+ * made during that window.
+ */
+public class StatDelta {
+
+    public static final int RAW = 0;
+    public static final int HOURLY = 1;
+    public static final int DAILY = 2;
+
+    private final String stat;
+    private final UUID player;
+    private final int resolution;
+    private final long bucket;
+    private final int delta;
+
+    @JdbiConstructor
+    public StatDelta(final String stat, final UUID player, final int resolution, final long bucket, final int delta) {
+        this.stat = stat;
+        this.player = player;
+        this.resolution = resolution;
+        this.bucket = bucket;
+        this.delta = delta;
+    }
+
+    public String getStat() {
+        return this.stat;
+    }
+
+    public UUID getPlayer() {
+        return this.player;
+    }
+
+    public int getResolution() {
+        return this.resolution;
+    }
+
+    /**
+     * The start of this row's bucket, in epoch seconds.
+     */
+    public long getBucket() {
+        return this.bucket;
+    }
+
+    public int getDelta() {
+        return this.delta;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || this.getClass() != o.getClass()) return false;
+        final StatDelta statDelta = (StatDelta) o;
+        return this.resolution == statDelta.resolution && this.bucket == statDelta.bucket && this.delta == statDelta.delta && this.stat.equals(statDelta.stat) && this.player.equals(statDelta.player);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.stat, this.player, this.resolution, this.bucket, this.delta);
+    }
+
+    @Override
+    public String toString() {
+        return "StatDelta{" +
+                "stat='" + this.stat + '\'' +
+                ", player=" + this.player +
+                ", resolution=" + this.resolution +
+                ", bucket=" + this.bucket +
+                ", delta=" + this.delta +
+                '}';
+    }
+}
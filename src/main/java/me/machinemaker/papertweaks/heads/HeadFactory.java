@@ -0,0 +1,165 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.heads;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.destroystokyo.paper.profile.ProfileProperty;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Creates player heads from a template cache. The first request for a
+ * texture (or player profile) builds the profile and skull meta once,
+ * every request after that is just a copy of the cached template.
+ * <p>
+ * Safe to use off the main thread, the datasets create their heads
+ * while being parsed in the background.
+ */
+public final class HeadFactory {
+
+    private static final int CACHE_SIZE = 1024;
+    private static final String TEXTURES = "textures";
+    private static final Gson GSON = new Gson();
+
+    private static final Map<Key, ItemStack> TEMPLATES = new LinkedHashMap<>(64, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, ItemStack> eldest) {
+            if (this.size() > CACHE_SIZE) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    };
+    private static long hits;
+    private static long misses;
+    private static long evictions;
+
+    private HeadFactory() {
+    }
+
+    /**
+     * Gets a copy of a textured head.
+     *
+     * @param name the display name of the item
+     * @param profileName the name of the head's profile
+     * @param uuid the id of the head's profile, heads with the same texture and no id share a stable one so they stack
+     * @param texture the base64 textures property
+     * @param count the amount
+     * @return a new head
+     */
+    public static ItemStack create(final @Nullable Component name, final @Nullable String profileName, final @Nullable UUID uuid, final @Nullable String texture, final int count) {
+        if (name == null && profileName == null && uuid == null && texture == null) {
+            return new ItemStack(Material.PLAYER_HEAD, count);
+        }
+        return copy(new Key(name, profileName, uuid, texture), count);
+    }
+
+    /**
+     * Gets a copy of a player's head, with the texture timestamp removed
+     * so heads of the same player stack.
+     *
+     * @param player the player
+     * @return a new head
+     */
+    public static ItemStack create(final Player player) {
+        final @Nullable String texture = player.getPlayerProfile().getProperties().stream()
+            .filter(property -> property.getName().equals(TEXTURES))
+            .findFirst()
+            .map(property -> withoutTimestamp(property.getValue()))
+            .orElse(null);
+        return copy(new Key(null, player.getName(), player.getUniqueId(), texture), 1);
+    }
+
+    public static synchronized Stats stats() {
+        return new Stats(TEMPLATES.size(), hits, misses, evictions);
+    }
+
+    public static synchronized void clear() {
+        TEMPLATES.clear();
+    }
+
+    private static ItemStack copy(final Key key, final int count) {
+        synchronized (HeadFactory.class) {
+            final @Nullable ItemStack template = TEMPLATES.get(key);
+            if (template != null) {
+                hits++;
+                return template.asQuantity(count);
+            }
+            misses++;
+        }
+        final ItemStack template = key.createTemplate();
+        synchronized (HeadFactory.class) {
+            final @Nullable ItemStack existing = TEMPLATES.putIfAbsent(key, template);
+            return (existing != null ? existing : template).asQuantity(count);
+        }
+    }
+
+    private static String withoutTimestamp(final String textures) {
+        final JsonObject object = GSON.fromJson(new String(Base64.getDecoder().decode(textures), StandardCharsets.UTF_8), JsonObject.class);
+        if (object.remove("timestamp") == null) {
+            return textures;
+        }
+        return Base64.getEncoder().encodeToString(GSON.toJson(object).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Head cache statistics.
+     *
+     * @param templates the number of cached templates
+     * @param hits the number of heads copied from an existing template
+     * @param misses the number of heads that needed a new template
+     * @param evictions the number of templates dropped to keep the cache in size
+     */
+    public record Stats(int templates, long hits, long misses, long evictions) {
+    }
+
+    private record Key(@Nullable Component name, @Nullable String profileName, @Nullable UUID uuid, @Nullable String texture) {
+
+        private ItemStack createTemplate() {
+            final ItemStack skull = new ItemStack(Material.PLAYER_HEAD);
+            final SkullMeta meta = (SkullMeta) Objects.requireNonNull(skull.getItemMeta());
+            final UUID id = this.uuid != null ? this.uuid : UUID.nameUUIDFromBytes(Objects.requireNonNullElse(this.texture, "").getBytes(StandardCharsets.UTF_8));
+            final PlayerProfile profile = Bukkit.createProfile(id, this.profileName);
+            if (this.texture != null) {
+                profile.setProperty(new ProfileProperty(TEXTURES, this.texture));
+            }
+            meta.setPlayerProfile(profile);
+            if (this.name != null) {
+                meta.displayName(this.name);
+            }
+            skull.setItemMeta(meta);
+            return skull;
+        }
+    }
+}
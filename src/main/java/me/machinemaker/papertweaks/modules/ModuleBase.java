@@ -24,6 +24,7 @@ import com.google.inject.TypeLiteral;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
 import me.machinemaker.papertweaks.annotations.ModuleInfo;
+import me.machinemaker.papertweaks.data.Dataset;
 import org.bukkit.Keyed;
 import org.bukkit.inventory.Recipe;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -53,6 +54,16 @@ public abstract class ModuleBase extends ConfigModule {
         return Collections.emptySet();
     }
 
+    /**
+     * The bundled datasets this module uses. They start loading in the
+     * background when the module is enabled and are released when it's disabled.
+     *
+     * @return the module's datasets
+     */
+    protected Collection<Dataset<?>> datasets() {
+        return Collections.emptySet();
+    }
+
     @Override
     @OverridingMethodsMustInvokeSuper
     protected void configure() {
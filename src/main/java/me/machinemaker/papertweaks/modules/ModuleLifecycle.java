@@ -29,6 +29,7 @@ import java.util.stream.Collectors;
 import me.machinemaker.papertweaks.PaperTweaks;
 import me.machinemaker.papertweaks.annotations.ModuleInfo;
 import me.machinemaker.papertweaks.cloud.dispatchers.CommandDispatcher;
+import me.machinemaker.papertweaks.data.Dataset;
 import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
 import org.bukkit.event.HandlerList;
@@ -48,6 +49,8 @@ public abstract class ModuleLifecycle {
     private PaperCommandManager<CommandDispatcher> commandManager;
     @Inject
     private ModuleInfo moduleInfo;
+    @Inject
+    private ModuleBase moduleBase;
 
     @Inject
     protected ModuleLifecycle(final JavaPlugin plugin, final Set<ModuleCommand> commands, final Set<ModuleListener> listeners, final Set<ModuleConfig> configs, final Set<ModuleRecipe<?>> moduleRecipes) {
@@ -81,6 +84,7 @@ public abstract class ModuleLifecycle {
 
     final void enable() {
         try {
+            this.moduleBase.datasets().forEach(Dataset::load);
             this.enableCommands();
             this.registerListeners();
             this.configs.forEach(ModuleConfig::reloadAndSave);
@@ -107,6 +111,7 @@ public abstract class ModuleLifecycle {
             this.unregisterListeners();
             this.unregisterRecipes();
             this.onDisable(isShutdown);
+            this.moduleBase.datasets().forEach(Dataset::release);
             if (changeState) this.state = ModuleState.DISABLED;
         } catch (final Exception e) {
             PaperTweaks.LOGGER.error("Failed to disable {}", this.moduleInfo.name(), e);
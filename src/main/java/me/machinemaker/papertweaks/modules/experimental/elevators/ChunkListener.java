@@ -0,0 +1,73 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.experimental.elevators;
+
+import com.google.inject.Inject;
+import me.machinemaker.papertweaks.modules.ModuleListener;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Marker;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+class ChunkListener implements ModuleListener {
+
+    private final ElevatorIndex index;
+
+    @Inject
+    ChunkListener(final ElevatorIndex index) {
+        this.index = index;
+    }
+
+    static void migrate(final ElevatorIndex index, final Marker marker) {
+        if (Elevators.IS_ELEVATOR.has(marker)) {
+            index.add(marker.getLocation().getBlock());
+            marker.remove();
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(final ChunkLoadEvent event) {
+        this.index.load(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(final ChunkUnloadEvent event) {
+        this.index.unload(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(final EntitiesLoadEvent event) {
+        // elevators used to be marker entities
+        for (final Entity entity : event.getEntities()) {
+            if (entity instanceof final Marker marker) {
+                migrate(this.index, marker);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(final WorldUnloadEvent event) {
+        this.index.unload(event.getWorld());
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.experimental.elevators;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import me.machinemaker.papertweaks.particles.ParticleEmitter;
+import me.machinemaker.papertweaks.particles.ParticleService;
+import me.machinemaker.papertweaks.particles.ParticleShape;
+import me.machinemaker.papertweaks.pdc.PDCKey;
+import me.machinemaker.papertweaks.utils.Keys;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.persistence.PersistentDataType;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Index of the elevator blocks in loaded chunks.
+ * <p>
+ * Each chunk stores its elevators in its own PDC as one packed int per
+ * elevator, {@code y << 8 | localX << 4 | localZ}. The index is read when
+ * the chunk loads and written back on every change, and keeps a sorted
+ * array of y levels per block column so the next elevator above or below
+ * is a binary search. Each indexed elevator has a particle emitter.
+ */
+@Singleton
+class ElevatorIndex {
+
+    static final PDCKey<int[]> ELEVATORS = new PDCKey<>(Keys.key("elevators"), PersistentDataType.INTEGER_ARRAY);
+
+    private final Map<UUID, Map<Long, ChunkElevators>> worlds = new HashMap<>();
+    private final ParticleService particles;
+
+    @Inject
+    ElevatorIndex(final ParticleService particles) {
+        this.particles = particles;
+    }
+
+    private static int column(final int x, final int z) {
+        return (x & 15) << 4 | (z & 15);
+    }
+
+    void loadAll() {
+        for (final World world : Bukkit.getWorlds()) {
+            for (final Chunk chunk : world.getLoadedChunks()) {
+                this.load(chunk);
+            }
+        }
+    }
+
+    void load(final Chunk chunk) {
+        final int @Nullable [] packed = ELEVATORS.getFrom(chunk);
+        if (packed == null || packed.length == 0) {
+            return;
+        }
+        final ChunkElevators elevators = new ChunkElevators(chunk);
+        for (final int entry : packed) {
+            if (elevators.add(entry & 0xFF, entry >> 8)) {
+                this.emit(elevators, entry & 0xFF, entry >> 8);
+            }
+        }
+        final @Nullable ChunkElevators previous = this.worlds.computeIfAbsent(chunk.getWorld().getUID(), uuid -> new HashMap<>()).put(chunk.getChunkKey(), elevators);
+        if (previous != null) {
+            this.particles.unregisterAll(previous.emitters.values());
+        }
+    }
+
+    private void emit(final ChunkElevators elevators, final int column, final int y) {
+        final Location location = new Location(elevators.world, (elevators.chunkX << 4 | column >> 4) + 0.5, y + 1.0, (elevators.chunkZ << 4 | column & 15) + 0.5);
+        elevators.emitters.put(y << 8 | column, this.particles.register(ParticleEmitter.builder(location, ParticleShape.point())
+            .particle(Particle.REVERSE_PORTAL, null)
+            .offset(0.25, 0, 0.25)
+            .extra(0.02)
+            .period(10)
+            .build()));
+    }
+
+    void unload(final Chunk chunk) {
+        final @Nullable Map<Long, ChunkElevators> chunks = this.worlds.get(chunk.getWorld().getUID());
+        if (chunks != null) {
+            final @Nullable ChunkElevators elevators = chunks.remove(chunk.getChunkKey());
+            if (elevators != null) {
+                this.particles.unregisterAll(elevators.emitters.values());
+            }
+        }
+    }
+
+    void unload(final World world) {
+        final @Nullable Map<Long, ChunkElevators> chunks = this.worlds.remove(world.getUID());
+        if (chunks != null) {
+            chunks.values().forEach(elevators -> this.particles.unregisterAll(elevators.emitters.values()));
+        }
+    }
+
+    void clear() {
+        this.worlds.values().forEach(chunks -> chunks.values().forEach(elevators -> this.particles.unregisterAll(elevators.emitters.values())));
+        this.worlds.clear();
+    }
+
+    boolean contains(final Block block) {
+        final @Nullable ChunkElevators elevators = this.get(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+        return elevators != null && elevators.contains(column(block.getX(), block.getZ()), block.getY());
+    }
+
+    void add(final Block block) {
+        final Chunk chunk = block.getChunk();
+        final Map<Long, ChunkElevators> chunks = this.worlds.computeIfAbsent(block.getWorld().getUID(), uuid -> new HashMap<>());
+        if (!chunks.containsKey(chunk.getChunkKey())) {
+            // entities can load before the chunk load event, read what is stored so saving doesn't overwrite it
+            this.load(chunk);
+        }
+        final ChunkElevators elevators = chunks.computeIfAbsent(chunk.getChunkKey(), key -> new ChunkElevators(chunk));
+        final int column = column(block.getX(), block.getZ());
+        if (elevators.add(column, block.getY())) {
+            this.emit(elevators, column, block.getY());
+            elevators.save(chunk);
+        }
+    }
+
+    void remove(final Block block) {
+        final @Nullable ChunkElevators elevators = this.get(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+        final int column = column(block.getX(), block.getZ());
+        if (elevators != null && elevators.remove(column, block.getY())) {
+            final @Nullable ParticleEmitter emitter = elevators.emitters.remove(block.getY() << 8 | column);
+            if (emitter != null) {
+                this.particles.unregister(emitter);
+            }
+            elevators.save(block.getChunk());
+            if (elevators.size == 0) {
+                this.worlds.get(block.getWorld().getUID()).remove(block.getChunk().getChunkKey());
+            }
+        }
+    }
+
+    /**
+     * Finds the closest elevator above or below another one in the same column.
+     *
+     * @param block the starting elevator
+     * @param up true to search above, false for below
+     * @param maxDistance the max vertical distance
+     * @return the y level of the next elevator or null if there is none
+     */
+    @Nullable Integer next(final Block block, final boolean up, final int maxDistance) {
+        final @Nullable ChunkElevators elevators = this.get(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+        if (elevators == null) {
+            return null;
+        }
+        final int @Nullable [] levels = elevators.columns[column(block.getX(), block.getZ())];
+        if (levels == null) {
+            return null;
+        }
+        int index = Arrays.binarySearch(levels, block.getY());
+        if (index >= 0) {
+            index = up ? index + 1 : index - 1;
+        } else {
+            final int insertion = -index - 1;
+            index = up ? insertion : insertion - 1;
+        }
+        if (index < 0 || index >= levels.length || Math.abs(levels[index] - block.getY()) > maxDistance) {
+            return null;
+        }
+        return levels[index];
+    }
+
+    @Nullable ChunkElevators get(final World world, final int chunkX, final int chunkZ) {
+        final @Nullable Map<Long, ChunkElevators> chunks = this.worlds.get(world.getUID());
+        return chunks == null ? null : chunks.get(Chunk.getChunkKey(chunkX, chunkZ));
+    }
+
+    static final class ChunkElevators {
+
+        private final World world;
+        private final int chunkX;
+        private final int chunkZ;
+        private final int @Nullable [][] columns = new int[256][];
+        private final Map<Integer, ParticleEmitter> emitters = new HashMap<>();
+        private int size;
+
+        private ChunkElevators(final Chunk chunk) {
+            this.world = chunk.getWorld();
+            this.chunkX = chunk.getX();
+            this.chunkZ = chunk.getZ();
+        }
+
+        boolean contains(final int column, final int y) {
+            final int @Nullable [] levels = this.columns[column];
+            return levels != null && Arrays.binarySearch(levels, y) >= 0;
+        }
+
+        private boolean add(final int column, final int y) {
+            final int @Nullable [] levels = this.columns[column];
+            if (levels == null) {
+                this.columns[column] = new int[]{y};
+            } else {
+                final int index = Arrays.binarySearch(levels, y);
+                if (index >= 0) {
+                    return false;
+                }
+                final int insertion = -index - 1;
+                final int[] newLevels = new int[levels.length + 1];
+                System.arraycopy(levels, 0, newLevels, 0, insertion);
+                newLevels[insertion] = y;
+                System.arraycopy(levels, insertion, newLevels, insertion + 1, levels.length - insertion);
+                this.columns[column] = newLevels;
+            }
+            this.size++;
+            return true;
+        }
+
+        private boolean remove(final int column, final int y) {
+            final int @Nullable [] levels = this.columns[column];
+            if (levels == null) {
+                return false;
+            }
+            final int index = Arrays.binarySearch(levels, y);
+            if (index < 0) {
+                return false;
+            }
+            if (levels.length == 1) {
+                this.columns[column] = null;
+            } else {
+                final int[] newLevels = new int[levels.length - 1];
+                System.arraycopy(levels, 0, newLevels, 0, index);
+                System.arraycopy(levels, index + 1, newLevels, index, levels.length - index - 1);
+                this.columns[column] = newLevels;
+            }
+            this.size--;
+            return true;
+        }
+
+        /**
+         * Visits every elevator in this chunk.
+         *
+         * @param visitor receives the local x, y and local z of each elevator
+         */
+        void forEach(final Visitor visitor) {
+            for (int column = 0; column < this.columns.length; column++) {
+                final int @Nullable [] levels = this.columns[column];
+                if (levels != null) {
+                    for (final int y : levels) {
+                        visitor.visit(column >> 4, y, column & 15);
+                    }
+                }
+            }
+        }
+
+        private void save(final Chunk chunk) {
+            if (this.size == 0) {
+                ELEVATORS.remove(chunk);
+                return;
+            }
+            final int[] packed = new int[this.size];
+            int i = 0;
+            for (int column = 0; column < this.columns.length; column++) {
+                final int @Nullable [] levels = this.columns[column];
+                if (levels != null) {
+                    for (final int y : levels) {
+                        packed[i++] = y << 8 | column;
+                    }
+                }
+            }
+            ELEVATORS.setTo(chunk, packed);
+        }
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+
+        void visit(int localX, int y, int localZ);
+    }
+}
@@ -19,18 +19,18 @@
  */
 package me.machinemaker.papertweaks.modules.experimental.elevators;
 
-import me.machinemaker.papertweaks.utils.Entities;
 import me.machinemaker.papertweaks.utils.runnables.ItemDropFinder;
 import org.bukkit.Location;
 import org.bukkit.Tag;
-import org.bukkit.block.Block;
 import org.bukkit.entity.Item;
-import org.bukkit.entity.Marker;
 
 class ElevatorItemFinder extends ItemDropFinder {
 
-    protected ElevatorItemFinder(final Item item) {
+    private final ElevatorIndex index;
+
+    protected ElevatorItemFinder(final Item item, final ElevatorIndex index) {
         super(item, 100);
+        this.index = index;
     }
 
     @Override
@@ -42,7 +42,7 @@ class ElevatorItemFinder extends ItemDropFinder {
     public boolean successCheck(final Item item) {
         final Location loc = item.getLocation().subtract(0, 0.25, 0);
         if (Tag.WOOL.isTagged(loc.getBlock().getType())) {
-            if (Entities.getNearbyEntitiesOfType(Marker.class, loc.getBlock().getLocation().add(0.5, 0.5, 0.5), 0.1, 0.1, 0.1, Elevators.IS_ELEVATOR::has).isEmpty()) {
+            if (!this.index.contains(loc.getBlock())) {
                 this.createElevator(item, loc);
                 return true;
             }
@@ -51,13 +51,7 @@ class ElevatorItemFinder extends ItemDropFinder {
     }
 
     private void createElevator(final Item item, final Location location) {
-        final Block block = location.getBlock();
-        final Location middle = block.getLocation().add(0.5, 0.5, 0.5);
-        block.getWorld().spawn(middle, Marker.class, m -> {
-            m.setInvulnerable(true);
-            m.setGravity(false);
-            Elevators.IS_ELEVATOR.setTo(m, true);
-        });
+        this.index.add(location.getBlock());
         item.getItemStack().setAmount(0);
         item.remove();
     }
@@ -0,0 +1,85 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.experimental.elevators;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import me.machinemaker.papertweaks.utils.LongHashSet;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Drops elevators whose wool was removed. Only checks the chunks around
+ * players, elsewhere elevators are checked when someone tries to use them.
+ */
+class ElevatorValidator extends BukkitRunnable {
+
+    private static final int CHUNK_RADIUS = 2;
+
+    private final ElevatorIndex index;
+
+    ElevatorValidator(final ElevatorIndex index) {
+        this.index = index;
+    }
+
+    @Override
+    public void run() {
+        final Map<World, LongHashSet> visibleChunks = new HashMap<>();
+        for (final Player player : Bukkit.getOnlinePlayers()) {
+            final LongHashSet chunks = visibleChunks.computeIfAbsent(player.getWorld(), world -> new LongHashSet());
+            final int chunkX = player.getLocation().getBlockX() >> 4;
+            final int chunkZ = player.getLocation().getBlockZ() >> 4;
+            for (int x = chunkX - CHUNK_RADIUS; x <= chunkX + CHUNK_RADIUS; x++) {
+                for (int z = chunkZ - CHUNK_RADIUS; z <= chunkZ + CHUNK_RADIUS; z++) {
+                    chunks.add(Chunk.getChunkKey(x, z));
+                }
+            }
+        }
+        final List<Block> removed = new ArrayList<>();
+        visibleChunks.forEach((world, chunks) -> chunks.forEach(chunkKey -> {
+            final int chunkX = (int) chunkKey;
+            final int chunkZ = (int) (chunkKey >> 32);
+            final ElevatorIndex.@Nullable ChunkElevators elevators = this.index.get(world, chunkX, chunkZ);
+            if (elevators == null) {
+                return;
+            }
+            elevators.forEach((localX, y, localZ) -> {
+                final Block block = world.getBlockAt(chunkX << 4 | localX, y, chunkZ << 4 | localZ);
+                if (!Tag.WOOL.isTagged(block.getType())) {
+                    removed.add(block);
+                }
+            });
+        }));
+        for (final Block block : removed) {
+            this.index.remove(block);
+            block.getWorld().dropItem(block.getLocation().add(0.5, 0.5, 0.5), new ItemStack(Material.ENDER_PEARL));
+        }
+    }
+}
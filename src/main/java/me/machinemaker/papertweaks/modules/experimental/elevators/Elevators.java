@@ -41,7 +41,7 @@ public class Elevators extends ModuleBase {
 
     @Override
     protected Collection<Class<? extends ModuleListener>> listeners() {
-        return Set.of(PlayerListener.class, ItemListener.class);
+        return Set.of(PlayerListener.class, ItemListener.class, ChunkListener.class);
     }
 
     @Override
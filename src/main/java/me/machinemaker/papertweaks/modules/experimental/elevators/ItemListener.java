@@ -30,16 +30,18 @@ import org.bukkit.plugin.java.JavaPlugin;
 class ItemListener implements ModuleListener {
 
     private final JavaPlugin plugin;
+    private final ElevatorIndex index;
 
     @Inject
-    ItemListener(final JavaPlugin plugin) {
+    ItemListener(final JavaPlugin plugin, final ElevatorIndex index) {
         this.plugin = plugin;
+        this.index = index;
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onItemDrop(final PlayerDropItemEvent event) {
         if (event.getPlayer().hasPermission("vanillatweaks.elevators.create") && event.getItemDrop().getItemStack().getType() == Material.ENDER_PEARL) {
-            new ElevatorItemFinder(event.getItemDrop()).runTaskTimer(this.plugin, 1L, 1L);
+            new ElevatorItemFinder(event.getItemDrop(), this.index).runTaskTimer(this.plugin, 1L, 1L);
         }
     }
 }
@@ -26,28 +26,40 @@ import me.machinemaker.papertweaks.modules.ModuleConfig;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
 import me.machinemaker.papertweaks.modules.ModuleListener;
 import me.machinemaker.papertweaks.modules.ModuleRecipe;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Marker;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitTask;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 class Lifecycle extends ModuleLifecycle {
 
-    private @Nullable BukkitTask particlesTask;
+    private final ElevatorIndex index;
+    private @Nullable BukkitTask validatorTask;
 
     @Inject
-    Lifecycle(final JavaPlugin plugin, final Set<ModuleCommand> commands, final Set<ModuleListener> listeners, final Set<ModuleConfig> configs, final Set<ModuleRecipe<?>> moduleRecipes) {
+    Lifecycle(final JavaPlugin plugin, final Set<ModuleCommand> commands, final Set<ModuleListener> listeners, final Set<ModuleConfig> configs, final Set<ModuleRecipe<?>> moduleRecipes, final ElevatorIndex index) {
         super(plugin, commands, listeners, configs, moduleRecipes);
+        this.index = index;
     }
 
     @Override
     public void onEnable() {
-        this.particlesTask = new PortalParticles().runTaskTimer(this.getPlugin(), 1L, 10L);
+        this.index.loadAll();
+        for (final World world : Bukkit.getWorlds()) {
+            for (final Marker marker : world.getEntitiesByClass(Marker.class)) {
+                ChunkListener.migrate(this.index, marker);
+            }
+        }
+        this.validatorTask = new ElevatorValidator(this.index).runTaskTimer(this.getPlugin(), 1L, 10L);
     }
 
     @Override
     public void onDisable(final boolean isShutdown) {
-        if (this.particlesTask != null && !this.particlesTask.isCancelled()) {
-            this.particlesTask.cancel();
+        if (this.validatorTask != null && !this.validatorTask.isCancelled()) {
+            this.validatorTask.cancel();
         }
+        this.index.clear();
     }
 }
@@ -20,68 +20,81 @@
 package me.machinemaker.papertweaks.modules.experimental.elevators;
 
 import com.google.inject.Inject;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
 import me.machinemaker.papertweaks.modules.ModuleListener;
-import me.machinemaker.papertweaks.utils.Entities;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.SoundCategory;
-import org.bukkit.entity.Marker;
+import org.bukkit.Tag;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.PlayerEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerToggleSneakEvent;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 class PlayerListener implements ModuleListener {
 
     private final Config config;
     private final JavaPlugin plugin;
+    private final ElevatorIndex index;
 
     @Inject
-    PlayerListener(final Config config, final JavaPlugin plugin) {
+    PlayerListener(final Config config, final JavaPlugin plugin, final ElevatorIndex index) {
         this.config = config;
         this.plugin = plugin;
+        this.index = index;
     }
 
     private static boolean canUseElevator(final PlayerEvent event) {
         return event.getPlayer().hasPermission("vanillatweaks.elevators.use");
     }
 
-    private static boolean isOnElevator(final Location location) {
-        return Entities.getSingleNearbyEntityOfType(Marker.class, location.subtract(0, 1, 0).getBlock().getLocation().add(0.5, 0.5, 0.5), 0.1, 0.1, 0.1, Elevators.IS_ELEVATOR::has) != null;
+    private @Nullable Block elevatorUnder(final Player player) {
+        final Block block = player.getLocation().subtract(0, 1, 0).getBlock();
+        return this.index.contains(block) ? block : null;
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onPlayerMove(final PlayerMoveEvent event) {
-        if (canUseElevator(event) && event.getPlayer().getVelocity().getY() > 0 && isOnElevator(event.getPlayer().getLocation())) {
-            final Location elevatorLoc = event.getPlayer().getLocation().subtract(0, 1, 0).getBlock().getLocation();
-            final Collection<Marker> elevators = Entities.getNearbyEntitiesOfType(Marker.class, elevatorLoc.add(0.5, 0.5, 0.5), 0.01, this.config.maxVerticalSearch + 0.01, 0.01, marker -> Elevators.IS_ELEVATOR.has(marker) && marker.getLocation().getBlockY() > elevatorLoc.getBlockY());
-            this.teleportPlayer(event.getPlayer(), elevatorLoc, elevators);
+        if (canUseElevator(event) && event.getPlayer().getVelocity().getY() > 0) {
+            final @Nullable Block elevator = this.elevatorUnder(event.getPlayer());
+            if (elevator != null) {
+                this.teleportPlayer(event.getPlayer(), elevator, true);
+            }
         }
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onPlayerSneak(final PlayerToggleSneakEvent event) {
-        if (canUseElevator(event) && event.isSneaking() && isOnElevator(event.getPlayer().getLocation())) {
-            final Location elevatorLoc = event.getPlayer().getLocation().subtract(0, 1, 0).getBlock().getLocation();
-            final Collection<Marker> elevators = Entities.getNearbyEntitiesOfType(Marker.class, elevatorLoc.add(0.5, 0.5, 0.5), 0.01, this.config.maxVerticalSearch + 0.01, 0.01, marker -> Elevators.IS_ELEVATOR.has(marker) && marker.getLocation().getBlockY() < elevatorLoc.getBlockY());
-            this.teleportPlayer(event.getPlayer(), elevatorLoc, elevators);
+        if (canUseElevator(event) && event.isSneaking()) {
+            final @Nullable Block elevator = this.elevatorUnder(event.getPlayer());
+            if (elevator != null) {
+                this.teleportPlayer(event.getPlayer(), elevator, false);
+            }
         }
     }
 
-    private void teleportPlayer(final Player player, final Location start, final Collection<Marker> possibleLocations) {
-        if (!possibleLocations.isEmpty()) {
-            final Marker next = Collections.min(possibleLocations, Comparator.comparingDouble(value -> value.getLocation().distanceSquared(start)));
-            Bukkit.getScheduler().runTaskLater(this.plugin, () -> {
-                player.teleport(new Location(next.getWorld(), next.getLocation().getX(), next.getLocation().getBlockY() + 1D, next.getLocation().getZ(), player.getLocation().getYaw(), player.getLocation().getPitch()));
-                player.getWorld().playSound(player.getLocation(), Sound.ENTITY_ENDERMAN_TELEPORT, SoundCategory.PLAYERS, 0.4f, 1f);
-            }, 1L);
+    private void teleportPlayer(final Player player, final Block start, final boolean up) {
+        @Nullable Integer nextY = this.index.next(start, up, this.config.maxVerticalSearch);
+        while (nextY != null) {
+            final Block next = start.getWorld().getBlockAt(start.getX(), nextY, start.getZ());
+            if (Tag.WOOL.isTagged(next.getType())) {
+                Bukkit.getScheduler().runTaskLater(this.plugin, () -> {
+                    player.teleport(new Location(next.getWorld(), next.getX() + 0.5, next.getY() + 1D, next.getZ() + 0.5, player.getLocation().getYaw(), player.getLocation().getPitch()));
+                    player.getWorld().playSound(player.getLocation(), Sound.ENTITY_ENDERMAN_TELEPORT, SoundCategory.PLAYERS, 0.4f, 1f);
+                }, 1L);
+                return;
+            }
+            // the wool was removed, drop the elevator like the particle task does
+            this.index.remove(next);
+            next.getWorld().dropItem(next.getLocation().add(0.5, 0.5, 0.5), new ItemStack(Material.ENDER_PEARL));
+            nextY = this.index.next(start, up, this.config.maxVerticalSearch);
         }
     }
 }
@@ -23,8 +23,6 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
-import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
@@ -32,6 +30,8 @@ import java.util.Set;
 import me.machinemaker.papertweaks.LoggerFactory;
 import me.machinemaker.papertweaks.annotations.ModuleInfo;
 import me.machinemaker.papertweaks.config.Mixins;
+import me.machinemaker.papertweaks.data.Dataset;
+import me.machinemaker.papertweaks.data.DatasetLoader;
 import me.machinemaker.papertweaks.modules.ModuleBase;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
@@ -43,18 +43,11 @@ public class GemVillagers extends ModuleBase {
     static final Logger LOGGER = LoggerFactory.getModuleLogger(GemVillagers.class);
     static final ObjectMapper JSON_MAPPER = Mixins.registerMixins(new ObjectMapper().registerModule(new ParameterNamesModule()));
 
-    final Map<String, VillagerData> villagers;
+    final Dataset<Map<String, VillagerData>> villagers;
 
     @Inject
-    GemVillagers(@Named("plugin") final ClassLoader loader) {
-        Map<String, VillagerData> tempVillagers;
-        try {
-            tempVillagers = JSON_MAPPER.readValue(loader.getResourceAsStream("data/gem_villagers.json"), new TypeReference<Map<String, VillagerData>>() {});
-        } catch (final IOException e) {
-            tempVillagers = Collections.emptyMap();
-            LOGGER.error("Could not load gem villagers from data/gem_villagers.json. This module will not work properly", e);
-        }
-        this.villagers = tempVillagers;
+    GemVillagers(final DatasetLoader datasets) {
+        this.villagers = datasets.dataset("data/gem_villagers.json", root -> JSON_MAPPER.readerFor(new TypeReference<Map<String, VillagerData>>() {}).readValue(root), Collections.emptyMap());
     }
 
     @Override
@@ -66,4 +59,9 @@ public class GemVillagers extends ModuleBase {
     protected Collection<Class<? extends ModuleCommand>> commands() {
         return Set.of(Commands.class);
     }
+
+    @Override
+    protected Collection<Dataset<?>> datasets() {
+        return Set.of(this.villagers);
+    }
 }
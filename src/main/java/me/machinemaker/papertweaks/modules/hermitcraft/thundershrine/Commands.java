@@ -20,6 +20,7 @@
 package me.machinemaker.papertweaks.modules.hermitcraft.thundershrine;
 
 import cloud.commandframework.Command;
+import com.google.inject.Inject;
 import me.machinemaker.papertweaks.cloud.dispatchers.CommandDispatcher;
 import me.machinemaker.papertweaks.modules.ConfiguredModuleCommand;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
@@ -38,6 +39,13 @@ import static net.kyori.adventure.text.format.NamedTextColor.YELLOW;
 @ModuleCommand.Info(value = "thundershrine", aliases = {"tshrine"}, i18n = "thunder-shrine", perm = "thundershrine")
 class Commands extends ConfiguredModuleCommand {
 
+    private final ShrineRegistry registry;
+
+    @Inject
+    Commands(final ShrineRegistry registry) {
+        this.registry = registry;
+    }
+
     @Override
     protected void registerCommands() {
         final Command.Builder<CommandDispatcher> builder = this.player();
@@ -50,24 +58,26 @@ class Commands extends ConfiguredModuleCommand {
                 } else {
                     stand.getWorld().spawnParticle(Particle.TOTEM, stand.getLocation(), 100, 0, 0, 0, 0.5);
                     stand.getWorld().playSound(stand.getLocation(), Sound.BLOCK_ENCHANTMENT_TABLE_USE, SoundCategory.MASTER, 1.0f, 0.75f);
-                    stand.getWorld().spawn(stand.getLocation(), AreaEffectCloud.class, cloud -> {
+                    final AreaEffectCloud shrine = stand.getWorld().spawn(stand.getLocation(), AreaEffectCloud.class, cloud -> {
                         cloud.setDuration(Integer.MAX_VALUE);
                         cloud.setRadius(0.01f);
                         cloud.setParticle(Particle.SUSPENDED);
                         cloud.setWaitTime(0);
                         ThunderShrine.SHRINE.setTo(cloud, player.getUniqueId());
                     });
+                    this.registry.add(shrine);
                     stand.remove();
                     context.getSender().sendMessage(translatable("modules.thunder-shrine.commands.create.success", YELLOW));
                 }
             }))
         ).command(this.literal(builder, "remove")
             .handler(this.sync((context, player) -> {
-                final @Nullable AreaEffectCloud cloud = Entities.getSingleNearbyEntityOfType(AreaEffectCloud.class, player.getLocation(), 3, 3, 3, c -> player.getUniqueId().equals(ThunderShrine.SHRINE.getFrom(c)));
-                if (cloud == null) {
+                final ShrineRegistry.@Nullable Shrine shrine = this.registry.find(player.getLocation(), 3, s -> player.getUniqueId().equals(ThunderShrine.SHRINE.getFrom(s.cloud())));
+                if (shrine == null) {
                     context.getSender().sendMessage(translatable("modules.thunder-shrine.commands.remove.fail.no-stands", RED));
                 } else {
-                    cloud.remove();
+                    this.registry.remove(shrine.cloud());
+                    shrine.cloud().remove();
                     context.getSender().sendMessage(translatable("modules.thunder-shrine.commands.remove.success", YELLOW));
                 }
             }))
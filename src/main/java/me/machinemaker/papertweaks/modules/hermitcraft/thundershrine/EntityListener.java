@@ -0,0 +1,75 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.hermitcraft.thundershrine;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import com.google.inject.Inject;
+import me.machinemaker.papertweaks.modules.ModuleListener;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.AreaEffectCloud;
+import org.bukkit.entity.Item;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.plugin.Plugin;
+
+class EntityListener implements ModuleListener {
+
+    private final Plugin plugin;
+    private final ShrineRegistry registry;
+    private final ShrineRunnable runnable;
+
+    @Inject
+    EntityListener(final Plugin plugin, final ShrineRegistry registry, final ShrineRunnable runnable) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.runnable = runnable;
+    }
+
+    @EventHandler
+    public void onEntityAddToWorld(final EntityAddToWorldEvent event) {
+        if (event.getEntity() instanceof final AreaEffectCloud cloud && ThunderShrine.SHRINE.has(cloud) && this.registry.add(cloud)) {
+            // stars could already be lying on the shrine, look for them once the chunk has finished loading
+            Bukkit.getScheduler().runTask(this.plugin, () -> this.runnable.watchNearby(cloud.getLocation()));
+        } else if (event.getEntity() instanceof final Item item) {
+            // covers stars loaded with their chunk or carried over from another world
+            this.runnable.watch(item);
+        }
+    }
+
+    @EventHandler
+    public void onEntityRemoveFromWorld(final EntityRemoveFromWorldEvent event) {
+        if (event.getEntity() instanceof final AreaEffectCloud cloud) {
+            this.registry.remove(cloud);
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onItemSpawn(final ItemSpawnEvent event) {
+        this.runnable.watch(event.getEntity());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onPlayerDropItem(final PlayerDropItemEvent event) {
+        this.runnable.watch(event.getItemDrop());
+    }
+}
@@ -26,25 +26,37 @@ import me.machinemaker.papertweaks.modules.ModuleConfig;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
 import me.machinemaker.papertweaks.modules.ModuleListener;
 import me.machinemaker.papertweaks.modules.ModuleRecipe;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
 import org.bukkit.plugin.java.JavaPlugin;
 
 class Lifecycle extends ModuleLifecycle {
 
+    private final ShrineRegistry registry;
     private final ShrineRunnable runnable;
 
     @Inject
-    Lifecycle(final JavaPlugin plugin, final Set<ModuleCommand> commands, final Set<ModuleListener> listeners, final Set<ModuleConfig> configs, final Set<ModuleRecipe<?>> moduleRecipes, final ShrineRunnable runnable) {
+    Lifecycle(final JavaPlugin plugin, final Set<ModuleCommand> commands, final Set<ModuleListener> listeners, final Set<ModuleConfig> configs, final Set<ModuleRecipe<?>> moduleRecipes, final ShrineRegistry registry, final ShrineRunnable runnable) {
         super(plugin, commands, listeners, configs, moduleRecipes);
+        this.registry = registry;
         this.runnable = runnable;
     }
 
     @Override
     public void onEnable() {
+        this.registry.loadAll();
+        for (final World world : Bukkit.getWorlds()) {
+            for (final ShrineRegistry.Shrine shrine : this.registry.shrines(world)) {
+                this.runnable.watchNearby(shrine.location());
+            }
+        }
         this.runnable.runTaskTimer(1L, 5L);
     }
 
     @Override
     public void onDisable(final boolean isShutdown) {
         this.runnable.cancel();
+        this.runnable.clear();
+        this.registry.clear();
     }
 }
@@ -0,0 +1,127 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.hermitcraft.thundershrine;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+import me.machinemaker.papertweaks.particles.ParticleEmitter;
+import me.machinemaker.papertweaks.particles.ParticleService;
+import me.machinemaker.papertweaks.particles.ParticleShape;
+import me.machinemaker.papertweaks.utils.Entities;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.AreaEffectCloud;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The loaded shrines, kept up to date by {@link EntityListener} so
+ * nothing has to scan the worlds' entities to find them.
+ */
+@Singleton
+class ShrineRegistry {
+
+    private final Map<UUID, Map<UUID, Shrine>> worlds = new HashMap<>();
+    private final ParticleService particles;
+
+    @Inject
+    ShrineRegistry(final ParticleService particles) {
+        this.particles = particles;
+    }
+
+    void loadAll() {
+        for (final World world : Bukkit.getWorlds()) {
+            for (final AreaEffectCloud cloud : Entities.getEntitiesOfType(AreaEffectCloud.class, world, ThunderShrine.SHRINE::has)) {
+                this.add(cloud);
+            }
+        }
+    }
+
+    boolean add(final AreaEffectCloud cloud) {
+        final Map<UUID, Shrine> shrines = this.worlds.computeIfAbsent(cloud.getWorld().getUID(), uuid -> new HashMap<>());
+        if (shrines.containsKey(cloud.getUniqueId())) {
+            return false;
+        }
+        final ParticleEmitter emitter = this.particles.register(ParticleEmitter.builder(cloud.getLocation(), ParticleShape.point())
+            .particle(Particle.ENCHANTMENT_TABLE, null)
+            .offset(0.1, 0.1, 0.1)
+            .extra(1)
+            .period(5)
+            .build());
+        shrines.put(cloud.getUniqueId(), new Shrine(cloud, emitter));
+        return true;
+    }
+
+    void remove(final AreaEffectCloud cloud) {
+        final @Nullable Map<UUID, Shrine> shrines = this.worlds.get(cloud.getWorld().getUID());
+        if (shrines == null) {
+            return;
+        }
+        final @Nullable Shrine shrine = shrines.remove(cloud.getUniqueId());
+        if (shrine != null) {
+            this.particles.unregister(shrine.emitter());
+        }
+        if (shrines.isEmpty()) {
+            this.worlds.remove(cloud.getWorld().getUID());
+        }
+    }
+
+    void clear() {
+        this.worlds.values().forEach(shrines -> shrines.values().forEach(shrine -> this.particles.unregister(shrine.emitter())));
+        this.worlds.clear();
+    }
+
+    Collection<Shrine> shrines(final World world) {
+        final @Nullable Map<UUID, Shrine> shrines = this.worlds.get(world.getUID());
+        return shrines == null ? List.of() : shrines.values();
+    }
+
+    /**
+     * Finds a shrine whose location is within a box around a location.
+     *
+     * @param location the location
+     * @param halfSize half the size of the box on each axis
+     * @param predicate an extra filter for the shrine
+     * @return the first matching shrine, or null
+     */
+    @Nullable Shrine find(final Location location, final double halfSize, final Predicate<Shrine> predicate) {
+        for (final Shrine shrine : this.shrines(location.getWorld())) {
+            final Location shrineLoc = shrine.location();
+            if (Math.abs(shrineLoc.getX() - location.getX()) <= halfSize && Math.abs(shrineLoc.getY() - location.getY()) <= halfSize && Math.abs(shrineLoc.getZ() - location.getZ()) <= halfSize && predicate.test(shrine)) {
+                return shrine;
+            }
+        }
+        return null;
+    }
+
+    record Shrine(AreaEffectCloud cloud, ParticleEmitter emitter) {
+
+        Location location() {
+            return this.cloud.getLocation();
+        }
+    }
+}
@@ -21,53 +21,106 @@ package me.machinemaker.papertweaks.modules.hermitcraft.thundershrine;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import me.machinemaker.papertweaks.utils.Entities;
 import me.machinemaker.papertweaks.utils.runnables.TimerRunnable;
-import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
 import org.bukkit.SoundCategory;
 import org.bukkit.World;
-import org.bukkit.entity.AreaEffectCloud;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import static net.kyori.adventure.text.Component.translatable;
 import static net.kyori.adventure.text.format.NamedTextColor.RED;
 
+/**
+ * Checks every loaded nether star item until one reaches a shrine or the
+ * item is removed. Stars are watched from the moment they are added to a
+ * world, so stars carried in from far away or loaded with their chunk are
+ * picked up too, however long they have been lying around. Stars are rare
+ * and each check only looks at the shrines of the star's world.
+ */
 @Singleton
 class ShrineRunnable extends TimerRunnable {
 
+    private static final double NEARBY_RADIUS = 16;
+    private static final double SHRINE_BOX = 0.5;
+
+    private final ShrineRegistry registry;
+    private final Set<Item> watched = new LinkedHashSet<>();
+
     @Inject
-    ShrineRunnable(final Plugin plugin) {
+    ShrineRunnable(final Plugin plugin, final ShrineRegistry registry) {
         super(plugin);
+        this.registry = registry;
+    }
+
+    private static boolean isOffering(final ItemStack stack) {
+        return stack.getType() == Material.NETHER_STAR && stack.getAmount() == 1;
+    }
+
+    void watch(final Item item) {
+        // any amount, a stack can still be picked apart down to a single star
+        if (item.getItemStack().getType() == Material.NETHER_STAR) {
+            this.watched.add(item);
+        }
+    }
+
+    void watchNearby(final Location location) {
+        for (final Item item : Entities.getNearbyEntitiesOfType(Item.class, location, NEARBY_RADIUS, NEARBY_RADIUS, NEARBY_RADIUS)) {
+            this.watch(item);
+        }
+    }
+
+    void clear() {
+        this.watched.clear();
     }
 
     @Override
     public void run() {
-        for (final World world : Bukkit.getWorlds()) {
-            for (final AreaEffectCloud cloud : Entities.getEntitiesOfType(AreaEffectCloud.class, world, ThunderShrine.SHRINE::has)) {
-                final @Nullable Item item = Entities.getSingleNearbyEntityOfType(Item.class, cloud.getLocation(), 0.5, 0.5, 0.5, i -> i.getItemStack().getType() == Material.NETHER_STAR && i.getItemStack().getAmount() == 1);
-                if (item != null) {
-                    item.remove();
-                    world.spawnParticle(Particle.FLAME, cloud.getLocation(), 100, 0, 0, 0, 0.5);
-                    world.playSound(cloud.getLocation(), Sound.ITEM_FIRECHARGE_USE, SoundCategory.MASTER, 1.0f, 1.0f);
-                    world.strikeLightning(cloud.getLocation());
-                    world.setClearWeatherDuration(0);
-                    world.setWeatherDuration(6000);
-                    world.setThunderDuration(6000);
-                    world.setStorm(true);
-                    world.setThundering(true);
-                    for (final Player player : Entities.getNearbyEntitiesOfType(Player.class, cloud.getLocation(), 5, 5, 5)) {
-                        player.sendMessage(translatable("modules.thunder-shrine.ritual.success", RED));
-                    }
-                } else {
-                    world.spawnParticle(Particle.ENCHANTMENT_TABLE, cloud.getLocation(), 1, 0.1, 0.1, 0.1, 1);
-                }
+        if (this.watched.isEmpty()) {
+            return;
+        }
+        final Iterator<Item> iterator = this.watched.iterator();
+        while (iterator.hasNext()) {
+            final Item item = iterator.next();
+            // picked up, merged or unloaded, it's watched again when it's added back to a world
+            if (!item.isValid() || item.getItemStack().getType() != Material.NETHER_STAR) {
+                iterator.remove();
+                continue;
+            }
+            if (!isOffering(item.getItemStack())) {
+                continue;
             }
+            final ShrineRegistry.@Nullable Shrine shrine = this.registry.find(item.getLocation(), SHRINE_BOX, s -> s.cloud().isValid());
+            if (shrine != null) {
+                iterator.remove();
+                item.remove();
+                this.startRitual(shrine.location());
+            }
+        }
+    }
+
+    private void startRitual(final Location location) {
+        final World world = location.getWorld();
+        world.spawnParticle(Particle.FLAME, location, 100, 0, 0, 0, 0.5);
+        world.playSound(location, Sound.ITEM_FIRECHARGE_USE, SoundCategory.MASTER, 1.0f, 1.0f);
+        world.strikeLightning(location);
+        world.setClearWeatherDuration(0);
+        world.setWeatherDuration(6000);
+        world.setThunderDuration(6000);
+        world.setStorm(true);
+        world.setThundering(true);
+        for (final Player player : Entities.getNearbyEntitiesOfType(Player.class, location, 5, 5, 5)) {
+            player.sendMessage(translatable("modules.thunder-shrine.ritual.success", RED));
         }
     }
 }
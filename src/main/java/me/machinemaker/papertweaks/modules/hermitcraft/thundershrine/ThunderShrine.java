@@ -26,6 +26,7 @@ import me.machinemaker.papertweaks.annotations.ModuleInfo;
 import me.machinemaker.papertweaks.modules.ModuleBase;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
+import me.machinemaker.papertweaks.modules.ModuleListener;
 import me.machinemaker.papertweaks.pdc.PDCKey;
 import me.machinemaker.papertweaks.utils.Keys;
 
@@ -39,6 +40,11 @@ public class ThunderShrine extends ModuleBase {
         return Lifecycle.class;
     }
 
+    @Override
+    protected Collection<Class<? extends ModuleListener>> listeners() {
+        return Set.of(EntityListener.class);
+    }
+
     @Override
     protected Collection<Class<? extends ModuleCommand>> commands() {
         return Set.of(Commands.class);
@@ -43,10 +43,10 @@ class Commands extends ConfiguredModuleCommand {
         final Command.Builder<CommandDispatcher> builder = this.player();
 
         this.manager.command(this.literal(builder, "give")
-            .argument(PseudoEnumArgument.single("head", this.treasureGems.heads.keySet()))
+            .argument(PseudoEnumArgument.single("head", () -> this.treasureGems.heads.get().keySet()))
             .argument(IntegerArgument.<CommandDispatcher>builder("count").asOptionalWithDefault(1).withMin(1))
             .handler(this.sync((context, player) -> {
-                final ItemStack head = this.treasureGems.heads.get((String) context.get("head")).clone();
+                final ItemStack head = this.treasureGems.heads.get().get((String) context.get("head")).clone();
                 head.setAmount(context.get("count"));
                 player.getInventory()
                     .addItem(head).values()
@@ -20,37 +20,64 @@
 package me.machinemaker.papertweaks.modules.hermitcraft.treasuregems;
 
 import com.google.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 import me.machinemaker.papertweaks.modules.ModuleListener;
-import org.bukkit.Registry;
+import org.bukkit.NamespacedKey;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.world.LootGenerateEvent;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.loot.LootTables;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 class LootListener implements ModuleListener {
 
     private final TreasureGems treasureGems;
-    private final TreasurePool treasurePool;
+    private @Nullable Map<NamespacedKey, TreasurePool> pools;
+    private @Nullable Map<String, ItemStack> poolHeads;
+    private @Nullable Set<LootTables> poolTables;
 
     @Inject
     LootListener(final TreasureGems treasureGems) {
         this.treasureGems = treasureGems;
-        final List<TreasurePool.Entry> entries = this.treasureGems.heads.keySet().stream()
-            .map(gem -> new TreasurePool.Entry(1, 1, 2, gem))
-            .collect(Collectors.toList());
-        entries.add(new TreasurePool.Entry(2, 0, 0, null));
-        this.treasurePool = new TreasurePool(1, 2, entries);
+    }
+
+    // rebuilt whenever either dataset was loaded again, e.g. after a failed load or a changed override
+    private Map<NamespacedKey, TreasurePool> pools() {
+        final Map<String, ItemStack> heads = this.treasureGems.heads.get();
+        final Set<LootTables> tables = this.treasureGems.tables.get();
+        if (this.pools == null || this.poolHeads != heads || this.poolTables != tables) {
+            final List<TreasurePool.Entry> entries = new ArrayList<>();
+            heads.values().forEach(gem -> entries.add(new TreasurePool.Entry(1, 1, 2, gem)));
+            entries.add(new TreasurePool.Entry(2, 0, 0, null));
+            final TreasurePool pool = new TreasurePool(1, 2, entries);
+            final Map<NamespacedKey, TreasurePool> pools = new HashMap<>();
+            for (final LootTables table : tables) {
+                pools.put(table.getKey(), pool);
+            }
+            this.pools = pools;
+            this.poolHeads = heads;
+            this.poolTables = tables;
+        }
+        return this.pools;
+    }
+
+    void clear() {
+        this.pools = null;
+        this.poolHeads = null;
+        this.poolTables = null;
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onLootGenerate(final LootGenerateEvent event) {
         if (event.getInventoryHolder() != null) {
-            final @Nullable LootTables tables = Registry.LOOT_TABLES.get(event.getLootTable().getKey());
-            if (tables != null && this.treasureGems.tables.contains(tables)) {
-                this.treasurePool.collectLoot(this.treasureGems.heads, event.getLoot()::add);
+            final @Nullable TreasurePool pool = this.pools().get(event.getLootTable().getKey());
+            if (pool != null) {
+                pool.collectLoot(event.getLoot()::add);
             }
         }
     }
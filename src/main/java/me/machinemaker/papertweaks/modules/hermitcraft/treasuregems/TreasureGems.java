@@ -22,11 +22,8 @@ package me.machinemaker.papertweaks.modules.hermitcraft.treasuregems;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
-import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -37,6 +34,8 @@ import java.util.UUID;
 import me.machinemaker.papertweaks.LoggerFactory;
 import me.machinemaker.papertweaks.annotations.ModuleInfo;
 import me.machinemaker.papertweaks.config.Mixins;
+import me.machinemaker.papertweaks.data.Dataset;
+import me.machinemaker.papertweaks.data.DatasetLoader;
 import me.machinemaker.papertweaks.modules.ModuleBase;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
@@ -53,35 +52,28 @@ public class TreasureGems extends ModuleBase {
     static final Logger LOGGER = LoggerFactory.getModuleLogger(TreasureGems.class);
     static final ObjectMapper JSON_MAPPER = Mixins.registerMixins(new ObjectMapper().registerModule(new ParameterNamesModule()));
 
-    final Set<LootTables> tables;
-    final Map<String, ItemStack> heads;
+    final Dataset<Set<LootTables>> tables;
+    final Dataset<Map<String, ItemStack>> heads;
 
     @Inject
-    TreasureGems(@Named("plugin") final ClassLoader loader) {
-        Set<LootTables> tempTables;
-        final Map<String, ItemStack> tempHeads = new HashMap<>();
-        this.heads = Collections.unmodifiableMap(tempHeads);
-        try {
-            tempTables = JSON_MAPPER.readValue(loader.getResourceAsStream("data/treasure_gems/loot_tables.json"), new TypeReference<Set<LootTables>>() {
-            });
-            final ObjectNode heads = JSON_MAPPER.readValue(loader.getResourceAsStream("data/treasure_gems/heads.json"), ObjectNode.class);
-            final Iterator<Map.Entry<String, JsonNode>> iter = heads.fields();
-            while (iter.hasNext()) {
-                final Map.Entry<String, JsonNode> entry = iter.next();
-                tempHeads.put(entry.getKey(), PTUtils.getSkull(GsonComponentSerializer.gson().deserialize(entry.getValue().get("name").asText()), UUID.fromString(entry.getValue().get("uuid").asText()), entry.getValue().get("texture").asText(), 1));
-            }
+    TreasureGems(final DatasetLoader datasets) {
+        this.tables = datasets.dataset("data/treasure_gems/loot_tables.json", root -> JSON_MAPPER.readerFor(new TypeReference<Set<LootTables>>() {}).readValue(root), Collections.emptySet());
+        this.heads = datasets.dataset("data/treasure_gems/heads.json", TreasureGems::parseHeads, Collections.emptyMap());
+    }
 
-        } catch (final IOException ex) {
-            tempTables = Collections.emptySet();
-            LOGGER.error("Could not load treasure gems from data/treasure_gems/. This module will not work properly", ex);
+    private static Map<String, ItemStack> parseHeads(final JsonNode root) {
+        final Map<String, ItemStack> heads = new HashMap<>();
+        final Iterator<Map.Entry<String, JsonNode>> iter = root.fields();
+        while (iter.hasNext()) {
+            final Map.Entry<String, JsonNode> entry = iter.next();
+            heads.put(entry.getKey(), PTUtils.getSkull(GsonComponentSerializer.gson().deserialize(entry.getValue().get("name").asText()), UUID.fromString(entry.getValue().get("uuid").asText()), entry.getValue().get("texture").asText(), 1));
         }
-
-        this.tables = tempTables;
+        return Collections.unmodifiableMap(heads);
     }
 
     @Override
     protected Class<? extends ModuleLifecycle> lifecycle() {
-        return ModuleLifecycle.Empty.class;
+        return Lifecycle.class;
     }
 
     @Override
@@ -93,4 +85,9 @@ public class TreasureGems extends ModuleBase {
     protected Collection<Class<? extends ModuleCommand>> commands() {
         return Set.of(Commands.class);
     }
+
+    @Override
+    protected Collection<Dataset<?>> datasets() {
+        return Set.of(this.tables, this.heads);
+    }
 }
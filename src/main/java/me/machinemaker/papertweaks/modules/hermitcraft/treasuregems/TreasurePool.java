@@ -20,59 +20,51 @@
 package me.machinemaker.papertweaks.modules.hermitcraft.treasuregems;
 
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
-import me.machinemaker.papertweaks.utils.WeightedRandomList;
+import me.machinemaker.papertweaks.utils.AliasTable;
 import org.bukkit.inventory.ItemStack;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+/**
+ * A compiled pool of treasure gems. Entries hold the gem's head template
+ * directly and are drawn from an alias table, so a roll is a couple of
+ * random numbers and a copy of the template.
+ */
 class TreasurePool {
 
     private final int minRolls;
     private final int maxRolls;
-    private final WeightedRandomList<Entry> entries = new WeightedRandomList<>(Entry::getWeight);
+    private final AliasTable<Entry> entries;
 
     TreasurePool(final int minRolls, final int maxRolls, final List<Entry> entries) {
         this.minRolls = minRolls;
         this.maxRolls = maxRolls;
-        this.entries.addAll(entries);
+        this.entries = AliasTable.create(entries, Entry::weight);
     }
 
-    public void collectLoot(final Map<String, ItemStack> gems, final Consumer<ItemStack> stackConsumer) {
-        for (int i = 0; i < ThreadLocalRandom.current().nextInt(this.minRolls, this.maxRolls + 1); i++) {
-            this.entries.next().rollSkull(gems, stackConsumer);
+    public void collectLoot(final Consumer<ItemStack> stackConsumer) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int rolls = random.nextInt(this.minRolls, this.maxRolls + 1);
+        for (int i = 0; i < rolls; i++) {
+            this.entries.next(random).roll(random, stackConsumer);
         }
     }
 
-    static class Entry {
-
-        private final int weight;
-        private final int minCount;
-        private final int maxCount;
-        private final @Nullable String gem;
-
-        Entry(final int weight, final int minCount, final int maxCount, final @Nullable String head) {
-            this.weight = weight;
-            this.minCount = minCount;
-            this.maxCount = maxCount;
-            this.gem = head;
-        }
+    /**
+     * An entry in the pool.
+     *
+     * @param weight the weight of the entry
+     * @param minCount the min number of gems
+     * @param maxCount the max number of gems
+     * @param gem the gem's head template, or null for an empty roll
+     */
+    record Entry(int weight, int minCount, int maxCount, @Nullable ItemStack gem) {
 
-        public void rollSkull(final Map<String, ItemStack> gems, final Consumer<ItemStack> stackConsumer) {
+        void roll(final ThreadLocalRandom random, final Consumer<ItemStack> stackConsumer) {
             if (this.gem != null) {
-                ItemStack stack = gems.get(this.gem);
-                if (stack == null) {
-                    throw new IllegalStateException("Could not find a gem with name " + this.gem);
-                }
-                stack = stack.clone();
-                stack.setAmount(ThreadLocalRandom.current().nextInt(this.minCount, this.maxCount + 1));
-                stackConsumer.accept(stack);
+                stackConsumer.accept(this.gem.asQuantity(random.nextInt(this.minCount, this.maxCount + 1)));
             }
         }
-
-        public int getWeight() {
-            return this.weight;
-        }
     }
 }
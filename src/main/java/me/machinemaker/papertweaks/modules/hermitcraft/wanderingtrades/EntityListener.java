@@ -24,7 +24,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 import me.machinemaker.papertweaks.modules.ModuleListener;
-import me.machinemaker.papertweaks.utils.PTUtils;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.WanderingTrader;
 import org.bukkit.event.EventHandler;
@@ -53,13 +52,12 @@ class EntityListener implements ModuleListener {
         final WanderingTrader trader = (WanderingTrader) event.getEntity();
         final int headTrades = this.config.hermitHeadTradesEnabled ? ThreadLocalRandom.current().nextInt(this.config.headMin, this.config.headMax + 1) : 0;
         final int blockTrades = this.config.blockTradesEnabled ? ThreadLocalRandom.current().nextInt(this.config.blockMin, this.config.blockMax + 1) : 0;
-        final List<MerchantRecipe> recipes = new ArrayList<>(trader.getRecipes());
-        for (int i = 0; i < blockTrades; i++) {
-            recipes.add(0, PTUtils.random(this.wanderingTrades.blockTrades).createTrade());
-        }
-        for (int i = 0; i < headTrades; i++) {
-            recipes.add(0, PTUtils.random(this.wanderingTrades.hermitTrades).createTrade());
-        }
+        final WanderingTrades.Trades trades = this.wanderingTrades.trades.get();
+        final List<MerchantRecipe> existing = trader.getRecipes();
+        final List<MerchantRecipe> recipes = new ArrayList<>(headTrades + blockTrades + existing.size());
+        trades.hermitTrades().sample(headTrades, ThreadLocalRandom.current(), recipes);
+        trades.blockTrades().sample(blockTrades, ThreadLocalRandom.current(), recipes);
+        recipes.addAll(existing);
         trader.setRecipes(recipes);
     }
 }
@@ -0,0 +1,71 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.hermitcraft.wanderingtrades;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import org.bukkit.inventory.MerchantRecipe;
+
+/**
+ * A category of trades, built into {@link MerchantRecipe} templates once
+ * when the dataset loads.
+ * <p>
+ * Templates are handed straight to {@link org.bukkit.entity.Merchant#setRecipes(List)},
+ * which copies them into the trader, so they are never modified and can be
+ * shared by every trader.
+ */
+final class TradePool {
+
+    private final MerchantRecipe[] templates;
+
+    TradePool(final List<Trade> trades) {
+        this.templates = new MerchantRecipe[trades.size()];
+        for (int i = 0; i < this.templates.length; i++) {
+            this.templates[i] = trades.get(i).createTrade();
+        }
+    }
+
+    int size() {
+        return this.templates.length;
+    }
+
+    /**
+     * Adds distinct random trades to a list. Uses a partial Fisher-Yates
+     * shuffle that only tracks the positions it swapped, so the cost
+     * depends on the number of trades picked, not the size of the pool.
+     *
+     * @param count the number of trades, capped to the size of the pool
+     * @param random the random to use
+     * @param recipes the list to add to
+     */
+    void sample(final int count, final RandomGenerator random, final List<MerchantRecipe> recipes) {
+        final int size = this.templates.length;
+        final int picks = Math.min(count, size);
+        final Map<Integer, Integer> swapped = new HashMap<>(picks * 2);
+        for (int i = 0; i < picks; i++) {
+            final int j = random.nextInt(i, size);
+            final int picked = swapped.getOrDefault(j, j);
+            swapped.put(j, swapped.getOrDefault(i, i));
+            recipes.add(this.templates[picked]);
+        }
+    }
+}
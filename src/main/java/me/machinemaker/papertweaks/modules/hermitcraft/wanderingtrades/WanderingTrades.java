@@ -23,8 +23,6 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
-import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -33,6 +31,8 @@ import java.util.function.Predicate;
 import me.machinemaker.papertweaks.LoggerFactory;
 import me.machinemaker.papertweaks.annotations.ModuleInfo;
 import me.machinemaker.papertweaks.config.Mixins;
+import me.machinemaker.papertweaks.data.Dataset;
+import me.machinemaker.papertweaks.data.DatasetLoader;
 import me.machinemaker.papertweaks.modules.ModuleBase;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
 import me.machinemaker.papertweaks.modules.ModuleConfig;
@@ -50,20 +50,14 @@ public class WanderingTrades extends ModuleBase {
         Mixins.registerMixins(JSON_MAPPER);
     }
 
-    final List<Trade> blockTrades;
-    final List<Trade> hermitTrades;
+    final Dataset<Trades> trades;
 
     @Inject
-    WanderingTrades(@Named("plugin") final ClassLoader loader) {
-        List<Trade> tempTrades;
-        try {
-            tempTrades = JSON_MAPPER.readValue(loader.getResourceAsStream("data/wandering_trades.json"), new TypeReference<List<Trade>>() {});
-        } catch (final IOException e) {
-            LOGGER.error("Could not load wandering trades from data/wandering_trades.json. This module will not work properly", e);
-            tempTrades = Collections.emptyList();
-        }
-        this.blockTrades = tempTrades.stream().filter(Trade::isBlockTrade).toList();
-        this.hermitTrades = tempTrades.stream().filter(Predicate.not(Trade::isBlockTrade)).toList();
+    WanderingTrades(final DatasetLoader datasets) {
+        this.trades = datasets.dataset("data/wandering_trades.json", root -> {
+            final List<Trade> trades = JSON_MAPPER.readerFor(new TypeReference<List<Trade>>() {}).readValue(root);
+            return new Trades(new TradePool(trades.stream().filter(Trade::isBlockTrade).toList()), new TradePool(trades.stream().filter(Predicate.not(Trade::isBlockTrade)).toList()));
+        }, new Trades(new TradePool(Collections.emptyList()), new TradePool(Collections.emptyList())));
     }
 
     @Override
@@ -85,4 +79,12 @@ public class WanderingTrades extends ModuleBase {
     protected Collection<Class<? extends ModuleConfig>> configs() {
         return Set.of(Config.class);
     }
+
+    @Override
+    protected Collection<Dataset<?>> datasets() {
+        return Set.of(this.trades);
+    }
+
+    record Trades(TradePool blockTrades, TradePool hermitTrades) {
+    }
 }
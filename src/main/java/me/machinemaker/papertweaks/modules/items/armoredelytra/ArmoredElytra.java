@@ -19,16 +19,32 @@
  */
 package me.machinemaker.papertweaks.modules.items.armoredelytra;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Set;
 import me.machinemaker.papertweaks.annotations.ModuleInfo;
 import me.machinemaker.papertweaks.modules.ModuleBase;
+import me.machinemaker.papertweaks.modules.ModuleConfig;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
 import me.machinemaker.papertweaks.modules.ModuleListener;
+import me.machinemaker.papertweaks.modules.ModuleRecipe;
+import me.machinemaker.papertweaks.tags.Tags;
+import me.machinemaker.papertweaks.utils.Keys;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.RecipeChoice;
+import org.bukkit.inventory.ShapelessRecipe;
 
 @ModuleInfo(name = "ArmoredElytra", configPath = "items.armored-elytra", description = "Create an elytra that also offers protection of the combined chestplate")
 public class ArmoredElytra extends ModuleBase {
 
+    // the results are placeholders, the real ones are filled in by CraftingListener
+    static final ShapelessRecipe COMBINE_RECIPE = new ShapelessRecipe(Keys.key("armored_elytra"), new ItemStack(Material.ELYTRA))
+        .addIngredient(Material.ELYTRA)
+        .addIngredient(new RecipeChoice.MaterialChoice(new ArrayList<>(Tags.CHESTPLATES.getValues())));
+    static final ShapelessRecipe SPLIT_RECIPE = new ShapelessRecipe(Keys.key("armored_elytra_split"), new ItemStack(Material.ELYTRA))
+        .addIngredient(Material.ELYTRA);
+
     @Override
     protected Class<? extends ModuleLifecycle> lifecycle() {
         return ModuleLifecycle.Empty.class;
@@ -36,6 +52,16 @@ public class ArmoredElytra extends ModuleBase {
 
     @Override
     protected Collection<Class<? extends ModuleListener>> listeners() {
-        return Set.of(ItemListener.class);
+        return Set.of(ItemListener.class, CraftingListener.class);
+    }
+
+    @Override
+    protected Collection<Class<? extends ModuleConfig>> configs() {
+        return Set.of(Config.class);
+    }
+
+    @Override
+    protected Collection<ModuleRecipe<?>> recipes() {
+        return Set.of(new ModuleRecipe<>(COMBINE_RECIPE), new ModuleRecipe<>(SPLIT_RECIPE));
     }
 }
@@ -0,0 +1,147 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.items.armoredelytra;
+
+import com.google.inject.Inject;
+import me.machinemaker.papertweaks.modules.ModuleListener;
+import me.machinemaker.papertweaks.tags.Tags;
+import org.bukkit.Keyed;
+import org.bukkit.Material;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.inventory.CraftItemEvent;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.PrepareItemCraftEvent;
+import org.bukkit.inventory.CraftingInventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.Recipe;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Fills in the results of the placeholder crafting recipes, see
+ * {@link ArmoredElytra#COMBINE_RECIPE} and {@link ArmoredElytra#SPLIT_RECIPE}.
+ */
+class CraftingListener implements ModuleListener {
+
+    private final Config config;
+    private final ElytraMerger merger;
+
+    @Inject
+    CraftingListener(final Config config, final ElytraMerger merger) {
+        this.config = config;
+        this.merger = merger;
+    }
+
+    private static boolean is(final @Nullable Recipe recipe, final Keyed placeholder) {
+        return recipe instanceof final Keyed keyed && keyed.getKey().equals(placeholder.getKey());
+    }
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onPrepareItemCraft(final PrepareItemCraftEvent event) {
+        final @Nullable Recipe recipe = event.getRecipe();
+        if (is(recipe, ArmoredElytra.COMBINE_RECIPE)) {
+            event.getInventory().setResult(this.combine(event.getInventory(), event.getView().getPlayer()));
+        } else if (is(recipe, ArmoredElytra.SPLIT_RECIPE)) {
+            event.getInventory().setResult(this.split(event.getInventory(), event.getView().getPlayer()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onCraftItemClick(final CraftItemEvent event) {
+        if (!is(event.getRecipe(), ArmoredElytra.SPLIT_RECIPE) || findChestplate(event) == null) {
+            return;
+        }
+        // the chestplate has to go straight to the inventory, so only allow the clicks where we know the craft goes through
+        if (event.getAction() != InventoryAction.PICKUP_ALL && (event.getAction() != InventoryAction.MOVE_TO_OTHER_INVENTORY || emptySlots(event.getWhoClicked()) < 2)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onCraftItem(final CraftItemEvent event) {
+        if (!is(event.getRecipe(), ArmoredElytra.SPLIT_RECIPE)) {
+            return;
+        }
+        final @Nullable ItemStack chestplate = findChestplate(event);
+        if (chestplate == null) {
+            return;
+        }
+        final HumanEntity player = event.getWhoClicked();
+        player.getInventory().addItem(chestplate).values().forEach(leftover -> player.getWorld().dropItem(player.getLocation(), leftover));
+    }
+
+    private static @Nullable ItemStack findChestplate(final CraftItemEvent event) {
+        final @Nullable ItemStack armoredElytra = findSingle(event.getInventory());
+        final @Nullable ItemStack chestplate = armoredElytra == null ? null : ElytraMerger.CHESTPLATE_ITEM.getFrom(armoredElytra);
+        return chestplate == null || event.getInventory().getResult() == null ? null : chestplate;
+    }
+
+    private @Nullable ItemStack combine(final CraftingInventory inventory, final HumanEntity player) {
+        if (!this.config.craftingTable || !player.hasPermission("vanillatweaks.armoredelytra.create")) {
+            return null;
+        }
+        @Nullable ItemStack elytra = null;
+        @Nullable ItemStack chestplate = null;
+        for (final @Nullable ItemStack stack : inventory.getMatrix()) {
+            if (stack == null || stack.getType().isAir()) {
+                continue;
+            }
+            if (stack.getType() == Material.ELYTRA && !ElytraMerger.isArmoredElytra(stack)) {
+                elytra = stack;
+            } else if (Tags.CHESTPLATES.isTagged(stack)) {
+                chestplate = stack;
+            } else {
+                return null;
+            }
+        }
+        return elytra == null || chestplate == null ? null : this.merger.merge(chestplate, elytra);
+    }
+
+    private @Nullable ItemStack split(final CraftingInventory inventory, final HumanEntity player) {
+        if (!this.config.craftingTable || !player.hasPermission("vanillatweaks.armoredelytra.destroy")) {
+            return null;
+        }
+        final @Nullable ItemStack armoredElytra = findSingle(inventory);
+        if (armoredElytra == null || ElytraMerger.CHESTPLATE_ITEM.getFrom(armoredElytra) == null) {
+            return null;
+        }
+        return ElytraMerger.ELYTRA_ITEM.getFrom(armoredElytra);
+    }
+
+    private static @Nullable ItemStack findSingle(final CraftingInventory inventory) {
+        for (final @Nullable ItemStack stack : inventory.getMatrix()) {
+            if (stack != null && ElytraMerger.isArmoredElytra(stack)) {
+                return stack;
+            }
+        }
+        return null;
+    }
+
+    private static int emptySlots(final HumanEntity player) {
+        int empty = 0;
+        for (final @Nullable ItemStack stack : player.getInventory().getStorageContents()) {
+            if (stack == null || stack.getType().isAir()) {
+                empty++;
+            }
+        }
+        return empty;
+    }
+}
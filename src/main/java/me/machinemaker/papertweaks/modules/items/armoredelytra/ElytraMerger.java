@@ -0,0 +1,122 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.items.armoredelytra;
+
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.inject.Singleton;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import me.machinemaker.papertweaks.pdc.PDCKey;
+import me.machinemaker.papertweaks.utils.Keys;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.bukkit.Material;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeModifier;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static me.machinemaker.papertweaks.adventure.Components.join;
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.Component.translatable;
+import static net.kyori.adventure.text.format.NamedTextColor.GOLD;
+
+/**
+ * Builds armored elytra out of an elytra and a chestplate. Results aren't
+ * cached, an armored elytra stores both of its input stacks so any key
+ * that tells two results apart would cost as much as building it again.
+ */
+@Singleton
+class ElytraMerger {
+
+    static final PDCKey<Boolean> IS_ARMORED_ELYTRA = PDCKey.bool(Keys.legacyKey("ae.is_armored_elytra"));
+    static final PDCKey<ItemStack> ELYTRA_ITEM = PDCKey.itemStack(Keys.legacyKey("ae.elytra_item"));
+    static final PDCKey<ItemStack> CHESTPLATE_ITEM = PDCKey.itemStack(Keys.legacyKey("ae.chestplate_item"));
+
+    static boolean isArmoredElytra(final ItemStack stack) {
+        return stack.getType() == Material.ELYTRA && IS_ARMORED_ELYTRA.has(stack);
+    }
+
+    /**
+     * Merges a chestplate and an elytra.
+     *
+     * @param chestplate the chestplate
+     * @param elytra the elytra
+     * @return a new armored elytra, or null if either item has no meta
+     */
+    @Nullable ItemStack merge(final ItemStack chestplate, final ItemStack elytra) {
+        return construct(chestplate.asOne(), elytra.asOne());
+    }
+
+    private static @Nullable ItemStack construct(final ItemStack chestStack, final ItemStack elytraStack) {
+        final @Nullable ItemMeta chestMeta = chestStack.getItemMeta();
+        final @Nullable ItemMeta elytraMeta = elytraStack.getItemMeta();
+        if (chestMeta == null || elytraMeta == null) return null;
+        final ItemStack armoredElytra = new ItemStack(Material.ELYTRA);
+        final ItemMeta armoredMeta = armoredElytra.getItemMeta();
+        if (armoredMeta == null) return null;
+
+        armoredMeta.lore(List.of(join(text("+ "), translatable(chestStack.getType())).color(GOLD).decoration(TextDecoration.ITALIC, false)));
+
+        IS_ARMORED_ELYTRA.setTo(armoredMeta, true);
+        ELYTRA_ITEM.setTo(armoredMeta, elytraStack);
+        CHESTPLATE_ITEM.setTo(armoredMeta, chestStack);
+
+        final Map<Enchantment, Integer> enchants = Maps.newHashMap(chestStack.getEnchantments());
+        elytraStack.getEnchantments().forEach((enchantment, level) -> {
+            final Map<Enchantment, Integer> conflicts = enchants.entrySet().stream().filter(entry -> enchantment.conflictsWith(entry.getKey())).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            if (conflicts.isEmpty()) {
+                enchants.merge(enchantment, level, Math::max);
+            } else {
+                conflicts.put(enchantment, level); // add for easier sorting
+                final var max = Collections.max(conflicts.entrySet(), Comparator.comparingInt(Map.Entry::getValue));
+                enchants.merge(max.getKey(), max.getValue(), Math::max);
+            }
+        });
+        enchants.forEach((enchantment, integer) -> {
+            armoredMeta.addEnchant(enchantment, integer, false);
+        });
+
+        final Multimap<Attribute, AttributeModifier> attributeMap = LinkedHashMultimap.create();
+        final @Nullable Multimap<Attribute, AttributeModifier> chestAttributes = chestMeta.getAttributeModifiers();
+        if (chestAttributes != null) {
+            attributeMap.putAll(chestAttributes);
+        } else {
+            attributeMap.putAll(chestStack.getType().getDefaultAttributeModifiers(EquipmentSlot.CHEST));
+        }
+        final @Nullable Multimap<Attribute, AttributeModifier> elytraAttributes = elytraMeta.getAttributeModifiers();
+        if (elytraAttributes != null) {
+            attributeMap.putAll(elytraAttributes);
+        } else {
+            attributeMap.putAll(elytraStack.getType().getDefaultAttributeModifiers(EquipmentSlot.CHEST));
+        }
+        armoredMeta.setAttributeModifiers(attributeMap);
+
+        armoredElytra.setItemMeta(armoredMeta);
+        return armoredElytra;
+    }
+}
@@ -19,58 +19,37 @@
  */
 package me.machinemaker.papertweaks.modules.items.armoredelytra;
 
-import com.google.common.collect.LinkedHashMultimap;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Map;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import me.machinemaker.papertweaks.pdc.PDCKey;
 import me.machinemaker.papertweaks.tags.Tags;
 import me.machinemaker.papertweaks.utils.Entities;
-import me.machinemaker.papertweaks.utils.Keys;
 import net.kyori.adventure.sound.Sound;
-import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Tag;
 import org.bukkit.World;
-import org.bukkit.attribute.Attribute;
-import org.bukkit.attribute.AttributeModifier;
 import org.bukkit.block.Block;
-import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Item;
-import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.scheduler.BukkitRunnable;
-
-import static me.machinemaker.papertweaks.adventure.Components.join;
-import static net.kyori.adventure.text.Component.text;
-import static net.kyori.adventure.text.Component.translatable;
-import static net.kyori.adventure.text.format.NamedTextColor.*;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 class ItemDropRunnable extends BukkitRunnable {
 
-    static final PDCKey<ItemStack> ELYTRA_ITEM = PDCKey.itemStack(Keys.legacyKey("ae.elytra_item"));
-    static final PDCKey<ItemStack> CHESTPLATE_ITEM = PDCKey.itemStack(Keys.legacyKey("ae.chestplate_item"));
-
+    private final ElytraMerger merger;
     private final Item item;
     private final LookingFor lookingFor;
     private final BiPredicate<Item, Block> itemPredicate;
     private int counter = 0;
 
-    ItemDropRunnable(final Item item, final LookingFor lookingFor) {
+    ItemDropRunnable(final ElytraMerger merger, final Item item, final LookingFor lookingFor) {
+        this.merger = merger;
         this.item = item;
         this.lookingFor = lookingFor;
         this.itemPredicate = switch (lookingFor) {
             case CHESTPLATE -> constructBiPredicate(Tags.CHESTPLATES::isTagged);
             case ARMORED_ELYTRA ->
-                    constructBiPredicate(i -> i.getItemStack().getType() == Material.ELYTRA && ItemListener.IS_ARMORED_ELYTRA.has(i.getItemStack()));
+                    constructBiPredicate(i -> ElytraMerger.isArmoredElytra(i.getItemStack()));
         };
     }
 
@@ -78,53 +57,12 @@ class ItemDropRunnable extends BukkitRunnable {
         return (i, block) -> itemPredicate.test(i) && i.getLocation().subtract(0, 1, 0).getBlock().equals(block);
     }
 
-    static void constructArmoredElytra(final Block block, final Item chestplate, final Item elytra) {
+    static void constructArmoredElytra(final ElytraMerger merger, final Block block, final Item chestplate, final Item elytra) {
         final ItemStack chestStack = chestplate.getItemStack();
-        if (chestStack.getItemMeta() == null) return;
         final ItemStack elytraStack = elytra.getItemStack();
-        if (elytraStack.getItemMeta() == null) return;
-        final ItemStack armoredElytra = new ItemStack(Material.ELYTRA);
-        final ItemMeta armoredMeta = armoredElytra.getItemMeta();
-        if (armoredMeta == null) return;
-
-        final Material chestplateMaterial = chestStack.getType();
-        armoredMeta.lore(List.of(join(text("+ "), translatable(chestplateMaterial)).color(GOLD).decoration(TextDecoration.ITALIC, false)));
-
-        ItemListener.IS_ARMORED_ELYTRA.setTo(armoredMeta, true);
-        ELYTRA_ITEM.setTo(armoredMeta, elytraStack);
-        CHESTPLATE_ITEM.setTo(armoredMeta, chestStack);
-
-        final Map<Enchantment, Integer> enchants = Maps.newHashMap(chestplate.getItemStack().getEnchantments());
-        elytraStack.getEnchantments().forEach((enchantment, level) -> {
-            final Map<Enchantment, Integer> conflicts = enchants.entrySet().stream().filter(entry -> enchantment.conflictsWith(entry.getKey())).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-            if (conflicts.isEmpty()) {
-                enchants.merge(enchantment, level, Math::max);
-            } else {
-                conflicts.put(enchantment, level); // add for easier sorting
-                final var max = Collections.max(conflicts.entrySet(), Comparator.comparingInt(Map.Entry::getValue));
-                enchants.merge(max.getKey(), max.getValue(), Math::max);
-            }
-        });
-        enchants.forEach((enchantment, integer) -> {
-            armoredMeta.addEnchant(enchantment, integer, false);
-        });
-
-        final Multimap<Attribute, AttributeModifier> attributeMap = LinkedHashMultimap.create();
-        final Multimap<Attribute, AttributeModifier> chestAttributes = chestStack.getItemMeta().getAttributeModifiers();
-        if (chestAttributes != null) {
-            attributeMap.putAll(chestAttributes);
-        } else {
-            attributeMap.putAll(chestStack.getType().getDefaultAttributeModifiers(EquipmentSlot.CHEST));
-        }
-        final Multimap<Attribute, AttributeModifier> elytraAttributes = elytraStack.getItemMeta().getAttributeModifiers();
-        if (elytraAttributes != null) {
-            attributeMap.putAll(elytraAttributes);
-        } else {
-            attributeMap.putAll(elytraStack.getType().getDefaultAttributeModifiers(EquipmentSlot.CHEST));
-        }
-        armoredMeta.setAttributeModifiers(attributeMap);
+        final @Nullable ItemStack armoredElytra = merger.merge(chestStack, elytraStack);
+        if (armoredElytra == null) return;
 
-        armoredElytra.setItemMeta(armoredMeta);
         chestStack.setAmount(0);
         chestplate.remove();
         elytraStack.setAmount(0);
@@ -138,11 +76,11 @@ class ItemDropRunnable extends BukkitRunnable {
         final ItemStack elytraStack = elytra.getItemStack();
         if (elytraStack.getItemMeta() == null) return;
 
-        final ItemStack elytraItem = ELYTRA_ITEM.getFrom(elytraStack);
+        final @Nullable ItemStack elytraItem = ElytraMerger.ELYTRA_ITEM.getFrom(elytraStack);
         if (elytraItem != null) {
             world.dropItem(location.add(0, 1.1, 0), elytraItem);
         }
-        final ItemStack chestItem = CHESTPLATE_ITEM.getFrom(elytraStack);
+        final @Nullable ItemStack chestItem = ElytraMerger.CHESTPLATE_ITEM.getFrom(elytraStack);
         if (chestItem != null) {
             world.dropItem(location.add(0, 1.1, 0), chestItem);
         }
@@ -169,7 +107,7 @@ class ItemDropRunnable extends BukkitRunnable {
             if (Tag.ANVIL.isTagged(block.getType())) {
                 for (final Item nearbyItem : Entities.getNearbyEntitiesOfType(this.item, 0.5, 0.1, 0.5, i -> this.itemPredicate.test(i, block) && !i.isDead())) {
                     if (this.lookingFor == LookingFor.CHESTPLATE) {
-                        constructArmoredElytra(block, nearbyItem, this.item);
+                        constructArmoredElytra(this.merger, block, nearbyItem, this.item);
                     }
                     this.cancel();
                     return;
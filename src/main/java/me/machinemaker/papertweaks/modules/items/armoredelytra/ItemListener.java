@@ -21,8 +21,6 @@ package me.machinemaker.papertweaks.modules.items.armoredelytra;
 
 import com.google.inject.Inject;
 import me.machinemaker.papertweaks.modules.ModuleListener;
-import me.machinemaker.papertweaks.pdc.PDCKey;
-import me.machinemaker.papertweaks.utils.Keys;
 import org.bukkit.Material;
 import org.bukkit.entity.Item;
 import org.bukkit.event.EventHandler;
@@ -33,33 +31,35 @@ import org.bukkit.plugin.Plugin;
 
 class ItemListener implements ModuleListener {
 
-    static final PDCKey<Boolean> IS_ARMORED_ELYTRA = PDCKey.bool(Keys.legacyKey("ae.is_armored_elytra"));
-
     private final Plugin plugin;
+    private final Config config;
+    private final ElytraMerger merger;
 
     @Inject
-    ItemListener(final Plugin plugin) {
+    ItemListener(final Plugin plugin, final Config config, final ElytraMerger merger) {
         this.plugin = plugin;
+        this.config = config;
+        this.merger = merger;
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onItemDrop(final PlayerDropItemEvent event) {
-        if (event.getItemDrop().getItemStack().getType() == Material.ELYTRA) {
+        if (this.config.dropOnAnvil && event.getItemDrop().getItemStack().getType() == Material.ELYTRA) {
             ItemDropRunnable.LookingFor lookingFor = null;
-            if (!IS_ARMORED_ELYTRA.has(event.getItemDrop().getItemStack()) && event.getPlayer().hasPermission("vanillatweaks.armoredelytra.create")) {
+            if (!ElytraMerger.IS_ARMORED_ELYTRA.has(event.getItemDrop().getItemStack()) && event.getPlayer().hasPermission("vanillatweaks.armoredelytra.create")) {
                 lookingFor = ItemDropRunnable.LookingFor.CHESTPLATE;
-            } else if (IS_ARMORED_ELYTRA.has(event.getItemDrop().getItemStack()) && event.getPlayer().hasPermission("vanillatweaks.armoredelytra.destroy")) {
+            } else if (ElytraMerger.IS_ARMORED_ELYTRA.has(event.getItemDrop().getItemStack()) && event.getPlayer().hasPermission("vanillatweaks.armoredelytra.destroy")) {
                 lookingFor = ItemDropRunnable.LookingFor.ARMORED_ELYTRA;
             }
             if (lookingFor != null) {
-                new ItemDropRunnable(event.getItemDrop(), lookingFor).runTaskTimer(this.plugin, 1L, 2L);
+                new ItemDropRunnable(this.merger, event.getItemDrop(), lookingFor).runTaskTimer(this.plugin, 1L, 2L);
             }
         }
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onItemBurn(final EntityDamageEvent event) {
-        if (event.getEntity() instanceof Item item && Boolean.TRUE.equals(IS_ARMORED_ELYTRA.has(item.getItemStack()))) {
+        if (event.getEntity() instanceof Item item && Boolean.TRUE.equals(ElytraMerger.IS_ARMORED_ELYTRA.has(item.getItemStack()))) {
             ItemDropRunnable.breakArmoredElytra(item.getWorld(), item.getLocation(), item, false);
         }
     }
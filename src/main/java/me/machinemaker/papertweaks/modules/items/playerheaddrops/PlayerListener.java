@@ -20,18 +20,15 @@
 package me.machinemaker.papertweaks.modules.items.playerheaddrops;
 
 import com.google.inject.Inject;
-import com.mojang.authlib.GameProfile;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
+import me.machinemaker.papertweaks.heads.HeadFactory;
 import me.machinemaker.papertweaks.modules.ModuleListener;
-import me.machinemaker.papertweaks.utils.PTUtils;
-import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.SkullMeta;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import static net.kyori.adventure.text.Component.text;
@@ -55,17 +52,10 @@ class PlayerListener implements ModuleListener {
             return;
         }
         if (ThreadLocalRandom.current().nextDouble() < this.config.dropChance) {
-            final ItemStack skull = new ItemStack(Material.PLAYER_HEAD);
-            final @Nullable SkullMeta meta = (SkullMeta) skull.getItemMeta();
-            if (meta == null) return; // shouldn't be possible
-
-            final GameProfile profile = PTUtils.getGameProfile(event.getEntity());
-            PTUtils.sanitizeTextures(profile);
-            PTUtils.loadMeta(meta, profile);
+            final ItemStack skull = HeadFactory.create(player);
             if (killer != null) {
-                meta.lore(List.of(text("Killed by " + killer.getName())));
+                skull.lore(List.of(text("Killed by " + killer.getName())));
             }
-            skull.setItemMeta(meta);
             event.getDrops().add(skull);
         }
     }
@@ -0,0 +1,48 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.mobs.countmobdeaths;
+
+import com.google.inject.Inject;
+import me.machinemaker.papertweaks.utils.runnables.TimerRunnable;
+import org.bukkit.plugin.Plugin;
+
+class BoardRenderer extends TimerRunnable {
+
+    private final CountMobDeaths countMobDeaths;
+    private final DeathCounters counters;
+    private final Config config;
+
+    @Inject
+    BoardRenderer(final Plugin plugin, final CountMobDeaths countMobDeaths, final DeathCounters counters, final Config config) {
+        super(plugin);
+        this.countMobDeaths = countMobDeaths;
+        this.counters = counters;
+        this.config = config;
+    }
+
+    @Override
+    public void run() {
+        this.countMobDeaths.scoreboardPlayerMap.forEach((player, countingBoard) -> {
+            if (countingBoard.isCounting()) {
+                countingBoard.render(player, this.counters, this.config.countedMobs);
+            }
+        });
+    }
+}
@@ -20,6 +20,7 @@
 package me.machinemaker.papertweaks.modules.mobs.countmobdeaths;
 
 import cloud.commandframework.Command;
+import cloud.commandframework.arguments.standard.EnumArgument;
 import cloud.commandframework.context.CommandContext;
 import cloud.commandframework.execution.CommandExecutionHandler;
 import com.google.inject.Inject;
@@ -28,18 +29,24 @@ import me.machinemaker.papertweaks.modules.ConfiguredModuleCommand;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
 import me.machinemaker.papertweaks.utils.boards.Scoreboards;
 import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import static net.kyori.adventure.text.Component.text;
 import static net.kyori.adventure.text.Component.translatable;
 import static net.kyori.adventure.text.format.NamedTextColor.*;
 
 @ModuleCommand.Info(value = "countmobdeaths", aliases = {"cmdeaths", "cmd"}, i18n = "mob-death-count", perm = "mobdeathcount")
 class Commands extends ConfiguredModuleCommand {
 
+    static final String RESET_SHARED_PERMISSION = "vanillatweaks.mobdeathcount.reset.shared";
+
     private final CountMobDeaths countMobDeaths;
+    private final DeathCounters counters;
 
     @Inject
-    Commands(final CountMobDeaths countMobDeaths) {
+    Commands(final CountMobDeaths countMobDeaths, final DeathCounters counters) {
         this.countMobDeaths = countMobDeaths;
+        this.counters = counters;
     }
 
     @Override
@@ -47,8 +54,10 @@ class Commands extends ConfiguredModuleCommand {
         final Command.Builder<CommandDispatcher> builder = this.player();
 
         this.manager.command(this.literal(builder, "start")
+            .argument(EnumArgument.optional(DeathCounters.Scope.class, "scope", DeathCounters.Scope.SESSION))
             .handler(this.sync((player, context, countingBoard) -> {
-                countingBoard.setCounting(true);
+                countingBoard.setScope(context.get("scope"));
+                countingBoard.start(this.counters);
                 player.setScoreboard(countingBoard.scoreboard());
                 context.getSender().sendMessage(translatable("modules.mob-death-count.started", GREEN));
             }))
@@ -59,7 +68,18 @@ class Commands extends ConfiguredModuleCommand {
             }))
         ).command(this.literal(builder, "reset")
             .handler(this.sync((player, context, countingBoard) -> {
-                countingBoard.scoreboard().getEntries().forEach(countingBoard.scoreboard()::resetScores);
+                final DeathCounters.Scope scope = countingBoard.scope();
+                if (scope.shared() && !player.hasPermission(RESET_SHARED_PERMISSION)) {
+                    context.getSender().sendMessage(translatable("modules.mob-death-count.reset.no-permission", RED, text(scope.lowercase())));
+                    return;
+                }
+                if (scope != DeathCounters.Scope.SESSION) {
+                    final @Nullable String key = scope.key(player);
+                    if (key != null) {
+                        this.counters.reset(key);
+                    }
+                }
+                countingBoard.reset(this.counters);
                 context.getSender().sendMessage(translatable("modules.mob-death-count.reset", GREEN));
             }))
         ).command(this.literal(builder, "toggle")
@@ -21,6 +21,7 @@ package me.machinemaker.papertweaks.modules.mobs.countmobdeaths;
 
 import me.machinemaker.lectern.annotations.Description;
 import me.machinemaker.lectern.annotations.Key;
+import me.machinemaker.lectern.annotations.validations.numbers.Min;
 import me.machinemaker.papertweaks.config.VTConfig;
 import me.machinemaker.papertweaks.modules.ModuleConfig;
 import org.bukkit.entity.EntityType;
@@ -68,4 +69,9 @@ class Config extends ModuleConfig {
             EntityType.ZOMBIFIED_PIGLIN,
             EntityType.ZOMBIE_VILLAGER
     ));
+
+    @Min(1)
+    @Key("render-interval-ticks")
+    @Description("How often, in ticks, sidebars are redrawn from the shared counts. Unchanged sidebars are skipped")
+    public int renderIntervalTicks = 20;
 }
@@ -20,8 +20,11 @@
 package me.machinemaker.papertweaks.modules.mobs.countmobdeaths;
 
 import com.google.inject.Inject;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Set;
+import me.machinemaker.papertweaks.LoggerFactory;
 import me.machinemaker.papertweaks.annotations.ModuleInfo;
 import me.machinemaker.papertweaks.modules.ModuleBase;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
@@ -31,21 +34,23 @@ import me.machinemaker.papertweaks.modules.ModuleListener;
 import me.machinemaker.papertweaks.utils.PlayerMapFactory;
 import me.machinemaker.papertweaks.utils.boards.Scoreboards;
 import net.md_5.bungee.api.ChatColor;
-import org.bukkit.Bukkit;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.scoreboard.Criteria;
 import org.bukkit.scoreboard.DisplaySlot;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Scoreboard;
 import org.checkerframework.checker.nullness.qual.Nullable;
-
-import static java.util.Objects.requireNonNull;
+import org.slf4j.Logger;
 
 @ModuleInfo(name = "CountMobDeaths", configPath = "mobs.count-mob-deaths", description = "Toggleable scoreboard for counting mob deaths")
 public class CountMobDeaths extends ModuleBase {
 
+    static final Logger LOGGER = LoggerFactory.getModuleLogger(CountMobDeaths.class);
     static final String DEATH_COUNT_OBJECTIVE = "mobDeathCount";
 
+    private static final String[] ENTRIES = Arrays.stream(EntityType.values()).map(CountMobDeaths::entryName).toArray(String[]::new);
+
     final PlayerMapFactory.PlayerMap<CountingBoard> scoreboardPlayerMap;
 
     @Inject
@@ -53,26 +58,33 @@ public class CountMobDeaths extends ModuleBase {
         this.scoreboardPlayerMap = factory.concurrent(PlayerMapFactory.Key.of("mdc_scoreboard", CountingBoard.class));
     }
 
+    private static String entryName(final EntityType type) {
+        final StringBuilder name = new StringBuilder().append(ChatColor.YELLOW);
+        boolean upper = true;
+        for (final char c : type.name().toCharArray()) {
+            if (c == '_') {
+                name.append(' ');
+                upper = true;
+            } else {
+                name.append(upper ? c : Character.toLowerCase(c));
+                upper = false;
+            }
+        }
+        return name.toString();
+    }
+
     CountingBoard getOrCreateBoard(final Player player) {
         return this.scoreboardPlayerMap.computeIfAbsent(player, p -> {
             final Scoreboard scoreboard = Scoreboards.manager().getNewScoreboard();
             final Objective objective = scoreboard.registerNewObjective(DEATH_COUNT_OBJECTIVE, Criteria.DUMMY, ChatColor.GOLD + "No. Mob Deaths");
             objective.setDisplaySlot(DisplaySlot.SIDEBAR);
-            return new CountingBoard(scoreboard);
+            return new CountingBoard(scoreboard, objective);
         });
     }
 
-    Objective getDeathCountObjective(final Scoreboard board) {
-        final @Nullable Objective objective = board.getObjective(DEATH_COUNT_OBJECTIVE);
-        if (objective == null) {
-            throw new IllegalArgumentException(board + " does not contain the required objective");
-        }
-        return objective;
-    }
-
     @Override
     protected Class<? extends ModuleLifecycle> lifecycle() {
-        return ModuleLifecycle.Empty.class;
+        return Lifecycle.class;
     }
 
     @Override
@@ -90,13 +102,25 @@ public class CountMobDeaths extends ModuleBase {
         return Set.of(Commands.class);
     }
 
+    /**
+     * A player's view of one of the shared {@link DeathCounters}. The
+     * sidebar is only redrawn when the viewed counter has changed, and then
+     * only the scores that changed are sent.
+     */
     static final class CountingBoard {
 
         private final Scoreboard scoreboard;
+        private final Objective objective;
+        private final int[] rendered = new int[ENTRIES.length];
+        private int[] baseline = new int[ENTRIES.length];
+        private DeathCounters.Scope scope = DeathCounters.Scope.SESSION;
         private boolean counting;
+        private @Nullable String renderedKey;
+        private int renderedVersion;
 
-        CountingBoard(final Scoreboard scoreboard) {
+        CountingBoard(final Scoreboard scoreboard, final Objective objective) {
             this.scoreboard = scoreboard;
+            this.objective = objective;
         }
 
         public Scoreboard scoreboard() {
@@ -110,5 +134,79 @@ public class CountMobDeaths extends ModuleBase {
         public void setCounting(final boolean counting) {
             this.counting = counting;
         }
+
+        public DeathCounters.Scope scope() {
+            return this.scope;
+        }
+
+        public void setScope(final DeathCounters.Scope scope) {
+            if (scope != this.scope) {
+                this.clear();
+                this.scope = scope;
+            }
+        }
+
+        /**
+         * Starts or resumes counting. A {@link DeathCounters.Scope#SESSION}
+         * board carries on from what it showed when it was stopped, so
+         * deaths while stopped aren't counted.
+         *
+         * @param counters the counters
+         */
+        void start(final DeathCounters counters) {
+            if (this.scope == DeathCounters.Scope.SESSION) {
+                this.baseline = counters.counter(DeathCounters.GLOBAL_KEY).snapshot();
+                for (int i = 0; i < this.baseline.length; i++) {
+                    this.baseline[i] -= this.rendered[i];
+                }
+            }
+            this.counting = true;
+        }
+
+        /**
+         * Clears the board, and for a {@link DeathCounters.Scope#SESSION}
+         * board starts over from the current global counts.
+         *
+         * @param counters the counters
+         */
+        void reset(final DeathCounters counters) {
+            this.clear();
+            if (this.scope == DeathCounters.Scope.SESSION) {
+                this.baseline = counters.counter(DeathCounters.GLOBAL_KEY).snapshot();
+            }
+        }
+
+        void render(final Player player, final DeathCounters counters, final Collection<EntityType> countedMobs) {
+            final @Nullable String key = this.scope.key(player);
+            if (!Objects.equals(key, this.renderedKey)) {
+                this.clear();
+                this.renderedKey = key;
+            } else if (key == null || counters.counter(key).version() == this.renderedVersion) {
+                return;
+            }
+            if (key == null) {
+                return;
+            }
+            final DeathCounters.Counter counter = counters.counter(key);
+            for (final EntityType type : countedMobs) {
+                final int index = type.ordinal();
+                final int count = this.scope == DeathCounters.Scope.SESSION ? Math.max(0, counter.count(type) - this.baseline[index]) : counter.count(type);
+                if (count != this.rendered[index]) {
+                    if (count == 0) {
+                        this.scoreboard.resetScores(ENTRIES[index]);
+                    } else {
+                        this.objective.getScore(ENTRIES[index]).setScore(count);
+                    }
+                    this.rendered[index] = count;
+                }
+            }
+            this.renderedVersion = counter.version();
+        }
+
+        void clear() {
+            this.scoreboard.getEntries().forEach(this.scoreboard::resetScores);
+            Arrays.fill(this.rendered, 0);
+            this.renderedKey = null;
+        }
     }
 }
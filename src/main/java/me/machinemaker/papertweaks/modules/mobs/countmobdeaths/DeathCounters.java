@@ -0,0 +1,279 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.mobs.countmobdeaths;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import me.machinemaker.papertweaks.db.dao.mobs.countmobdeaths.MobDeathCountDAO;
+import me.machinemaker.papertweaks.db.model.mobs.countmobdeaths.MobDeathCount;
+import me.machinemaker.papertweaks.utils.boards.Scoreboards;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.scoreboard.Team;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Mob death counts shared by everyone viewing the same scope. A death is
+ * a handful of array increments, no matter how many players are watching.
+ * Counts are kept in the plugin database, changed counts are written in a
+ * batch every minute on a single writer thread which stopping waits for.
+ */
+@Singleton
+class DeathCounters {
+
+    static final String GLOBAL_KEY = "global";
+    private static final long SAVE_PERIOD = 20L * 60;
+    private static final long STOP_TIMEOUT_SECONDS = 10;
+    private static final EntityType[] TYPES = EntityType.values();
+
+    private final Plugin plugin;
+    private final MobDeathCountDAO dao;
+    private final Map<String, Counter> counters = new HashMap<>(); // main thread only
+    private @Nullable BukkitTask saveTask;
+    private @Nullable ExecutorService executor;
+
+    @Inject
+    DeathCounters(final Plugin plugin, final MobDeathCountDAO dao) {
+        this.plugin = plugin;
+        this.dao = dao;
+    }
+
+    void start() {
+        // a single writer keeps loads, saves and resets in order, and lets stop() wait for them
+        final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "PaperTweaks Mob Death Counts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor = executor;
+        executor.execute(() -> {
+            final List<MobDeathCount> saved;
+            try {
+                saved = this.dao.getCounts();
+            } catch (final Exception e) {
+                CountMobDeaths.LOGGER.error("Could not load the saved mob death counts", e);
+                return;
+            }
+            if (!this.plugin.isEnabled()) {
+                return;
+            }
+            Bukkit.getScheduler().runTask(this.plugin, () -> {
+                if (this.executor != executor) {
+                    return; // stopped before the counts were loaded
+                }
+                for (final MobDeathCount count : saved) {
+                    final @Nullable NamespacedKey key = NamespacedKey.fromString(count.getMob());
+                    final @Nullable EntityType type = key == null ? null : Registry.ENTITY_TYPE.get(key);
+                    if (type != null) {
+                        // deaths counted while loading are added on top
+                        this.counter(count.getScope()).counts[type.ordinal()] += count.getDeaths();
+                    }
+                }
+            });
+        });
+        this.saveTask = Bukkit.getScheduler().runTaskTimer(this.plugin, () -> {
+            final List<MobDeathCount> changed = this.collectChanged();
+            if (!changed.isEmpty()) {
+                executor.execute(() -> this.save(changed));
+            }
+        }, SAVE_PERIOD, SAVE_PERIOD);
+    }
+
+    void stop() {
+        if (this.saveTask != null) {
+            this.saveTask.cancel();
+            this.saveTask = null;
+        }
+        final @Nullable ExecutorService executor = this.executor;
+        if (executor != null) {
+            this.executor = null;
+            final List<MobDeathCount> changed = this.collectChanged();
+            executor.execute(() -> this.save(changed));
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    CountMobDeaths.LOGGER.warn("Timed out saving the mob death counts, recent deaths may be lost");
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.counters.clear();
+    }
+
+    void record(final LivingEntity entity) {
+        final int type = entity.getType().ordinal();
+        this.counter(GLOBAL_KEY).increment(type);
+        this.counter("world:" + entity.getWorld().getUID()).increment(type);
+        final @Nullable Player killer = entity.getKiller();
+        if (killer != null) {
+            this.counter("player:" + killer.getUniqueId()).increment(type);
+            final @Nullable String team = Scope.TEAM.key(killer);
+            if (team != null) {
+                this.counter(team).increment(type);
+            }
+        }
+    }
+
+    /**
+     * Gets the counter for a scope, creating it if needed.
+     *
+     * @param scope the scope key
+     * @return the counter
+     */
+    Counter counter(final String scope) {
+        return this.counters.computeIfAbsent(scope, key -> new Counter());
+    }
+
+    void reset(final String scope) {
+        final @Nullable Counter counter = this.counters.get(scope);
+        if (counter != null) {
+            Arrays.fill(counter.counts, 0);
+            counter.dirty.clear();
+            counter.version++;
+        }
+        if (this.executor == null) {
+            return;
+        }
+        this.executor.execute(() -> {
+            try {
+                this.dao.deleteScope(scope);
+            } catch (final Exception e) {
+                CountMobDeaths.LOGGER.error("Could not reset the mob death counts for {}", scope, e);
+            }
+        });
+    }
+
+    private List<MobDeathCount> collectChanged() {
+        final List<MobDeathCount> changed = new ArrayList<>();
+        this.counters.forEach((scope, counter) -> {
+            for (int type = counter.dirty.nextSetBit(0); type >= 0; type = counter.dirty.nextSetBit(type + 1)) {
+                changed.add(new MobDeathCount(scope, TYPES[type].getKey().getKey(), counter.counts[type]));
+            }
+            counter.dirty.clear();
+        });
+        return changed;
+    }
+
+    private void save(final List<MobDeathCount> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        try {
+            this.dao.setCounts(counts);
+        } catch (final Exception e) {
+            CountMobDeaths.LOGGER.error("Could not save {} mob death counts", counts.size(), e);
+        }
+    }
+
+    static final class Counter {
+
+        private final int[] counts = new int[TYPES.length];
+        private final BitSet dirty = new BitSet(TYPES.length);
+        private int version;
+
+        private void increment(final int type) {
+            this.counts[type]++;
+            this.dirty.set(type);
+            this.version++;
+        }
+
+        int count(final EntityType type) {
+            return this.counts[type.ordinal()];
+        }
+
+        int[] snapshot() {
+            return this.counts.clone();
+        }
+
+        /**
+         * Changes every time a count in this counter changes, so viewers
+         * can skip rendering counters that haven't changed.
+         */
+        int version() {
+            return this.version;
+        }
+    }
+
+    enum Scope {
+        /**
+         * The deaths since the viewer started counting or last reset,
+         * as a difference to the {@link #GLOBAL} counter.
+         */
+        SESSION,
+        GLOBAL,
+        WORLD,
+        TEAM,
+        PLAYER;
+
+        /**
+         * Gets the key of the counter a player sees for this scope.
+         *
+         * @param player the player
+         * @return the key, or null for {@link #TEAM} if the player isn't on a team
+         */
+        @Nullable String key(final @Nullable Player player) {
+            if (this == GLOBAL || this == SESSION) {
+                return GLOBAL_KEY;
+            }
+            if (player == null) {
+                throw new IllegalArgumentException(this + " needs a player");
+            }
+            return switch (this) {
+                case WORLD -> "world:" + player.getWorld().getUID();
+                case TEAM -> {
+                    final @Nullable Team team = Scoreboards.main().getEntryTeam(player.getName());
+                    yield team == null ? null : "team:" + team.getName();
+                }
+                case PLAYER -> "player:" + player.getUniqueId();
+                default -> throw new IllegalStateException();
+            };
+        }
+
+        /**
+         * Checks if resetting this scope resets a counter other players see.
+         *
+         * @return true if the counter is shared
+         */
+        boolean shared() {
+            return this != SESSION && this != PLAYER;
+        }
+
+        String lowercase() {
+            return this.name().toLowerCase(Locale.ENGLISH);
+        }
+    }
+}
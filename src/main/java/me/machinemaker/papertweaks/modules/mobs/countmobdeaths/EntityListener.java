@@ -21,33 +21,25 @@ package me.machinemaker.papertweaks.modules.mobs.countmobdeaths;
 
 import com.google.inject.Inject;
 import me.machinemaker.papertweaks.modules.ModuleListener;
-import net.md_5.bungee.api.ChatColor;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.entity.EntityDeathEvent;
-import org.bukkit.scoreboard.Objective;
 
 class EntityListener implements ModuleListener {
 
-    private final CountMobDeaths countMobDeaths;
+    private final DeathCounters counters;
     private final Config config;
 
     @Inject
-    EntityListener(final CountMobDeaths countMobDeaths, final Config config) {
-        this.countMobDeaths = countMobDeaths;
+    EntityListener(final DeathCounters counters, final Config config) {
+        this.counters = counters;
         this.config = config;
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onEntityDeath(final EntityDeathEvent event) {
         if (this.config.countedMobs.contains(event.getEntityType()) && event.getEntity().getCustomName() == null) {
-            final String entry = ChatColor.YELLOW + event.getEntity().getName();
-            for (final CountMobDeaths.CountingBoard countingBoard : this.countMobDeaths.scoreboardPlayerMap.values()) {
-                if (countingBoard.isCounting()) {
-                    final Objective objective = this.countMobDeaths.getDeathCountObjective(countingBoard.scoreboard());
-                    objective.getScore(entry).setScore(objective.getScore(entry).getScore() + 1);
-                }
-            }
+            this.counters.record(event.getEntity());
         }
     }
 
@@ -34,20 +34,36 @@ import static net.kyori.adventure.text.Component.translatable;
 final class Lifecycle extends ModuleLifecycle {
 
     private final CountMobDeaths countMobDeaths;
+    private final DeathCounters counters;
+    private final BoardRenderer renderer;
+    private final Config config;
 
     @Inject
-    Lifecycle(final JavaPlugin plugin, final Set<ModuleCommand> commands, final Set<ModuleListener> listeners, final Set<ModuleConfig> configs, final Set<ModuleRecipe<?>> moduleRecipes, final CountMobDeaths countMobDeaths) {
+    Lifecycle(final JavaPlugin plugin, final Set<ModuleCommand> commands, final Set<ModuleListener> listeners, final Set<ModuleConfig> configs, final Set<ModuleRecipe<?>> moduleRecipes, final CountMobDeaths countMobDeaths, final DeathCounters counters, final BoardRenderer renderer, final Config config) {
         super(plugin, commands, listeners, configs, moduleRecipes);
         this.countMobDeaths = countMobDeaths;
+        this.counters = counters;
+        this.renderer = renderer;
+        this.config = config;
+    }
+
+    @Override
+    public void onEnable() {
+        this.counters.start();
+        this.renderer.runTaskTimer(1L, this.config.renderIntervalTicks);
     }
 
     @Override
     public void onReload() {
+        this.renderer.cancel();
         this.resetBoards("modules.mob-death-count.reload-msg");
+        this.renderer.runTaskTimer(1L, this.config.renderIntervalTicks);
     }
 
     @Override
     public void onDisable(final boolean isShutdown) {
+        this.renderer.cancel();
+        this.counters.stop();
         this.resetBoards("modules.mob-death-count.disabled-msg");
     }
 
@@ -20,9 +20,9 @@
 package me.machinemaker.papertweaks.modules.mobs.moremobheads;
 
 import com.google.inject.Inject;
-import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import me.machinemaker.papertweaks.modules.ModuleListener;
-import me.machinemaker.papertweaks.utils.PTUtils;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
@@ -56,7 +56,10 @@ class EntityListener implements ModuleListener {
         }
 
         if (event.getEntity() instanceof Wither) { // Special handling for withers for the moment
-            event.getDrops().add(PTUtils.random(this.moreMobHeads.getMobHeads(EntityType.WITHER)).createSkull());
+            final List<MobHead> withers = this.moreMobHeads.getMobHeads(EntityType.WITHER);
+            if (!withers.isEmpty()) {
+                event.getDrops().add(withers.get(ThreadLocalRandom.current().nextInt(withers.size())).createSkull());
+            }
             return;
         }
 
@@ -65,17 +68,9 @@ class EntityListener implements ModuleListener {
             lootingLevel = event.getEntity().getKiller().getInventory().getItemInMainHand().getEnchantmentLevel(Enchantment.LOOT_BONUS_MOBS);
         }
 
-        final Collection<MobHead> heads = this.moreMobHeads.getMobHeads(entity.getType());
-        if (heads.isEmpty()) {
-            return;
-        }
-        for (final MobHead head : heads) {
-            if (head.test(event.getEntity())) {
-                if (head.chance(lootingLevel)) {
-                    event.getDrops().add(head.createSkull());
-                }
-                break;
-            }
+        final @Nullable MobHead head = this.moreMobHeads.getMobHead(entity);
+        if (head != null && head.chance(lootingLevel)) {
+            event.getDrops().add(head.createSkull());
         }
     }
 }
@@ -22,16 +22,15 @@ package me.machinemaker.papertweaks.modules.mobs.moremobheads;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
 import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.function.Predicate;
 import me.machinemaker.papertweaks.config.Mixins;
 import me.machinemaker.papertweaks.utils.PTUtils;
 import org.bukkit.NamespacedKey;
@@ -52,7 +51,6 @@ final class MobHead {
     private final boolean requiresCustomization;
     private final float chance;
     private final float lootingMultiplier;
-    private @Nullable Predicate<? extends LivingEntity> predicate;
 
     @JsonCreator
     MobHead(@JsonProperty("tableName") final String lootTable, final UUID uuid, final String name, final String texture, final boolean needsPlayer, final boolean requiresCustomization, final float chance, final float lootingMultiplier) {
@@ -65,16 +63,10 @@ final class MobHead {
         this.lootingMultiplier = lootingMultiplier;
     }
 
-    static Multimap<EntityType, MobHead> createMobHeadMap(final ClassLoader loader) {
-        final List<MobHead> heads;
-        try {
-            //noinspection Convert2Diamond
-            heads = MAPPER.readValue(loader.getResourceAsStream("data/more_mob_heads.json"), new TypeReference<List<MobHead>>() {});
-        } catch (final IOException e) {
-            MoreMobHeads.LOGGER.error("Could not load mob heads from data/more_mob_heads.json. This module will not work properly", e);
-            return Multimaps.unmodifiableMultimap(ArrayListMultimap.create());
-        }
-        final Multimap<EntityType, MobHead> mobHeadMap = ArrayListMultimap.create();
+    static ListMultimap<EntityType, MobHead> createMobHeadMap(final JsonNode root) throws IOException {
+        //noinspection Convert2Diamond
+        final List<MobHead> heads = MAPPER.readerFor(new TypeReference<List<MobHead>>() {}).readValue(root);
+        final ImmutableListMultimap.Builder<EntityType, MobHead> mobHeadMap = ImmutableListMultimap.builder();
         for (final MobHead head : heads) {
             final String key = head.lootTable.startsWith("sheep") ? "sheep" : head.lootTable.split("\\.")[0];
             final @Nullable EntityType type = Registry.ENTITY_TYPE.get(NamespacedKey.minecraft(key));
@@ -86,11 +78,10 @@ final class MobHead {
                 MoreMobHeads.LOGGER.warn(type + " is not a living entity");
                 continue;
             }
-            MobHeadCustomizations.addCustomizations(head);
             mobHeadMap.put(type, head);
         }
 
-        return Multimaps.unmodifiableMultimap(mobHeadMap);
+        return mobHeadMap.build();
     }
 
     public String lootTable() {
@@ -109,19 +100,7 @@ final class MobHead {
         return this.requiresCustomization;
     }
 
-    @SuppressWarnings("unchecked")
-    public <E extends LivingEntity> boolean test(final E entity) {
-        if (this.predicate == null) {
-            return true;
-        }
-        return ((Predicate<E>) this.predicate).test(entity);
-    }
-
     public boolean chance(final int lootingLevel) {
         return ThreadLocalRandom.current().nextDouble() < this.chance + (lootingLevel * this.lootingMultiplier);
     }
-
-    public void predicate(final Predicate<? extends LivingEntity> predicate) {
-        this.predicate = predicate;
-    }
 }
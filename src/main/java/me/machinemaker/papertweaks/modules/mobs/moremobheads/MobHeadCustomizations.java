@@ -19,102 +19,110 @@
  */
 package me.machinemaker.papertweaks.modules.mobs.moremobheads;
 
-import java.util.function.Predicate;
+import java.util.function.Function;
 import org.bukkit.DyeColor;
 import org.bukkit.entity.Axolotl;
 import org.bukkit.entity.Bee;
 import org.bukkit.entity.Cat;
 import org.bukkit.entity.Creeper;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Fox;
 import org.bukkit.entity.Frog;
 import org.bukkit.entity.Goat;
 import org.bukkit.entity.Horse;
 import org.bukkit.entity.Llama;
+import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.MushroomCow;
 import org.bukkit.entity.Panda;
 import org.bukkit.entity.Parrot;
 import org.bukkit.entity.Rabbit;
 import org.bukkit.entity.Sheep;
-import org.bukkit.entity.TraderLlama;
 import org.bukkit.entity.Villager;
 import org.bukkit.entity.Wolf;
 import org.bukkit.entity.ZombieVillager;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+/**
+ * The variant attributes that tell the heads of an entity type apart.
+ * Each customized entity type has one attribute read from the entity,
+ * and each of its heads is the attribute value it drops for.
+ */
 final class MobHeadCustomizations {
 
     private MobHeadCustomizations() {
     }
 
-    static void addCustomizations(final MobHead head) {
-        if (!head.requiresCustomization()) {
-            return;
-        }
-        final String table = head.lootTable().contains("sheep") ? "sheep.json" : head.lootTable();
-        switch (table) {
-            case "cat.json":
-                cat(head);
-                break;
-            case "creeper.json":
-                creeper(head);
-                break;
-            case "llama.json":
-                llama(head);
-                break;
-            case "panda.json":
-                panda(head);
-                break;
-            case "trader_llama.json":
-                traderLlama(head);
-                break;
-            case "goat.json":
-                goat(head);
-                break;
-            case "bee.json":
-                bee(head);
-                break;
-            case "fox.json":
-                fox(head);
-                break;
-            case "parrot.json":
-                parrot(head);
-                break;
-            case "horse.json":
-                horse(head);
-                break;
-            case "wither.json":
-                break; // TODO implement wither
-            case "rabbit.json":
-                rabbit(head);
-                break;
-            case "axolotl.json":
-                axolotl(head);
-                break;
-            case "zombie_villager.json":
-                zombieVillager(head);
-                break;
-            case "mooshroom.json":
-                mooshroom(head);
-                break;
-            case "villager.json":
-                villager(head);
-                break;
-            case "sheep.json":
-                sheep(head);
-                break;
-            case "frog.json":
-                frog(head);
-                break;
-            case "wolf.json":
-                wolf(head);
-                break;
-            default:
-                MoreMobHeads.LOGGER.error("{} doesn't have a custom handler", head.lootTable());
+    /**
+     * Gets the attribute the heads of an entity type are keyed by.
+     *
+     * @param type the entity type
+     * @return the attribute, or null if the heads of the type aren't customized
+     */
+    static @Nullable Function<LivingEntity, Object> attribute(final EntityType type) {
+        return switch (type) {
+            case CAT -> entity -> ((Cat) entity).getCatType();
+            case CREEPER -> entity -> ((Creeper) entity).isPowered();
+            case LLAMA, TRADER_LLAMA -> entity -> ((Llama) entity).getColor();
+            case PANDA -> entity -> visibleGene((Panda) entity);
+            case GOAT -> entity -> ((Goat) entity).isScreaming();
+            case BEE -> entity -> BeeState.of((Bee) entity);
+            case FOX -> entity -> ((Fox) entity).getFoxType();
+            case PARROT -> entity -> ((Parrot) entity).getVariant();
+            case HORSE -> entity -> ((Horse) entity).getColor();
+            case RABBIT -> entity -> "Toast".equals(entity.getCustomName()) ? "Toast" : ((Rabbit) entity).getRabbitType();
+            case AXOLOTL -> entity -> ((Axolotl) entity).getVariant();
+            case ZOMBIE_VILLAGER -> entity -> ((ZombieVillager) entity).getVillagerProfession();
+            case MUSHROOM_COW -> entity -> ((MushroomCow) entity).getVariant();
+            case VILLAGER -> entity -> ((Villager) entity).getProfession();
+            case SHEEP -> entity -> "jeb_".equals(entity.getCustomName()) ? "jeb_" : ((Sheep) entity).getColor();
+            case FROG -> entity -> ((Frog) entity).getVariant();
+            case WOLF -> entity -> ((Wolf) entity).isAngry();
+            default -> null;
+        };
+    }
+
+    /**
+     * Gets the attribute value a head drops for.
+     *
+     * @param type the entity type
+     * @param head the head
+     * @return the value, or null if the head drops for any entity without a more specific head
+     * @throws IllegalArgumentException if the head's name isn't a known variant of the type
+     */
+    static @Nullable Object value(final EntityType type, final MobHead head) {
+        return switch (type) {
+            case CAT -> cat(head);
+            case CREEPER -> creeper(head);
+            case LLAMA -> llama(head, "Llama");
+            case TRADER_LLAMA -> llama(head, "Trader Llama");
+            case PANDA -> panda(head);
+            case GOAT -> goat(head);
+            case BEE -> bee(head);
+            case FOX -> fox(head);
+            case PARROT -> parrot(head);
+            case HORSE -> horse(head);
+            case RABBIT -> rabbit(head);
+            case AXOLOTL -> axolotl(head);
+            case ZOMBIE_VILLAGER -> zombieVillager(head);
+            case MUSHROOM_COW -> mooshroom(head);
+            case VILLAGER -> villager(head);
+            case SHEEP -> sheep(head);
+            case FROG -> frog(head);
+            case WOLF -> wolf(head);
+            default -> throw new IllegalArgumentException(type + " doesn't have a custom handler");
+        };
+    }
+
+    private static Panda.Gene visibleGene(final Panda panda) {
+        final Panda.Gene main = panda.getMainGene();
+        if (main.isRecessive() && panda.getHiddenGene() != main) {
+            return Panda.Gene.NORMAL;
         }
+        return main;
     }
 
-    private static void cat(final MobHead head) {
-        final Cat.Type type = switch (head.name()) {
+    private static Cat.Type cat(final MobHead head) {
+        return switch (head.name()) {
             case "Tabby Cat" -> Cat.Type.TABBY;
             case "Tuxedo Cat" -> Cat.Type.BLACK;
             case "Ginger Cat" -> Cat.Type.RED;
@@ -128,90 +136,66 @@ final class MobHeadCustomizations {
             case "Black Cat" -> Cat.Type.ALL_BLACK;
             default -> throw new IllegalArgumentException(head.name() + " isn't a valid cat name");
         };
-        final Predicate<Cat> catPredicate = cat -> cat.getCatType() == type;
-        head.predicate(catPredicate);
     }
 
-    private static void creeper(final MobHead head) {
-        //noinspection SwitchStatementWithTooFewBranches
-        final Predicate<Creeper> creeperPredicate = switch (head.name()) {
-            case "Charged Creeper" -> Creeper::isPowered;
-            default -> throw new IllegalArgumentException(head.name() + " isn't a valid creeper name");
-        };
-        head.predicate(creeperPredicate);
+    private static Boolean creeper(final MobHead head) {
+        if (head.name().equals("Charged Creeper")) {
+            return true;
+        }
+        throw new IllegalArgumentException(head.name() + " isn't a valid creeper name");
     }
 
-    private static void llama(final MobHead head) {
-        final Llama.Color color = switch (head.name()) {
-            case "Creamy Llama" -> Llama.Color.CREAMY;
-            case "White Llama" -> Llama.Color.WHITE;
-            case "Brown Llama" -> Llama.Color.BROWN;
-            case "Gray Llama" -> Llama.Color.GRAY;
-            default -> throw new IllegalArgumentException(head.name() + " isn't a valid llama name");
+    private static Llama.Color llama(final MobHead head, final String suffix) {
+        return switch (head.name().replace(" " + suffix, "")) {
+            case "Creamy" -> Llama.Color.CREAMY;
+            case "White" -> Llama.Color.WHITE;
+            case "Brown" -> Llama.Color.BROWN;
+            case "Gray" -> Llama.Color.GRAY;
+            default -> throw new IllegalArgumentException(head.name() + " isn't a valid " + suffix.toLowerCase() + " name");
         };
-        final Predicate<Llama> llamaPredicate = llama -> llama.getColor() == color;
-        head.predicate(llamaPredicate);
     }
 
-    private static void panda(final MobHead head) {
-        final Predicate<Panda> pandaPredicate = switch (head.name()) {
-            case "Aggressive Panda" -> panda -> panda.getMainGene() == Panda.Gene.AGGRESSIVE;
-            case "Lazy Panda" -> panda -> panda.getMainGene() == Panda.Gene.LAZY;
-            case "Playful Panda" -> panda -> panda.getMainGene() == Panda.Gene.PLAYFUL;
-            case "Worried Panda" -> panda -> panda.getMainGene() == Panda.Gene.WORRIED;
-            case "Brown Panda" -> panda -> panda.getMainGene() == Panda.Gene.BROWN && panda.getHiddenGene() == Panda.Gene.BROWN;
-            case "Weak Panda" -> panda -> panda.getMainGene() == Panda.Gene.WEAK && panda.getHiddenGene() == Panda.Gene.WEAK;
-            case "Panda" -> panda -> panda.getMainGene() == Panda.Gene.NORMAL;
+    private static Panda.Gene panda(final MobHead head) {
+        return switch (head.name()) {
+            case "Aggressive Panda" -> Panda.Gene.AGGRESSIVE;
+            case "Lazy Panda" -> Panda.Gene.LAZY;
+            case "Playful Panda" -> Panda.Gene.PLAYFUL;
+            case "Worried Panda" -> Panda.Gene.WORRIED;
+            case "Brown Panda" -> Panda.Gene.BROWN;
+            case "Weak Panda" -> Panda.Gene.WEAK;
+            case "Panda" -> Panda.Gene.NORMAL;
             default -> throw new IllegalArgumentException(head.name() + " isn't a valid panda name");
         };
-        head.predicate(pandaPredicate);
-    }
-
-    private static void traderLlama(final MobHead head) {
-        final Llama.Color color = switch (head.name()) {
-            case "Creamy Trader Llama" -> Llama.Color.CREAMY;
-            case "White Trader Llama" -> Llama.Color.WHITE;
-            case "Brown Trader Llama" -> Llama.Color.BROWN;
-            case "Gray Trader Llama" -> Llama.Color.GRAY;
-            default -> throw new IllegalArgumentException(head.name() + " isn't a valid trader llama name");
-        };
-        final Predicate<TraderLlama> llamaPredicate = llama -> llama.getColor() == color;
-        head.predicate(llamaPredicate);
     }
 
-    private static void goat(final MobHead head) {
-        final Predicate<Goat> goatPredicate = switch (head.name()) {
-            case "Goat" -> Predicate.not(Goat::isScreaming);
-            case "Screaming Goat" -> Goat::isScreaming;
+    private static Boolean goat(final MobHead head) {
+        return switch (head.name()) {
+            case "Goat" -> false;
+            case "Screaming Goat" -> true;
             default -> throw new IllegalArgumentException(head.name() + " isn't a valid goat name");
         };
-        head.predicate(goatPredicate);
     }
 
-    private static void bee(final MobHead head) {
-        final Predicate<Bee> beePredicate = switch (head.name()) {
-            case "Angry Pollinated Bee" -> bee -> bee.hasStung() && bee.hasNectar();
-            case "Angry Bee" -> bee -> bee.hasStung() && !bee.hasNectar();
-            case "Pollinated Bee" -> bee -> !bee.hasNectar() && bee.hasNectar();
-            case "Bee" -> bee -> !bee.hasNectar() && !bee.hasStung();
+    private static BeeState bee(final MobHead head) {
+        return switch (head.name()) {
+            case "Angry Pollinated Bee" -> BeeState.ANGRY_POLLINATED;
+            case "Angry Bee" -> BeeState.ANGRY;
+            case "Pollinated Bee" -> BeeState.POLLINATED;
+            case "Bee" -> BeeState.NORMAL;
             default -> throw new IllegalArgumentException(head.name() + " isn't a valid bee name");
         };
-        head.predicate(beePredicate);
-
     }
 
-    private static void fox(final MobHead head) {
-        final Fox.Type type = switch (head.name()) {
+    private static Fox.Type fox(final MobHead head) {
+        return switch (head.name()) {
             case "Fox" -> Fox.Type.RED;
             case "Snow Fox" -> Fox.Type.SNOW;
             default -> throw new IllegalArgumentException(head.name() + " isn't a valid fox name");
         };
-        final Predicate<Fox> foxPredicate = fox -> fox.getFoxType() == type;
-        head.predicate(foxPredicate);
     }
 
-    private static void parrot(final MobHead head) {
-        final Parrot.Variant variant = switch (head.name()) {
+    private static Parrot.Variant parrot(final MobHead head) {
+        return switch (head.name()) {
             case "Red Parrot" -> Parrot.Variant.RED;
             case "Blue Parrot" -> Parrot.Variant.BLUE;
             case "Green Parrot" -> Parrot.Variant.GREEN;
@@ -219,12 +203,10 @@ final class MobHeadCustomizations {
             case "Gray Parrot" -> Parrot.Variant.GRAY;
             default -> throw new IllegalArgumentException(head.name() + " isn't a valid parrot name");
         };
-        final Predicate<Parrot> parrotPredicate = parrot -> parrot.getVariant() == variant;
-        head.predicate(parrotPredicate);
     }
 
-    private static void horse(final MobHead head) {
-        final Horse.Color color = switch (head.name()) {
+    private static Horse.Color horse(final MobHead head) {
+        return switch (head.name()) {
             case "White Horse" -> Horse.Color.WHITE;
             case "Creamy Horse" -> Horse.Color.CREAMY;
             case "Chestnut Horse" -> Horse.Color.CHESTNUT;
@@ -234,31 +216,24 @@ final class MobHeadCustomizations {
             case "Dark Brown Horse" -> Horse.Color.DARK_BROWN;
             default -> throw new IllegalArgumentException(head.name() + " isn't a valid horse name");
         };
-        final Predicate<Horse> horsePredicate = horse -> horse.getColor() == color;
-        head.predicate(horsePredicate);
     }
 
-    // TODO
-    // private static void wither(final MobHead head) {
-    // }
-
-    private static void rabbit(final MobHead head) {
-        final Predicate<Rabbit> rabbitPredicate = switch (head.name()) {
-            case "Toast" -> rabbit -> "Toast".equals(rabbit.getCustomName());
-            case "Brown Rabbit" -> rabbit -> rabbit.getRabbitType() == Rabbit.Type.BROWN;
-            case "White Rabbit" -> rabbit -> rabbit.getRabbitType() == Rabbit.Type.WHITE;
-            case "Black Rabbit" -> rabbit -> rabbit.getRabbitType() == Rabbit.Type.BLACK;
-            case "Black and White Rabbit" -> rabbit -> rabbit.getRabbitType() == Rabbit.Type.BLACK_AND_WHITE;
-            case "Gold Rabbit" -> rabbit -> rabbit.getRabbitType() == Rabbit.Type.GOLD;
-            case "Salt and Pepper Rabbit" -> rabbit -> rabbit.getRabbitType() == Rabbit.Type.SALT_AND_PEPPER;
-            case "The Killer Bunny" -> rabbit -> rabbit.getRabbitType() == Rabbit.Type.THE_KILLER_BUNNY;
+    private static Object rabbit(final MobHead head) {
+        return switch (head.name()) {
+            case "Toast" -> "Toast";
+            case "Brown Rabbit" -> Rabbit.Type.BROWN;
+            case "White Rabbit" -> Rabbit.Type.WHITE;
+            case "Black Rabbit" -> Rabbit.Type.BLACK;
+            case "Black and White Rabbit" -> Rabbit.Type.BLACK_AND_WHITE;
+            case "Gold Rabbit" -> Rabbit.Type.GOLD;
+            case "Salt and Pepper Rabbit" -> Rabbit.Type.SALT_AND_PEPPER;
+            case "The Killer Bunny" -> Rabbit.Type.THE_KILLER_BUNNY;
             default -> throw new IllegalArgumentException(head.name() + " isn't a valid rabbit name");
         };
-        head.predicate(rabbitPredicate);
     }
 
-    private static void axolotl(final MobHead head) {
-        final Axolotl.Variant variant = switch (head.name()) {
+    private static Axolotl.Variant axolotl(final MobHead head) {
+        return switch (head.name()) {
             case "Lucy Axolotl" -> Axolotl.Variant.LUCY;
             case "Wild Axolotl" -> Axolotl.Variant.WILD;
             case "Gold Axolotl" -> Axolotl.Variant.GOLD;
@@ -266,73 +241,53 @@ final class MobHeadCustomizations {
             case "Blue Axolotl" -> Axolotl.Variant.BLUE;
             default -> throw new IllegalArgumentException(head.name() + " isn't a valid axolotl name");
         };
-        final Predicate<Axolotl> axolotlPredicate = axolotl -> axolotl.getVariant() == variant;
-        head.predicate(axolotlPredicate);
     }
 
-    private static void zombieVillager(final MobHead head) {
-        final Villager.@Nullable Profession profession = switch (head.name()) {
-            case "Zombie Armorer" -> Villager.Profession.ARMORER;
-            case "Zombie Butcher" -> Villager.Profession.BUTCHER;
-            case "Zombie Cartographer" -> Villager.Profession.CARTOGRAPHER;
-            case "Zombie Cleric" -> Villager.Profession.CLERIC;
-            case "Zombie Farmer" -> Villager.Profession.FARMER;
-            case "Zombie Fisherman" -> Villager.Profession.FISHERMAN;
-            case "Zombie Fletcher" -> Villager.Profession.FLETCHER;
-            case "Zombie Leatherworker" -> Villager.Profession.LEATHERWORKER;
-            case "Zombie Librarian" -> Villager.Profession.LIBRARIAN;
-            case "Zombie Mason" -> Villager.Profession.MASON;
-            case "Zombie Nitwit" -> Villager.Profession.NITWIT;
-            case "Zombie Villager" -> null;
-            case "Zombie Shepherd" -> Villager.Profession.SHEPHERD;
-            case "Zombie Toolsmith" -> Villager.Profession.TOOLSMITH;
-            case "Zombie Weaponsmith" -> Villager.Profession.WEAPONSMITH;
-            default -> throw new IllegalArgumentException(head.name() + " isn't a valid zombie villager name");
-        };
-        final Predicate<ZombieVillager> zombieVillagerPredicate = zombieVillager -> zombieVillager.getVillagerProfession() == profession;
-        head.predicate(zombieVillagerPredicate);
+    private static Villager.Profession zombieVillager(final MobHead head) {
+        if (head.name().equals("Zombie Villager")) {
+            return Villager.Profession.NONE;
+        }
+        return profession(head, head.name().replace("Zombie ", ""), "zombie villager");
     }
 
-    private static void mooshroom(final MobHead head) {
-        final MushroomCow.Variant variant = switch (head.name()) {
+    private static MushroomCow.Variant mooshroom(final MobHead head) {
+        return switch (head.name()) {
             case "Red Mooshroom" -> MushroomCow.Variant.RED;
             case "Brown Mooshroom" -> MushroomCow.Variant.BROWN;
             default -> throw new IllegalArgumentException(head.name() + " isn't a valid mooshroom cow name");
         };
-        final Predicate<MushroomCow> mushroomCowPredicate = mushroomCow -> mushroomCow.getVariant() == variant;
-        head.predicate(mushroomCowPredicate);
     }
 
-    private static void villager(final MobHead head) {
-        final Villager.@Nullable Profession profession = switch (head.name()) {
-            case "Armorer Villager" -> Villager.Profession.ARMORER;
-            case "Butcher Villager" -> Villager.Profession.BUTCHER;
-            case "Cartographer Villager" -> Villager.Profession.CARTOGRAPHER;
-            case "Cleric Villager" -> Villager.Profession.CLERIC;
-            case "Farmer Villager" -> Villager.Profession.FARMER;
-            case "Fisherman Villager" -> Villager.Profession.FISHERMAN;
-            case "Fletcher Villager" -> Villager.Profession.FLETCHER;
-            case "Leatherworker Villager" -> Villager.Profession.LEATHERWORKER;
-            case "Librarian Villager" -> Villager.Profession.LIBRARIAN;
-            case "Mason Villager" -> Villager.Profession.MASON;
-            case "Nitwit Villager" -> Villager.Profession.NITWIT;
-            case "Villager" -> null;
-            case "Shepherd Villager" -> Villager.Profession.SHEPHERD;
-            case "Toolsmith Villager" -> Villager.Profession.TOOLSMITH;
-            case "Weaponsmith Villager" -> Villager.Profession.WEAPONSMITH;
-            default -> throw new IllegalArgumentException(head.name() + " isn't a valid villager name");
+    private static Villager.Profession villager(final MobHead head) {
+        if (head.name().equals("Villager")) {
+            return Villager.Profession.NONE;
+        }
+        return profession(head, head.name().replace(" Villager", ""), "villager");
+    }
+
+    private static Villager.Profession profession(final MobHead head, final String profession, final String type) {
+        return switch (profession) {
+            case "Armorer" -> Villager.Profession.ARMORER;
+            case "Butcher" -> Villager.Profession.BUTCHER;
+            case "Cartographer" -> Villager.Profession.CARTOGRAPHER;
+            case "Cleric" -> Villager.Profession.CLERIC;
+            case "Farmer" -> Villager.Profession.FARMER;
+            case "Fisherman" -> Villager.Profession.FISHERMAN;
+            case "Fletcher" -> Villager.Profession.FLETCHER;
+            case "Leatherworker" -> Villager.Profession.LEATHERWORKER;
+            case "Librarian" -> Villager.Profession.LIBRARIAN;
+            case "Mason" -> Villager.Profession.MASON;
+            case "Nitwit" -> Villager.Profession.NITWIT;
+            case "Shepherd" -> Villager.Profession.SHEPHERD;
+            case "Toolsmith" -> Villager.Profession.TOOLSMITH;
+            case "Weaponsmith" -> Villager.Profession.WEAPONSMITH;
+            default -> throw new IllegalArgumentException(head.name() + " isn't a valid " + type + " name");
         };
-        final Predicate<Villager> villagerPredicate = villager -> villager.getProfession() == profession;
-        head.predicate(villagerPredicate);
     }
 
-    private static void sheep(final MobHead head) {
-        if (head.name().equals("jeb_ Sheep")) {
-            final Predicate<Sheep> sheepPredicate = sheep -> "jeb_".equals(sheep.getCustomName());
-            head.predicate(sheepPredicate);
-            return;
-        }
-        final DyeColor dyeColor = switch (head.name()) {
+    private static Object sheep(final MobHead head) {
+        return switch (head.name()) {
+            case "jeb_ Sheep" -> "jeb_";
             case "Green Sheep" -> DyeColor.GREEN;
             case "White Sheep" -> DyeColor.WHITE;
             case "Blue Sheep" -> DyeColor.BLUE;
@@ -351,30 +306,36 @@ final class MobHeadCustomizations {
             case "Gray Sheep" -> DyeColor.GRAY;
             default -> throw new IllegalArgumentException(head.name() + " isn't a valid sheep name");
         };
-        final Predicate<Sheep> sheepPredicate = sheep -> sheep.getColor() == dyeColor;
-        head.predicate(sheepPredicate);
     }
 
-    private static void frog(final MobHead head) {
-        final Frog.Variant variant = switch (head.name()) {
+    private static Frog.Variant frog(final MobHead head) {
+        return switch (head.name()) {
             case "Cold Frog" -> Frog.Variant.COLD;
             case "Temperate Frog" -> Frog.Variant.TEMPERATE;
             case "Warm Frog" -> Frog.Variant.WARM;
             default -> throw new IllegalArgumentException(head.name() + " isn't a valid frog name");
         };
-        final Predicate<Frog> frogPredicate = frog -> frog.getVariant() == variant;
-        head.predicate(frogPredicate);
     }
 
-    private static void wolf(final MobHead head) {
-        final Predicate<Wolf> wolfPredicate = wolf -> {
-            if (head.name().equals("Angry Wolf")) {
-                return wolf.isAngry();
-            } else {
-                return true;
-            }
+    private static @Nullable Boolean wolf(final MobHead head) {
+        return switch (head.name()) {
+            case "Angry Wolf" -> true;
+            case "Wolf" -> null; // any wolf that isn't angry
+            default -> throw new IllegalArgumentException(head.name() + " isn't a valid wolf name");
         };
-        head.predicate(wolfPredicate);
     }
 
+    private enum BeeState {
+        NORMAL,
+        POLLINATED,
+        ANGRY,
+        ANGRY_POLLINATED;
+
+        static BeeState of(final Bee bee) {
+            if (bee.hasStung()) {
+                return bee.hasNectar() ? ANGRY_POLLINATED : ANGRY;
+            }
+            return bee.hasNectar() ? POLLINATED : NORMAL;
+        }
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.mobs.moremobheads;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The mob heads compiled into a decision tree, keyed by entity type and
+ * then by that type's variant attribute (see {@link MobHeadCustomizations}).
+ * A death resolves its head with one attribute read and one map lookup
+ * instead of testing each of the type's heads in turn.
+ * <p>
+ * Head definitions are validated while compiling. Heads that could never
+ * drop, because their name isn't a known variant or another head already
+ * covers the same variant, are reported and left out.
+ */
+final class MobHeadTree {
+
+    private final ListMultimap<EntityType, MobHead> heads;
+    private final Map<EntityType, Node> nodes;
+
+    private MobHeadTree(final ListMultimap<EntityType, MobHead> heads, final Map<EntityType, Node> nodes) {
+        this.heads = heads;
+        this.nodes = nodes;
+    }
+
+    static MobHeadTree empty() {
+        return new MobHeadTree(ImmutableListMultimap.of(), Collections.emptyMap());
+    }
+
+    static MobHeadTree compile(final ListMultimap<EntityType, MobHead> heads) {
+        final List<String> problems = new ArrayList<>();
+        final Map<EntityType, Node> nodes = new EnumMap<>(EntityType.class);
+        for (final EntityType type : heads.keySet()) {
+            if (type == EntityType.WITHER) {
+                continue; // withers drop a random head of their own
+            }
+            final @Nullable Function<LivingEntity, Object> attribute = MobHeadCustomizations.attribute(type);
+            final Map<Object, MobHead> variants = new HashMap<>();
+            @Nullable MobHead fallback = null;
+            for (final MobHead head : heads.get(type)) {
+                final @Nullable Object value;
+                if (attribute == null || !head.requiresCustomization()) {
+                    if (head.requiresCustomization()) {
+                        problems.add(describe(head) + " requires customization, but " + type + " has no variants. It will drop for every " + type);
+                    }
+                    value = null;
+                } else {
+                    try {
+                        value = MobHeadCustomizations.value(type, head);
+                    } catch (final IllegalArgumentException e) {
+                        problems.add(describe(head) + " is unreachable: " + e.getMessage());
+                        continue;
+                    }
+                }
+                if (value == null) {
+                    if (fallback != null) {
+                        problems.add(describe(head) + " conflicts with " + describe(fallback) + ", both drop for any " + type + ". Only the first is used");
+                    } else {
+                        fallback = head;
+                    }
+                    continue;
+                }
+                final @Nullable MobHead existing = variants.putIfAbsent(value, head);
+                if (existing != null) {
+                    problems.add(describe(head) + " conflicts with " + describe(existing) + ", both drop for " + type + " " + value + ". Only the first is used");
+                }
+            }
+            nodes.put(type, new Node(variants.isEmpty() ? null : attribute, Map.copyOf(variants), fallback));
+        }
+        problems.forEach(MoreMobHeads.LOGGER::warn);
+        return new MobHeadTree(heads, nodes);
+    }
+
+    private static String describe(final MobHead head) {
+        return "\"" + head.name() + "\" (" + head.lootTable() + ")";
+    }
+
+    List<MobHead> heads(final EntityType type) {
+        return this.heads.get(type);
+    }
+
+    /**
+     * Gets the head an entity would drop.
+     *
+     * @param entity the entity
+     * @return the head, or null if there isn't one for the entity
+     */
+    @Nullable MobHead resolve(final LivingEntity entity) {
+        final @Nullable Node node = this.nodes.get(entity.getType());
+        if (node == null) {
+            return null;
+        }
+        final @Nullable Function<LivingEntity, Object> attribute = node.attribute();
+        if (attribute != null) {
+            final @Nullable MobHead head = node.variants().get(attribute.apply(entity));
+            if (head != null) {
+                return head;
+            }
+        }
+        return node.fallback();
+    }
+
+    private record Node(@Nullable Function<LivingEntity, Object> attribute, Map<Object, MobHead> variants, @Nullable MobHead fallback) {
+    }
+}
@@ -19,19 +19,22 @@
  */
 package me.machinemaker.papertweaks.modules.mobs.moremobheads;
 
-import com.google.common.collect.Multimap;
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import me.machinemaker.papertweaks.LoggerFactory;
 import me.machinemaker.papertweaks.annotations.ModuleInfo;
+import me.machinemaker.papertweaks.data.Dataset;
+import me.machinemaker.papertweaks.data.DatasetLoader;
 import me.machinemaker.papertweaks.modules.ModuleBase;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
 import me.machinemaker.papertweaks.modules.ModuleConfig;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
 import me.machinemaker.papertweaks.modules.ModuleListener;
 import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 
 @ModuleInfo(name = "MoreMobHeads", configPath = "mobs.more-mob-heads", description = "Adds heads for a lot more mobs")
@@ -39,15 +42,19 @@ public class MoreMobHeads extends ModuleBase {
 
     static final Logger LOGGER = LoggerFactory.getModuleLogger(MoreMobHeads.class);
 
-    private final Multimap<EntityType, MobHead> heads;
+    private final Dataset<MobHeadTree> heads;
 
     @Inject
-    MoreMobHeads(@Named("plugin") final ClassLoader loader) {
-        this.heads = MobHead.createMobHeadMap(loader);
+    MoreMobHeads(final DatasetLoader datasets) {
+        this.heads = datasets.dataset("data/more_mob_heads.json", root -> MobHeadTree.compile(MobHead.createMobHeadMap(root)), MobHeadTree.empty());
     }
 
-    Collection<MobHead> getMobHeads(final EntityType entityType) {
-        return this.heads.get(entityType);
+    List<MobHead> getMobHeads(final EntityType entityType) {
+        return this.heads.get().heads(entityType);
+    }
+
+    @Nullable MobHead getMobHead(final LivingEntity entity) {
+        return this.heads.get().resolve(entity);
     }
 
     @Override
@@ -69,4 +76,9 @@ public class MoreMobHeads extends ModuleBase {
     protected Collection<Class<? extends ModuleCommand>> commands() {
         return Set.of(Commands.class);
     }
+
+    @Override
+    protected Collection<Dataset<?>> datasets() {
+        return Set.of(this.heads);
+    }
 }
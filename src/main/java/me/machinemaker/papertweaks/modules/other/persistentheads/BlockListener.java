@@ -55,14 +55,16 @@ import java.util.concurrent.ThreadLocalRandom;
 
 class BlockListener implements ModuleListener {
 
-    private static final PDCKey<Component> HEAD_NAME = new PDCKey<>(Keys.legacyKey("head_name"), PaperDataTypes.COMPONENT);
-    private static final PDCKey<List<Component>> HEAD_LORE = new PDCKey<>(Keys.legacyKey("head_lore"), PaperDataTypes.COMPONENT_LIST);
+    static final PDCKey<Component> HEAD_NAME = new PDCKey<>(Keys.legacyKey("head_name"), PaperDataTypes.COMPONENT);
+    static final PDCKey<List<Component>> HEAD_LORE = new PDCKey<>(Keys.legacyKey("head_lore"), PaperDataTypes.COMPONENT_LIST);
 
     private final Plugin plugin;
+    private final SkullIndex index;
 
     @Inject
-    BlockListener(Plugin plugin) {
+    BlockListener(Plugin plugin, SkullIndex index) {
         this.plugin = plugin;
+        this.index = index;
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -82,13 +84,17 @@ class BlockListener implements ModuleListener {
             HEAD_LORE.setTo(skullState, lore);
         }
         if (skullState.isSnapshot()) skullState.update();
+        if (name != null || lore != null) {
+            this.index.add(block);
+        }
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onBlockDropItemEvent(BlockDropItemEvent event) {
         @NotNull BlockState blockState = event.getBlockState();
         Material blockType = blockState.getType();
-        if (blockType != Material.PLAYER_HEAD && blockType != Material.PLAYER_WALL_HEAD) return;
+        if (!SkullIndex.isHead(blockType)) return;
+        this.index.remove(event.getBlock());
         TileState skullState = (TileState) blockState;
         @Nullable Component name = HEAD_NAME.getFrom(skullState);
         @Nullable List<Component> lore = HEAD_LORE.getFrom(skullState);
@@ -134,7 +140,7 @@ class BlockListener implements ModuleListener {
         var iter = blocksExploded.iterator();
         while (iter.hasNext()) {
             Block block = iter.next();
-            if (block.getState() instanceof Skull && random.nextFloat() <= explosionYield) {
+            if (SkullIndex.isHead(block.getType()) && this.index.contains(block) && random.nextFloat() <= explosionYield) {
                 handleBlock(block, null, false);
                 iter.remove();
             }
@@ -143,20 +149,24 @@ class BlockListener implements ModuleListener {
 
     @Contract("_, null, true -> fail")
     private void handleBlock(Block block, Cancellable event, boolean shouldCancelEvent) {
-        if (block.getState() instanceof Skull skull) {
-            final Optional<ItemStack> skullStack = block.getDrops().stream().filter(is -> is.getType() == Material.PLAYER_HEAD).findAny();
-            skullStack.ifPresent(stack -> {
-                boolean edited = stack.editMeta(meta -> {
-                    meta.displayName(HEAD_NAME.getFrom(skull));
-                    meta.lore(HEAD_LORE.getFrom(skull));
-                });
-                if (!edited) return;
-
-                Bukkit.getScheduler().runTaskLater(this.plugin, () -> block.getWorld().dropItemNaturally(block.getLocation(), stack), 1L);
-                block.setType(Material.AIR);
-                if (shouldCancelEvent) event.setCancelled(true);
-                block.getWorld().getBlockAt(block.getLocation()).getState().update(true, true);
-            });
+        if (!SkullIndex.isHead(block.getType()) || !this.index.contains(block)) return;
+        if (!(block.getState(false) instanceof Skull skull) || !SkullIndex.isTagged(skull)) {
+            this.index.remove(block); // stale, the head was replaced without an event
+            return;
         }
+        final Optional<ItemStack> skullStack = block.getDrops().stream().filter(is -> is.getType() == Material.PLAYER_HEAD).findAny();
+        skullStack.ifPresent(stack -> {
+            boolean edited = stack.editMeta(meta -> {
+                meta.displayName(HEAD_NAME.getFrom(skull));
+                meta.lore(HEAD_LORE.getFrom(skull));
+            });
+            if (!edited) return;
+
+            this.index.remove(block);
+            Bukkit.getScheduler().runTaskLater(this.plugin, () -> block.getWorld().dropItemNaturally(block.getLocation(), stack), 1L);
+            block.setType(Material.AIR);
+            if (shouldCancelEvent) event.setCancelled(true);
+            block.getWorld().getBlockAt(block.getLocation()).getState().update(true, true);
+        });
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.other.persistentheads;
+
+import com.google.inject.Inject;
+import me.machinemaker.papertweaks.modules.ModuleCommand;
+
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.Component.translatable;
+import static net.kyori.adventure.text.format.NamedTextColor.GOLD;
+import static net.kyori.adventure.text.format.NamedTextColor.YELLOW;
+
+@ModuleCommand.Info(value = "rebuildheadindex", descriptionKey = "modules.persistent-heads.commands.root", help = false, infoOnRoot = false)
+class Commands extends ModuleCommand {
+
+    private final SkullIndex index;
+
+    @Inject
+    Commands(SkullIndex index) {
+        this.index = index;
+    }
+
+    @Override
+    protected void registerCommands() {
+        this.manager.command(this.builder()
+            .permission(this.modulePermission("vanillatweaks.persistentheads.rebuild"))
+            .handler(this.sync(context -> {
+                int count = this.index.rebuild();
+                context.getSender().sendMessage(translatable("modules.persistent-heads.rebuild", YELLOW, text(count, GOLD), text(this.index.queued(), GOLD)));
+            }))
+        );
+    }
+}
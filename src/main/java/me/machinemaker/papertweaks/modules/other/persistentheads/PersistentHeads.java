@@ -21,6 +21,7 @@ package me.machinemaker.papertweaks.modules.other.persistentheads;
 
 import me.machinemaker.papertweaks.annotations.ModuleInfo;
 import me.machinemaker.papertweaks.modules.ModuleBase;
+import me.machinemaker.papertweaks.modules.ModuleCommand;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
 import me.machinemaker.papertweaks.modules.ModuleListener;
 import org.jetbrains.annotations.NotNull;
@@ -33,11 +34,16 @@ public class PersistentHeads extends ModuleBase {
 
     @Override
     protected @NotNull Class<? extends ModuleLifecycle> lifecycle() {
-        return ModuleLifecycle.Empty.class;
+        return Lifecycle.class;
     }
 
     @Override
     protected @NotNull Collection<Class<? extends ModuleListener>> listeners() {
-        return Set.of(BlockListener.class);
+        return Set.of(BlockListener.class, ChunkListener.class);
+    }
+
+    @Override
+    protected @NotNull Collection<Class<? extends ModuleCommand>> commands() {
+        return Set.of(Commands.class);
     }
 }
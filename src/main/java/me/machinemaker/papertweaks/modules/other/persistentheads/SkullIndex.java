@@ -0,0 +1,225 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.other.persistentheads;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import me.machinemaker.papertweaks.pdc.PDCKey;
+import me.machinemaker.papertweaks.utils.Keys;
+import me.machinemaker.papertweaks.utils.LongHashSet;
+import me.machinemaker.papertweaks.utils.runnables.TimerRunnable;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.TileState;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Positions of the heads tagged by this module, per chunk. Lets the liquid
+ * and explosion listeners skip the tile snapshot for every block that isn't
+ * a known tagged head.
+ * <p>
+ * Each chunk's positions are also stored in the chunk's PDC, so they only
+ * have to be found once. Chunks without stored positions (from before the
+ * index existed) are scanned a few per tick in the background, or right
+ * away if a head in one of them is looked up before the scan gets to it.
+ */
+@Singleton
+class SkullIndex extends TimerRunnable {
+
+    private static final PDCKey<long[]> CHUNK_INDEX = new PDCKey<>(Keys.key("skull_index"), PersistentDataType.LONG_ARRAY);
+    private static final int CHUNKS_PER_TICK = 4;
+
+    private final Map<World, Map<Long, LongHashSet>> index = new HashMap<>();
+    private final Queue<QueuedChunk> queue = new ArrayDeque<>();
+    private final Map<World, LongHashSet> pending = new HashMap<>(); // queued chunks that haven't been scanned yet
+
+    @Inject
+    SkullIndex(Plugin plugin) {
+        super(plugin);
+    }
+
+    static boolean isHead(Material type) {
+        return type == Material.PLAYER_HEAD || type == Material.PLAYER_WALL_HEAD;
+    }
+
+    static boolean isTagged(TileState state) {
+        return BlockListener.HEAD_NAME.has(state) || BlockListener.HEAD_LORE.has(state);
+    }
+
+    boolean contains(Block block) {
+        this.ensureScanned(block);
+        @Nullable LongHashSet heads = this.heads(block.getWorld(), Chunk.getChunkKey(block.getX() >> 4, block.getZ() >> 4));
+        return heads != null && heads.contains(block.getBlockKey());
+    }
+
+    void add(Block block) {
+        this.ensureScanned(block);
+        Chunk chunk = block.getChunk();
+        Map<Long, LongHashSet> chunks = this.index.computeIfAbsent(block.getWorld(), w -> new HashMap<>());
+        LongHashSet heads = chunks.computeIfAbsent(chunk.getChunkKey(), k -> new LongHashSet());
+        if (heads.add(block.getBlockKey())) {
+            save(chunk, heads);
+        }
+    }
+
+    void remove(Block block) {
+        long chunkKey = Chunk.getChunkKey(block.getX() >> 4, block.getZ() >> 4);
+        @Nullable LongHashSet heads = this.heads(block.getWorld(), chunkKey);
+        if (heads != null && heads.remove(block.getBlockKey())) {
+            save(block.getChunk(), heads);
+        }
+    }
+
+    void load(Chunk chunk) {
+        long @Nullable [] stored = CHUNK_INDEX.getFrom(chunk);
+        if (stored == null) {
+            this.enqueue(chunk);
+        } else if (stored.length > 0) {
+            LongHashSet heads = new LongHashSet(stored.length);
+            for (long key : stored) {
+                heads.add(key);
+            }
+            this.index.computeIfAbsent(chunk.getWorld(), w -> new HashMap<>()).put(chunk.getChunkKey(), heads);
+        }
+    }
+
+    void unload(Chunk chunk) {
+        @Nullable Map<Long, LongHashSet> chunks = this.index.get(chunk.getWorld());
+        if (chunks != null) {
+            chunks.remove(chunk.getChunkKey());
+        }
+        @Nullable LongHashSet pendingChunks = this.pending.get(chunk.getWorld());
+        if (pendingChunks != null) {
+            pendingChunks.remove(chunk.getChunkKey());
+        }
+    }
+
+    void unload(World world) {
+        this.index.remove(world);
+        this.pending.remove(world);
+        this.queue.removeIf(queued -> queued.world.equals(world));
+    }
+
+    /**
+     * Loads the index of every loaded chunk.
+     */
+    void loadAll() {
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                this.load(chunk);
+            }
+        }
+    }
+
+    /**
+     * Queues every loaded chunk to be scanned again, whether it already has
+     * stored positions or not.
+     *
+     * @return the number of queued chunks
+     */
+    int rebuild() {
+        int count = 0;
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                this.enqueue(chunk);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    int queued() {
+        return this.queue.size();
+    }
+
+    void clear() {
+        this.index.clear();
+        this.queue.clear();
+        this.pending.clear();
+    }
+
+    private void enqueue(Chunk chunk) {
+        if (this.pending.computeIfAbsent(chunk.getWorld(), w -> new LongHashSet()).add(chunk.getChunkKey())) {
+            this.queue.add(new QueuedChunk(chunk.getWorld(), chunk.getX(), chunk.getZ()));
+        }
+    }
+
+    // a chunk that is still waiting for its scan can't tell an untagged head from one it hasn't found yet
+    private void ensureScanned(Block block) {
+        @Nullable LongHashSet pendingChunks = this.pending.get(block.getWorld());
+        if (pendingChunks != null && pendingChunks.remove(Chunk.getChunkKey(block.getX() >> 4, block.getZ() >> 4))) {
+            this.scan(block.getChunk());
+        }
+    }
+
+    @Override
+    public void run() {
+        for (int i = 0; i < CHUNKS_PER_TICK && !this.queue.isEmpty(); i++) {
+            QueuedChunk queued = this.queue.poll();
+            @Nullable LongHashSet pendingChunks = this.pending.get(queued.world);
+            // skip chunks which were already scanned on demand, unloaded chunks are queued again when they load
+            if (pendingChunks != null && pendingChunks.remove(Chunk.getChunkKey(queued.x, queued.z)) && queued.world.isChunkLoaded(queued.x, queued.z)) {
+                this.scan(queued.world.getChunkAt(queued.x, queued.z));
+            }
+        }
+    }
+
+    private void scan(Chunk chunk) {
+        LongHashSet heads = new LongHashSet();
+        for (BlockState state : chunk.getTileEntities(block -> isHead(block.getType()), false)) {
+            if (state instanceof TileState tileState && isTagged(tileState)) {
+                heads.add(state.getBlock().getBlockKey());
+            }
+        }
+        Map<Long, LongHashSet> chunks = this.index.computeIfAbsent(chunk.getWorld(), w -> new HashMap<>());
+        if (heads.isEmpty()) {
+            chunks.remove(chunk.getChunkKey());
+        } else {
+            chunks.put(chunk.getChunkKey(), heads);
+        }
+        save(chunk, heads);
+    }
+
+    private @Nullable LongHashSet heads(World world, long chunkKey) {
+        @Nullable Map<Long, LongHashSet> chunks = this.index.get(world);
+        return chunks == null ? null : chunks.get(chunkKey);
+    }
+
+    private static void save(Chunk chunk, LongHashSet heads) {
+        long[] keys = new long[heads.size()];
+        int[] i = {0};
+        heads.forEach(key -> keys[i[0]++] = key);
+        CHUNK_INDEX.setTo(chunk, keys);
+    }
+
+    private record QueuedChunk(World world, int x, int z) {
+    }
+}
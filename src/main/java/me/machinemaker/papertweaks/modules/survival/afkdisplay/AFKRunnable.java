@@ -70,6 +70,7 @@ class AFKRunnable extends TimerRunnable {
                 player.getPlayer().setDisplayName(ChatColor.GRAY + player.getPlayer().getDisplayName() + ChatColor.RESET);
                 player.getPlayer().setPlayerListName(ChatColor.GRAY + player.getPlayer().getDisplayName() + ChatColor.RESET);
                 AFKDisplay.AFK_DISPLAY.setTo(player.getPlayer(), true);
+                new PlayerAFKChangeEvent(player.getPlayer(), true).callEvent();
                 this.locationMap.remove(entry.getKey());
             }
         }
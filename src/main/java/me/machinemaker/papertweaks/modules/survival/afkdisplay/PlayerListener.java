@@ -41,6 +41,7 @@ class PlayerListener implements ModuleListener {
             event.getPlayer().setDisplayName(event.getPlayer().getName());
             event.getPlayer().setPlayerListName(event.getPlayer().getName());
             AFKDisplay.AFK_DISPLAY.remove(event.getPlayer());
+            new PlayerAFKChangeEvent(event.getPlayer(), false).callEvent();
             this.afkRunnable.addPlayer(event.getPlayer());
         }
     }
@@ -22,17 +22,30 @@ package me.machinemaker.papertweaks.modules.survival.cauldronconcrete;
 import com.destroystokyo.paper.MaterialTags;
 import me.machinemaker.papertweaks.annotations.ModuleInfo;
 import me.machinemaker.papertweaks.modules.ModuleBase;
+import me.machinemaker.papertweaks.modules.ModuleConfig;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
 import me.machinemaker.papertweaks.modules.ModuleListener;
 import org.bukkit.Material;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 @ModuleInfo(name = "CauldronConcrete", configPath = "survival.cauldron-concrete", description = "Make concrete using cauldrons")
 public class CauldronConcrete extends ModuleBase {
 
+    private static final Map<Material, Material> POWDER_TO_CONCRETE = new EnumMap<>(Material.class);
+
+    static {
+        for (Material powder : MaterialTags.CONCRETE_POWDER.getValues()) {
+            POWDER_TO_CONCRETE.put(powder, Objects.requireNonNull(Material.matchMaterial(powder.name().split("_POWDER")[0])));
+        }
+    }
+
     @Override
     protected @NotNull Collection<Class<? extends ModuleListener>> listeners() {
         return Set.of(CauldronListener.class);
@@ -40,14 +53,21 @@ public class CauldronConcrete extends ModuleBase {
 
     @Override
     protected @NotNull Class<? extends ModuleLifecycle> lifecycle() {
-        return ModuleLifecycle.Empty.class;
+        return Lifecycle.class;
     }
 
-    static Material toConcreteFromPowder(Material concretePowder) {
-        if (!MaterialTags.CONCRETE_POWDER.isTagged(concretePowder)) {
-            throw new IllegalArgumentException(concretePowder + " is not a concrete powder");
-        }
+    @Override
+    protected @NotNull Collection<Class<? extends ModuleConfig>> configs() {
+        return Set.of(Config.class);
+    }
 
-        return Material.matchMaterial(concretePowder.name().split("_POWDER")[0]);
+    /**
+     * Gets the concrete a powder turns into.
+     *
+     * @param concretePowder the powder
+     * @return the concrete, or null if the material isn't a concrete powder
+     */
+    static @Nullable Material toConcreteFromPowder(Material concretePowder) {
+        return POWDER_TO_CONCRETE.get(concretePowder);
     }
 }
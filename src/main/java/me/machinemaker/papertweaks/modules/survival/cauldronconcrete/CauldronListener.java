@@ -19,22 +19,36 @@
  */
 package me.machinemaker.papertweaks.modules.survival.cauldronconcrete;
 
-import com.destroystokyo.paper.MaterialTags;
+import com.google.inject.Inject;
 import io.papermc.paper.event.entity.EntityInsideBlockEvent;
 import me.machinemaker.papertweaks.modules.ModuleListener;
 import org.bukkit.Material;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Item;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
-import org.bukkit.inventory.ItemStack;
 
 class CauldronListener implements ModuleListener {
 
+    private final ConcreteConverter converter;
+
+    @Inject
+    CauldronListener(ConcreteConverter converter) {
+        this.converter = converter;
+    }
+
+    /**
+     * Fires every tick for every entity touching any block, so the cheap
+     * entity class and block type checks come first.
+     */
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onEntityInsideBlock(EntityInsideBlockEvent event) {
-        if (event.getEntity() instanceof Item item && event.getBlock().getType() == Material.WATER_CAULDRON && MaterialTags.CONCRETE_POWDER.isTagged(item.getItemStack())) {
-            item.getWorld().dropItem(item.getLocation(), new ItemStack(CauldronConcrete.toConcreteFromPowder(item.getItemStack().getType()), item.getItemStack().getAmount()));
-            item.remove();
+        if (!(event.getEntity() instanceof Item item)) {
+            return;
+        }
+        Block block = event.getBlock();
+        if (block.getType() == Material.WATER_CAULDRON) {
+            this.converter.queue(item, block);
         }
     }
 }
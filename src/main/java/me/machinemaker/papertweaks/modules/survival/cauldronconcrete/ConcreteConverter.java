@@ -0,0 +1,117 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.survival.cauldronconcrete;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import me.machinemaker.papertweaks.utils.runnables.TimerRunnable;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Item;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Converts the powder items queued by the listener once per tick. Items in
+ * the same cauldron are converted together and their concrete is dropped
+ * as full stacks, and at most max-items-per-tick items are converted each
+ * tick. Items left over wait for the next tick.
+ */
+@Singleton
+class ConcreteConverter extends TimerRunnable {
+
+    private final Config config;
+    private final Map<Block, List<Item>> pending = new LinkedHashMap<>();
+    private final Set<UUID> queued = new HashSet<>();
+
+    @Inject
+    ConcreteConverter(Plugin plugin, Config config) {
+        super(plugin);
+        this.config = config;
+    }
+
+    void queue(Item item, Block cauldron) {
+        if (CauldronConcrete.toConcreteFromPowder(item.getItemStack().getType()) != null && this.queued.add(item.getUniqueId())) {
+            this.pending.computeIfAbsent(cauldron, b -> new ArrayList<>()).add(item);
+        }
+    }
+
+    void clear() {
+        this.pending.clear();
+        this.queued.clear();
+    }
+
+    @Override
+    public void run() {
+        int budget = this.config.maxItemsPerTick;
+        Iterator<List<Item>> cauldrons = this.pending.values().iterator();
+        while (budget > 0 && cauldrons.hasNext()) {
+            List<Item> items = cauldrons.next();
+            Map<Material, Integer> converted = new EnumMap<>(Material.class);
+            @Nullable Location dropAt = null;
+            Iterator<Item> iter = items.iterator();
+            while (budget > 0 && iter.hasNext()) {
+                Item item = iter.next();
+                iter.remove();
+                this.queued.remove(item.getUniqueId());
+                ItemStack stack = item.getItemStack();
+                @Nullable Material concrete = CauldronConcrete.toConcreteFromPowder(stack.getType());
+                if (!item.isValid() || concrete == null) {
+                    continue; // picked up, merged or despawned while queued
+                }
+                converted.merge(concrete, stack.getAmount(), Integer::sum);
+                if (dropAt == null) {
+                    dropAt = item.getLocation();
+                }
+                item.remove();
+                budget--;
+            }
+            if (items.isEmpty()) {
+                cauldrons.remove();
+            }
+            if (dropAt != null) {
+                drop(dropAt, converted);
+            }
+        }
+    }
+
+    private static void drop(Location location, Map<Material, Integer> converted) {
+        converted.forEach((concrete, amount) -> {
+            int maxStackSize = concrete.getMaxStackSize();
+            while (amount > 0) {
+                int stackSize = Math.min(amount, maxStackSize);
+                location.getWorld().dropItem(location, new ItemStack(concrete, stackSize));
+                amount -= stackSize;
+            }
+        });
+    }
+}
@@ -21,8 +21,6 @@ package me.machinemaker.papertweaks.modules.survival.customnetherportals;
 
 import com.google.inject.Inject;
 import me.machinemaker.papertweaks.modules.ModuleListener;
-import org.bukkit.FluidCollisionMode;
-import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
@@ -31,8 +29,6 @@ import org.bukkit.block.data.Orientable;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.BlockIgniteEvent;
-import org.bukkit.util.RayTraceResult;
-import org.bukkit.util.Vector;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 class IgniteListener implements ModuleListener {
@@ -40,11 +36,6 @@ class IgniteListener implements ModuleListener {
     @Inject
     private static Config config;
 
-    static boolean isPortalFrameResult(final @Nullable RayTraceResult result) {
-        if (result == null) return false;
-        return isPortalFrame(result.getHitBlock());
-    }
-
     static boolean isPortalFrame(final @Nullable Block block) {
         if (block == null) return false;
         return config.portalFrameMaterials.contains(block.getType());
@@ -56,50 +47,31 @@ class IgniteListener implements ModuleListener {
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onBlockIgnite(final BlockIgniteEvent event) {
+        if (event.getCause() == BlockIgniteEvent.IgniteCause.SPREAD) {
+            return; // don't search around every block a spreading fire reaches
+        }
         final Block block = event.getBlock();
         final World world = block.getWorld();
         if (isInValidDimension(world) && isPortalFrame(block.getRelative(BlockFace.DOWN))) {
-            final @Nullable Axis portalAxis = this.findPortalAxis(world, block);
-            if (portalAxis == null) return;
-
-            event.setCancelled(new PortalShapeFinder(block, portalAxis).start());
+            // the fire is placed as usual and replaced by the portal once the search finds one
+            new PortalShapeFinder(block).start();
         }
     }
 
-    @Nullable Axis findPortalAxis(final World world, final Block source) {
-        for (final Axis axis : Axis.values()) {
-            if (axis.rayTraceBlock(world, source.getLocation())) {
-                return axis;
-            }
-        }
-        return null;
-    }
-
     enum Axis {
-        X(org.bukkit.Axis.X, new Vector(1, 0, 0), new Vector(-1, 0, 0), BlockFace.EAST, BlockFace.WEST),
-        Z(org.bukkit.Axis.Z, new Vector(0, 0, 1), new Vector(0, 0, -1), BlockFace.NORTH, BlockFace.SOUTH);
+        X(org.bukkit.Axis.X, BlockFace.EAST, BlockFace.WEST),
+        Z(org.bukkit.Axis.Z, BlockFace.NORTH, BlockFace.SOUTH);
 
         final org.bukkit.Axis axis;
-        final Vector pos;
-        final Vector neg;
         final BlockFace left;
         final BlockFace right;
 
-        Axis(final org.bukkit.Axis axis, final Vector pos, final Vector neg, final BlockFace left, final BlockFace right) {
+        Axis(final org.bukkit.Axis axis, final BlockFace left, final BlockFace right) {
             this.axis = axis;
-            this.pos = pos;
-            this.neg = neg;
             this.left = left;
             this.right = right;
         }
 
-        boolean rayTraceBlock(final World world, final Location source) {
-            final @Nullable RayTraceResult positive = world.rayTraceBlocks(source, this.pos, config.maxPortalWidth, FluidCollisionMode.ALWAYS, false);
-            final @Nullable RayTraceResult negative = world.rayTraceBlocks(source, this.neg, config.maxPortalWidth, FluidCollisionMode.ALWAYS, false);
-
-            return isPortalFrameResult(positive) && isPortalFrameResult(negative);
-        }
-
         void setOrientation(final Block block) {
             final BlockData blockData = block.getBlockData();
             if (blockData instanceof Orientable orientation && orientation.getAxis() != this.axis) {
@@ -19,117 +19,237 @@
  */
 package me.machinemaker.papertweaks.modules.survival.customnetherportals;
 
-import com.google.common.collect.Sets;
 import com.google.inject.Inject;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
-import java.util.function.ToIntFunction;
+import me.machinemaker.papertweaks.utils.LongHashSet;
 import org.bukkit.Bukkit;
-import org.bukkit.Location;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.plugin.java.JavaPlugin;
-
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Searches for a portal shape around an ignited block.
+ * <p>
+ * The live world is first checked for a frame on both sides of the source
+ * along each axis. Only the axes that pass have snapshots taken of the
+ * chunks the portal could span, on the main thread. The search then runs
+ * on a worker thread and flood-fills over those snapshots with packed
+ * block keys. Only a found shape comes back to the main thread, where it
+ * is checked against the live world again before the portal blocks are
+ * placed.
+ */
 class PortalShapeFinder {
 
     @Inject private static Config config;
     @Inject private static JavaPlugin plugin;
 
-    private final Set<Block> portalInterior;
-    private final Set<Long> checkedLocations;
-    private final IgniteListener.Axis axis;
-
-    PortalShapeFinder(final Block first, final IgniteListener.Axis axis) {
-        this.portalInterior = Sets.newConcurrentHashSet(Set.of(first));
-        this.checkedLocations = Sets.newConcurrentHashSet();
-        this.axis = axis;
+    private final World world;
+    private final int sourceX;
+    private final int sourceY;
+    private final int sourceZ;
+    private final int minHeight;
+    private final int maxHeight;
+    private final int maxPortalWidth;
+    private final int maxPortalHeight;
+    private final int minPortalSize;
+    private final Set<Material> frameMaterials;
+    private final Set<IgniteListener.Axis> axes = EnumSet.noneOf(IgniteListener.Axis.class);
+    private final Map<Long, ChunkSnapshot> snapshots = new HashMap<>();
+
+    PortalShapeFinder(final Block source) {
+        this.world = source.getWorld();
+        this.sourceX = source.getX();
+        this.sourceY = source.getY();
+        this.sourceZ = source.getZ();
+        this.minHeight = this.world.getMinHeight();
+        this.maxHeight = this.world.getMaxHeight();
+        this.maxPortalWidth = config.maxPortalWidth;
+        this.maxPortalHeight = config.maxPortalHeight;
+        this.minPortalSize = config.minPortalSize;
+        this.frameMaterials = config.portalFrameMaterials.isEmpty() ? EnumSet.noneOf(Material.class) : EnumSet.copyOf(config.portalFrameMaterials);
+        // checking for a frame on both sides only reads a few live blocks, so do it before taking any snapshots
+        for (final IgniteListener.Axis axis : IgniteListener.Axis.values()) {
+            if (this.isFramedAlong(axis)) {
+                this.axes.add(axis);
+            }
+        }
+        // a portal on the X axis only spans the chunk row of the source, one on the Z axis only its chunk column
+        if (this.axes.contains(IgniteListener.Axis.X)) {
+            for (int chunkX = (this.sourceX - this.maxPortalWidth) >> 4; chunkX <= (this.sourceX + this.maxPortalWidth) >> 4; chunkX++) {
+                this.snapshot(chunkX, this.sourceZ >> 4);
+            }
+        }
+        if (this.axes.contains(IgniteListener.Axis.Z)) {
+            for (int chunkZ = (this.sourceZ - this.maxPortalWidth) >> 4; chunkZ <= (this.sourceZ + this.maxPortalWidth) >> 4; chunkZ++) {
+                this.snapshot(this.sourceX >> 4, chunkZ);
+            }
+        }
     }
 
-    static boolean isReplaceable(final Block block) {
-        final Material type = block.getType();
+    static boolean isReplaceable(final Material type) {
         return type == Material.AIR || type == Material.CAVE_AIR || type == Material.VOID_AIR || type == Material.FIRE;
     }
 
-    static long toLong(final Block block) {
-        return toLong(block.getLocation());
+    private void snapshot(final int chunkX, final int chunkZ) {
+        final long chunkKey = Chunk.getChunkKey(chunkX, chunkZ);
+        if (!this.snapshots.containsKey(chunkKey) && this.world.isChunkLoaded(chunkX, chunkZ)) {
+            this.snapshots.put(chunkKey, this.world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+        }
     }
 
-    static long toLong(final Location location) {
-        return (((long) location.getBlockX() & 67108863L) << 38) | (((long) location.getBlockY() & 4095L)) | (((long) location.getZ() & 67108863L) << 12);
+    void start() {
+        if (this.axes.isEmpty()) {
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            final @Nullable Portal portal = this.find();
+            if (portal != null) {
+                Bukkit.getScheduler().runTask(plugin, () -> this.build(portal));
+            }
+        });
     }
 
-    boolean start() {
-        boolean build = true;
-
-        while (this.portalInterior.size() <= config.maxPortalHeight * config.maxPortalWidth && this.checkedLocations.size() < this.portalInterior.size()) {
-            final Iterator<Block> interiorIter = this.portalInterior.iterator();
-
-            finished:
-            {
-                Block currentBlock;
-                do {
-                    do {
-                        if (!interiorIter.hasNext()) {
-                            break finished;
-                        }
-
-                        currentBlock = interiorIter.next();
-                    } while (this.checkedLocations.contains(toLong(currentBlock)));
-
-                    this.checkedLocations.add(toLong(currentBlock));
-                } while (this.checkSurrounding(currentBlock));
-
-                build = false;
+    @Nullable Portal find() {
+        for (final IgniteListener.Axis axis : this.axes) {
+            final @Nullable Portal portal = this.fill(axis);
+            if (portal != null) {
+                return portal;
             }
+        }
+        return null;
+    }
 
-            if (!build) {
-                break;
-            }
+    private @Nullable Material typeAt(final int x, final int y, final int z) {
+        if (y < this.minHeight || y >= this.maxHeight) {
+            return null;
         }
+        final @Nullable ChunkSnapshot snapshot = this.snapshots.get(Chunk.getChunkKey(x >> 4, z >> 4));
+        return snapshot == null ? null : snapshot.getBlockType(x & 15, y, z & 15);
+    }
 
-        if (build && this.portalInterior.size() >= config.minPortalSize) {
+    // only used on the main thread, before the snapshots are taken
+    private @Nullable Material liveTypeAt(final int x, final int y, final int z) {
+        if (y < this.minHeight || y >= this.maxHeight || !this.world.isChunkLoaded(x >> 4, z >> 4)) {
+            return null;
+        }
+        return this.world.getType(x, y, z);
+    }
 
-            final int maxY = Collections.max(this.portalInterior, Comparator.comparingInt(Block::getY)).getY();
-            final int minY = Collections.min(this.portalInterior, Comparator.comparingInt(Block::getY)).getY();
+    private boolean isFrame(final @Nullable Material type) {
+        return type != null && this.frameMaterials.contains(type);
+    }
 
-            if (maxY - minY > config.maxPortalHeight) {
-                return false;
+    // walks both ways along the axis, the first solid block on each side must be part of a frame
+    private boolean isFramedAlong(final IgniteListener.Axis axis) {
+        final BlockFace face = axis.left;
+        for (int direction = -1; direction <= 1; direction += 2) {
+            boolean framed = false;
+            for (int i = 1; i <= this.maxPortalWidth; i++) {
+                final @Nullable Material type = this.liveTypeAt(this.sourceX + face.getModX() * i * direction, this.sourceY, this.sourceZ + face.getModZ() * i * direction);
+                if (type == null || !isReplaceable(type)) {
+                    framed = this.isFrame(type);
+                    break;
+                }
             }
-
-            final ToIntFunction<Block> flatFunction = this.axis == IgniteListener.Axis.X ? Block::getX : Block::getZ;
-
-            final Block maxFlatBlock = Collections.max(this.portalInterior, Comparator.comparingInt(flatFunction));
-            final Block minFlatBlock = Collections.max(this.portalInterior, Comparator.comparingInt(flatFunction));
-
-            if (flatFunction.applyAsInt(maxFlatBlock) - flatFunction.applyAsInt(minFlatBlock) > config.maxPortalWidth) {
+            if (!framed) {
                 return false;
             }
-
-            Bukkit.getScheduler().runTaskLater(plugin, () -> this.portalInterior.forEach(block -> {
-                block.setType(Material.NETHER_PORTAL);
-                this.axis.setOrientation(block);
-            }), 1L);
-            return true;
         }
-        return false;
+        return true;
     }
 
-    boolean checkSurrounding(final Block source) {
-        return this.checkValidPortalInterior(source, BlockFace.UP)
-            && this.checkValidPortalInterior(source, BlockFace.DOWN)
-            && this.checkValidPortalInterior(source, this.axis.left)
-            && this.checkValidPortalInterior(source, this.axis.right);
+    private @Nullable Portal fill(final IgniteListener.Axis axis) {
+        final int stepX = axis.left.getModX();
+        final int stepZ = axis.left.getModZ();
+        final int limit = this.maxPortalWidth * this.maxPortalHeight;
+        final long[] frontier = new long[limit];
+        final LongHashSet visited = new LongHashSet(Math.min(limit, 64));
+        int head = 0;
+        int tail = 0;
+        final long sourceKey = Block.getBlockKey(this.sourceX, this.sourceY, this.sourceZ);
+        visited.add(sourceKey);
+        frontier[tail++] = sourceKey;
+
+        int minY = this.sourceY;
+        int maxY = this.sourceY;
+        int minFlat = 0;
+        int maxFlat = 0;
+        while (head < tail) {
+            final long key = frontier[head++];
+            final int x = Block.getBlockKeyX(key);
+            final int y = Block.getBlockKeyY(key);
+            final int z = Block.getBlockKeyZ(key);
+            final int flat = (x - this.sourceX) * stepX + (z - this.sourceZ) * stepZ;
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+            minFlat = Math.min(minFlat, flat);
+            maxFlat = Math.max(maxFlat, flat);
+            for (int i = 0; i < 4; i++) {
+                final int dy = i == 0 ? 1 : i == 1 ? -1 : 0;
+                final int d = i == 2 ? 1 : i == 3 ? -1 : 0;
+                final int nx = x + stepX * d;
+                final int ny = y + dy;
+                final int nz = z + stepZ * d;
+                final @Nullable Material type = this.typeAt(nx, ny, nz);
+                if (type != null && isReplaceable(type)) {
+                    final long neighbour = Block.getBlockKey(nx, ny, nz);
+                    if (visited.add(neighbour)) {
+                        if (tail == limit) {
+                            return null; // too big
+                        }
+                        frontier[tail++] = neighbour;
+                    }
+                } else if (!this.isFrame(type)) {
+                    return null; // not enclosed
+                }
+            }
+        }
+        if (tail < this.minPortalSize || maxY - minY > this.maxPortalHeight || maxFlat - minFlat > this.maxPortalWidth) {
+            return null;
+        }
+        return new Portal(axis, Arrays.copyOf(frontier, tail));
     }
 
-    boolean checkValidPortalInterior(final Block source, final BlockFace face) {
-        final Block toCheck = source.getRelative(face);
-        if (isReplaceable(toCheck)) {
-            this.portalInterior.add(toCheck);
-            return true;
+    private void build(final Portal portal) {
+        final LongHashSet interior = new LongHashSet(portal.interior().length);
+        for (final long key : portal.interior()) {
+            interior.add(key);
+        }
+        final BlockFace[] faces = {BlockFace.UP, BlockFace.DOWN, portal.axis().left, portal.axis().right};
+        // the world may have changed while searching
+        for (final long key : portal.interior()) {
+            final int x = Block.getBlockKeyX(key);
+            final int z = Block.getBlockKeyZ(key);
+            if (!this.world.isChunkLoaded(x >> 4, z >> 4)) {
+                return;
+            }
+            final Block block = this.world.getBlockAt(x, Block.getBlockKeyY(key), z);
+            if (!isReplaceable(block.getType())) {
+                return;
+            }
+            for (final BlockFace face : faces) {
+                final Block relative = block.getRelative(face);
+                if (!interior.contains(relative.getBlockKey()) && !IgniteListener.isPortalFrame(relative)) {
+                    return;
+                }
+            }
+        }
+        for (final long key : portal.interior()) {
+            final Block block = this.world.getBlockAtKey(key);
+            block.setType(Material.NETHER_PORTAL);
+            portal.axis().setOrientation(block);
         }
-        return IgniteListener.isPortalFrame(toCheck);
+    }
+
+    record Portal(IgniteListener.Axis axis, long[] interior) {
     }
 }
@@ -89,10 +89,10 @@ class Commands extends ConfiguredModuleCommand {
             .handler(this.sync((context, player) -> {
                 final SettingArgument.SettingChange<Player, PlayerSetting<?>> change = context.get(SettingArgument.PLAYER_SETTING_CHANGE_KEY);
                 change.apply(player);
-                this.listener.settingsCache.invalidate(player.getUniqueId());
+                this.listener.settingsCache.remove(player.getUniqueId());
                 this.menu.send(context);
             }))
-        ).command(SettingArgument.resetPlayerSettings(configBuilder, "modules.durability-ping.commands.config.reset", this.settings));
+        ).command(SettingArgument.resetPlayerSettings(configBuilder, "modules.durability-ping.commands.config.reset", this.settings, player -> this.listener.settingsCache.remove(player.getUniqueId())));
 
         this.config.createCommands(this, builder);
     }
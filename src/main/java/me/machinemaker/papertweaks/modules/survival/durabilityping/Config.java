@@ -19,6 +19,8 @@
  */
 package me.machinemaker.papertweaks.modules.survival.durabilityping;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import me.machinemaker.lectern.annotations.Description;
 import me.machinemaker.lectern.annotations.Key;
 import me.machinemaker.lectern.annotations.validations.numbers.Min;
@@ -27,6 +29,7 @@ import me.machinemaker.papertweaks.config.VTConfig;
 import me.machinemaker.papertweaks.menus.Menu;
 import me.machinemaker.papertweaks.modules.SimpleMenuModuleConfig;
 import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
 
 @VTConfig
 @Menu(commandPrefix = "/durabilityping admin config")
@@ -38,6 +41,10 @@ class Config extends SimpleMenuModuleConfig<Config> {
     @Min(1)
     public int usesLeft = 10;
 
+    @Key("item-uses-left")
+    @Description("Uses left thresholds for specific items, overriding uses-left. Set an item to 0 to never ping for it, e.g. ELYTRA: 20")
+    public Map<Material, Integer> itemUsesLeft = new LinkedHashMap<>();
+
     @Key("notification-cooldown-seconds")
     @I18nKey("modules.durability-ping.settings.notification-cooldown-seconds")
     @Description("modules.durability-ping.settings.notification-cooldown-seconds.extended")
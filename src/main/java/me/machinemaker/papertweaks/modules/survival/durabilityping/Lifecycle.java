@@ -55,11 +55,12 @@ class Lifecycle extends ModuleLifecycle {
     @Override
     public void onDisable(final boolean isShutdown) {
         this.listener.cooldownCache.invalidateAll();
-        this.listener.settingsCache.invalidateAll();
+        this.listener.settingsCache.clear();
     }
 
     private void refreshCaches() {
         this.listener.cooldownCache = CacheBuilder.newBuilder().expireAfterWrite(this.config.notificationCooldown, TimeUnit.SECONDS).build();
-        this.listener.settingsCache.invalidateAll();
+        this.listener.settingsCache.clear();
+        this.listener.refreshThresholds();
     }
 }
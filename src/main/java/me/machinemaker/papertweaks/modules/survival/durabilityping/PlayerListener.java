@@ -21,10 +21,10 @@ package me.machinemaker.papertweaks.modules.survival.durabilityping;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.collect.Range;
 import com.google.inject.Inject;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import me.machinemaker.papertweaks.modules.ModuleListener;
 import me.machinemaker.papertweaks.settings.ModuleSettings;
@@ -39,7 +39,7 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.PlayerItemDamageEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.ItemStack;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 
 import static net.kyori.adventure.text.Component.text;
@@ -48,10 +48,17 @@ import static net.kyori.adventure.text.Component.translatable;
 class PlayerListener implements ModuleListener {
 
     private static final Object INSTANCE = new Object();
-    final Cache<UUID, CachedSettings> settingsCache = CacheBuilder.newBuilder().expireAfterAccess(20, TimeUnit.MINUTES).build();
+    private static final Material[] MATERIALS = Material.values();
+
+    final Map<UUID, CachedSettings> settingsCache = new ConcurrentHashMap<>();
     private final Config config;
     private final Settings settings;
     @MonotonicNonNull Cache<UUID, Object> cooldownCache;
+    /**
+     * Uses left threshold for each material, indexed by ordinal. 0 means
+     * the material can't be damaged or pings are turned off for it.
+     */
+    private int[] thresholds = new int[MATERIALS.length];
 
     @Inject
     PlayerListener(final Config config, final Settings settings) {
@@ -60,31 +67,49 @@ class PlayerListener implements ModuleListener {
         this.settings = settings;
     }
 
+    void refreshThresholds() {
+        final int[] thresholds = new int[MATERIALS.length];
+        for (final Material material : MATERIALS) {
+            if (material.getMaxDurability() > 0) {
+                thresholds[material.ordinal()] = Math.max(0, this.config.itemUsesLeft.getOrDefault(material, this.config.usesLeft));
+            }
+        }
+        this.thresholds = thresholds;
+    }
+
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerLeave(final PlayerQuitEvent event) {
         this.cooldownCache.invalidate(event.getPlayer().getUniqueId());
+        this.settingsCache.remove(event.getPlayer().getUniqueId());
     }
 
+    @SuppressWarnings("deprecation") // getDurability reads the damage without copying the item meta
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    public void onDurabilityChange(final PlayerItemDamageEvent event) throws ExecutionException {
-        if (this.cooldownCache.getIfPresent(event.getPlayer().getUniqueId()) == null
-                && event.getItem().hasItemMeta()
-                && event.getItem().getItemMeta() instanceof final Damageable damageable
-                && event.getPlayer().hasPermission("vanillatweaks.durabilityping.notification")
-                && Range.openClosed(1, this.config.usesLeft + 1).contains(event.getItem().getType().getMaxDurability() - damageable.getDamage())
-        ) {
-            final CachedSettings playerSettings = this.getCachedSettings(event.getPlayer());
-            final Material type = event.getItem().getType();
-            if ((!playerSettings.handPing() && Tags.DAMAGEABLE_TOOLS.isTagged(type)) || (!playerSettings.armorPing() && Tags.DAMAGEABLE_ARMOR.isTagged(type))) {
-                return;
-            }
-            final Player player = event.getPlayer();
-            if (playerSettings.sound()) {
-                player.playSound(DurabilityPing.SOUND, Sound.Emitter.self());
-            }
-            playerSettings.displaySetting().sendMessage(player, this.createNotification(type, damageable.getDamage()));
-            this.cooldownCache.put(event.getPlayer().getUniqueId(), INSTANCE);
+    public void onDurabilityChange(final PlayerItemDamageEvent event) {
+        final ItemStack item = event.getItem();
+        final Material type = item.getType();
+        final int threshold = this.thresholds[type.ordinal()];
+        if (threshold == 0) {
+            return;
+        }
+        final int damage = item.getDurability();
+        final int usesLeft = type.getMaxDurability() - damage;
+        if (usesLeft <= 1 || usesLeft > threshold + 1) {
+            return;
+        }
+        final Player player = event.getPlayer();
+        if (this.cooldownCache.getIfPresent(player.getUniqueId()) != null || !player.hasPermission("vanillatweaks.durabilityping.notification")) {
+            return;
+        }
+        final CachedSettings playerSettings = this.getCachedSettings(player);
+        if ((!playerSettings.handPing() && Tags.DAMAGEABLE_TOOLS.isTagged(type)) || (!playerSettings.armorPing() && Tags.DAMAGEABLE_ARMOR.isTagged(type))) {
+            return;
+        }
+        if (playerSettings.sound()) {
+            player.playSound(DurabilityPing.SOUND, Sound.Emitter.self());
         }
+        playerSettings.displaySetting().sendMessage(player, this.createNotification(type, damage));
+        this.cooldownCache.put(player.getUniqueId(), INSTANCE);
     }
 
     Component createNotification(final Material type, final int durability) {
@@ -97,8 +122,8 @@ class PlayerListener implements ModuleListener {
         );
     }
 
-    private CachedSettings getCachedSettings(final Player player) throws ExecutionException {
-        return this.settingsCache.get(player.getUniqueId(), () -> {
+    private CachedSettings getCachedSettings(final Player player) {
+        return this.settingsCache.computeIfAbsent(player.getUniqueId(), uuid -> {
             final ModuleSettings.SettingGetter getter = this.settings.createGetter(player);
             return new CachedSettings(getter.getOrDefault(Settings.HAND_PING), getter.getOrDefault(Settings.ARMOR_PING), getter.getOrDefault(Settings.SOUND), getter.getOrDefault(Settings.DISPLAY));
         });
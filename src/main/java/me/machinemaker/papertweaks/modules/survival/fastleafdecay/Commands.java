@@ -0,0 +1,49 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.survival.fastleafdecay;
+
+import com.google.inject.Inject;
+import me.machinemaker.papertweaks.modules.ModuleCommand;
+
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.Component.translatable;
+import static net.kyori.adventure.text.format.NamedTextColor.GOLD;
+import static net.kyori.adventure.text.format.NamedTextColor.YELLOW;
+
+@ModuleCommand.Info(value = "leafdecay", descriptionKey = "modules.fast-leaf-decay.commands.root", help = false, infoOnRoot = false)
+class Commands extends ModuleCommand {
+
+    private final LeafDecayEngine engine;
+
+    @Inject
+    Commands(final LeafDecayEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    protected void registerCommands() {
+        this.manager.command(this.builder()
+            .permission(this.modulePermission("vanillatweaks.leafdecay"))
+            .handler(this.sync(context -> {
+                context.getSender().sendMessage(translatable("modules.fast-leaf-decay.queue", YELLOW, text(this.engine.queueDepth(), GOLD), text(this.engine.activeTrees(), GOLD)));
+            }))
+        );
+    }
+}
@@ -21,6 +21,8 @@ package me.machinemaker.papertweaks.modules.survival.fastleafdecay;
 
 import me.machinemaker.papertweaks.modules.ModuleBase;
 import me.machinemaker.papertweaks.annotations.ModuleInfo;
+import me.machinemaker.papertweaks.modules.ModuleCommand;
+import me.machinemaker.papertweaks.modules.ModuleConfig;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
 import me.machinemaker.papertweaks.modules.ModuleListener;
 import org.jetbrains.annotations.NotNull;
@@ -33,11 +35,21 @@ public class FastLeafDecay extends ModuleBase {
 
     @Override
     protected @NotNull Class<? extends ModuleLifecycle> lifecycle() {
-        return ModuleLifecycle.Empty.class;
+        return Lifecycle.class;
     }
 
     @Override
     protected @NotNull Collection<Class<? extends ModuleListener>> listeners() {
         return Set.of(LeafListener.class);
     }
+
+    @Override
+    protected @NotNull Collection<Class<? extends ModuleCommand>> commands() {
+        return Set.of(Commands.class);
+    }
+
+    @Override
+    protected @NotNull Collection<Class<? extends ModuleConfig>> configs() {
+        return Set.of(Config.class);
+    }
 }
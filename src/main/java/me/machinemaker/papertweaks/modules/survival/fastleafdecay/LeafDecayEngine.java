@@ -0,0 +1,239 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.survival.fastleafdecay;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import me.machinemaker.papertweaks.utils.LongHashSet;
+import me.machinemaker.papertweaks.utils.runnables.TimerRunnable;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.type.Leaves;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Decays the leaves of felled trees a limited number of blocks per tick.
+ * <p>
+ * Each tree is a BFS over packed block keys starting from the broken
+ * block. Leaves are picked from the frontier in random order so the
+ * canopy thins out naturally instead of layer by layer. Leaves still
+ * connected to a log (distance below 7) are retried for a while, as
+ * their distance only updates a tick after each neighbour changes.
+ */
+@Singleton
+class LeafDecayEngine extends TimerRunnable {
+
+    private static final BlockFace[] FACES = {BlockFace.UP, BlockFace.DOWN, BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST};
+    private static final int START_DELAY_TICKS = 2;
+    private static final int RETRY_INTERVAL_TICKS = 2;
+    private static final int MAX_IDLE_TICKS = 20;
+    private static final int TREE_RADIUS = 8;
+    private static final int DECAY_DISTANCE = 7;
+
+    private final Config config;
+    private final List<Tree> trees = new ArrayList<>();
+    private boolean decaying;
+    private int tick;
+
+    @Inject
+    LeafDecayEngine(final Plugin plugin, final Config config) {
+        super(plugin);
+        this.config = config;
+    }
+
+    /**
+     * Queues the leaves around a removed log or leaf for decay.
+     *
+     * @param block the removed block
+     */
+    void schedule(final Block block) {
+        if (this.decaying) {
+            return; // the neighbours of leaves decayed by the engine are already queued
+        }
+        final Tree tree = this.treeAt(block);
+        for (final BlockFace face : FACES) {
+            tree.offer(Block.getBlockKey(block.getX() + face.getModX(), block.getY() + face.getModY(), block.getZ() + face.getModZ()));
+        }
+    }
+
+    void unload(final World world) {
+        this.trees.removeIf(tree -> tree.world.equals(world));
+    }
+
+    void unload(final Chunk chunk) {
+        final int chunkX = chunk.getX();
+        final int chunkZ = chunk.getZ();
+        for (final Tree tree : this.trees) {
+            if (tree.world.equals(chunk.getWorld())) {
+                tree.frontier.removeIf(key -> Block.getBlockKeyX(key) >> 4 == chunkX && Block.getBlockKeyZ(key) >> 4 == chunkZ);
+                tree.deferred.removeIf(key -> Block.getBlockKeyX(key) >> 4 == chunkX && Block.getBlockKeyZ(key) >> 4 == chunkZ);
+            }
+        }
+    }
+
+    void clear() {
+        this.trees.clear();
+    }
+
+    int activeTrees() {
+        return this.trees.size();
+    }
+
+    /**
+     * Gets the number of leaves waiting to be checked across all trees.
+     *
+     * @return the queue depth
+     */
+    int queueDepth() {
+        int depth = 0;
+        for (final Tree tree : this.trees) {
+            depth += tree.frontier.size() + tree.deferred.size();
+        }
+        return depth;
+    }
+
+    @Override
+    public void run() {
+        if (this.trees.isEmpty()) {
+            return;
+        }
+        this.tick++;
+        int budget = this.config.blocksPerTick;
+        boolean progress = true;
+        while (budget > 0 && progress) {
+            progress = false;
+            // round-robin so one huge tree doesn't starve the others
+            for (int i = 0; i < this.trees.size() && budget > 0; i++) {
+                final Tree tree = this.trees.get(i);
+                if (this.tick >= tree.startTick && !tree.frontier.isEmpty()) {
+                    progress = true;
+                    if (this.process(tree, tree.frontier.removeRandom(ThreadLocalRandom.current()))) {
+                        budget--;
+                    }
+                }
+            }
+        }
+        this.trees.removeIf(this::advance);
+    }
+
+    private Tree treeAt(final Block block) {
+        for (final Tree tree : this.trees) {
+            if (tree.world.equals(block.getWorld())
+                && Math.abs(tree.originX - block.getX()) <= TREE_RADIUS
+                && Math.abs(tree.originY - block.getY()) <= TREE_RADIUS * 2
+                && Math.abs(tree.originZ - block.getZ()) <= TREE_RADIUS) {
+                return tree;
+            }
+        }
+        final Tree tree = new Tree(block, this.tick + START_DELAY_TICKS);
+        this.trees.add(tree);
+        return tree;
+    }
+
+    /**
+     * Checks a single queued block.
+     *
+     * @return true if the block was a leaf and used up some of the budget
+     */
+    private boolean process(final Tree tree, final long key) {
+        final int x = Block.getBlockKeyX(key);
+        final int y = Block.getBlockKeyY(key);
+        final int z = Block.getBlockKeyZ(key);
+        if (!tree.world.isChunkLoaded(x >> 4, z >> 4)) {
+            return false;
+        }
+        final Block block = tree.world.getBlockAt(x, y, z);
+        // https://github.com/MC-Machinations/VanillaTweaks/issues/54, datapacks modify the #minecraft:leaves block tag
+        if (!(block.getBlockData() instanceof final Leaves leaves) || leaves.isPersistent()) {
+            return false;
+        }
+        if (leaves.getDistance() < DECAY_DISTANCE) {
+            tree.deferred.add(key);
+            return true;
+        }
+        this.decaying = true;
+        try {
+            if (!new LeavesDecayEvent(block).callEvent()) {
+                return true;
+            }
+            block.breakNaturally();
+        } finally {
+            this.decaying = false;
+        }
+        tree.lastDecayTick = this.tick;
+        for (final BlockFace face : FACES) {
+            tree.offer(Block.getBlockKey(x + face.getModX(), y + face.getModY(), z + face.getModZ()));
+        }
+        return true;
+    }
+
+    /**
+     * Moves deferred leaves back into the frontier once in a while.
+     *
+     * @return true if the tree is done and should be dropped
+     */
+    private boolean advance(final Tree tree) {
+        if (!tree.frontier.isEmpty() || this.tick < tree.startTick) {
+            return false;
+        }
+        if (tree.deferred.isEmpty() || this.tick - tree.lastDecayTick > MAX_IDLE_TICKS) {
+            return true;
+        }
+        if (this.tick % RETRY_INTERVAL_TICKS == 0) {
+            tree.frontier.addAll(tree.deferred);
+            tree.deferred.clear();
+        }
+        return false;
+    }
+
+    private static final class Tree {
+
+        private final World world;
+        private final int originX;
+        private final int originY;
+        private final int originZ;
+        private final int startTick;
+        private final LongHashSet frontier = new LongHashSet();
+        private final LongHashSet deferred = new LongHashSet();
+        private final LongHashSet visited = new LongHashSet();
+        private int lastDecayTick;
+
+        private Tree(final Block origin, final int startTick) {
+            this.world = origin.getWorld();
+            this.originX = origin.getX();
+            this.originY = origin.getY();
+            this.originZ = origin.getZ();
+            this.startTick = startTick;
+            this.lastDecayTick = startTick;
+        }
+
+        private void offer(final long key) {
+            if (this.visited.add(key)) {
+                this.frontier.add(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.survival.fastleafdecay;
+
+import com.google.inject.Inject;
+import java.util.Set;
+import me.machinemaker.papertweaks.modules.ModuleCommand;
+import me.machinemaker.papertweaks.modules.ModuleConfig;
+import me.machinemaker.papertweaks.modules.ModuleLifecycle;
+import me.machinemaker.papertweaks.modules.ModuleListener;
+import me.machinemaker.papertweaks.modules.ModuleRecipe;
+import org.bukkit.plugin.java.JavaPlugin;
+
+class Lifecycle extends ModuleLifecycle {
+
+    private final LeafDecayEngine engine;
+
+    @Inject
+    Lifecycle(final JavaPlugin plugin, final Set<ModuleCommand> commands, final Set<ModuleListener> listeners, final Set<ModuleConfig> configs, final Set<ModuleRecipe<?>> moduleRecipes, final LeafDecayEngine engine) {
+        super(plugin, commands, listeners, configs, moduleRecipes);
+        this.engine = engine;
+    }
+
+    @Override
+    public void onEnable() {
+        this.engine.runTaskTimer(1L, 1L);
+    }
+
+    @Override
+    public void onDisable(final boolean isShutdown) {
+        this.engine.cancel();
+        this.engine.clear();
+    }
+}
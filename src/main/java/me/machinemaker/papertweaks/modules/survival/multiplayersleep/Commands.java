@@ -100,9 +100,10 @@ class Commands extends ConfiguredModuleCommand {
                     final SettingArgument.SettingChange<Player, PlayerSetting<?>> change = context.get(SettingArgument.PLAYER_SETTING_CHANGE_KEY);
                     final Player player = PlayerCommandDispatcher.from(context);
                     change.apply(player);
+                    SleepContext.invalidateAudiences();
                     this.menu.send(context);
                 })
-            ).command(SettingArgument.resetPlayerSettings(configBuilder, "modules.multiplayer-sleep.commands.config.reset", this.settings));
+            ).command(SettingArgument.resetPlayerSettings(configBuilder, "modules.multiplayer-sleep.commands.config.reset", this.settings, player -> SleepContext.invalidateAudiences()));
         // TODO if set to action bar or boss bar, don't wait for SleepContext#recalculate to send notifications
 
         this.config.createCommands(this, builder);
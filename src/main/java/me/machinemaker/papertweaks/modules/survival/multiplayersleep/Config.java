@@ -74,6 +74,10 @@ class Config extends MenuModuleConfig<Config, MergedMenus.Menu1<Config, World>>
     @I18nKey("modules.multiplayer-sleep.settings.always-reset-weather-cycle")
     @Description("modules.multiplayer-sleep.settings.always-reset-weather-cycle.extended")
     public boolean alwaysResetWeatherCycle = false;
+    @Key("ignore-afk-players")
+    @I18nKey("modules.multiplayer-sleep.settings.ignore-afk-players")
+    @Description("modules.multiplayer-sleep.settings.ignore-afk-players.extended")
+    public boolean ignoreAfkPlayers = false;
     @Key("included-worlds")
     @Description("Worlds to count player's from")
     private List<World> includedWorlds = List.of(Bukkit.getWorlds().get(0));
@@ -20,13 +20,16 @@
 package me.machinemaker.papertweaks.modules.survival.multiplayersleep;
 
 import com.google.inject.Inject;
-import java.util.UUID;
 import me.machinemaker.papertweaks.modules.ModuleListener;
-import org.bukkit.Bukkit;
+import me.machinemaker.papertweaks.modules.survival.afkdisplay.PlayerAFKChangeEvent;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.PlayerBedEnterEvent;
 import org.bukkit.event.player.PlayerBedLeaveEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerGameModeChangeEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -39,30 +42,71 @@ class PlayerListener implements ModuleListener {
         this.config = config;
     }
 
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(final PlayerJoinEvent event) {
+        this.addPlayer(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerQuit(final PlayerQuitEvent event) {
-        final SleepContext context = MultiplayerSleep.SLEEP_CONTEXT_MAP.get(event.getPlayer().getWorld().getUID());
+        final @Nullable SleepContext context = MultiplayerSleep.SLEEP_CONTEXT_MAP.get(event.getPlayer().getWorld().getUID());
+        if (context != null) {
+            context.removePlayer(event.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(final PlayerChangedWorldEvent event) {
+        final @Nullable SleepContext context = MultiplayerSleep.SLEEP_CONTEXT_MAP.get(event.getFrom().getUID());
         if (context != null) {
             context.removePlayer(event.getPlayer());
         }
+        this.addPlayer(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerGameModeChange(final PlayerGameModeChangeEvent event) {
+        final @Nullable SleepContext context = SleepContext.get(event.getPlayer().getWorld());
+        if (context != null) {
+            context.updateIgnored(event.getPlayer(), SleepContext.isIgnored(event.getPlayer(), event.getNewGameMode()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerAFKChange(final PlayerAFKChangeEvent event) {
+        if (this.config.ignoreAfkPlayers) {
+            this.updateIgnored(event.getPlayer());
+        }
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onPlayerBedEnter(final PlayerBedEnterEvent event) {
         if (event.getBedEnterResult() != PlayerBedEnterEvent.BedEnterResult.OK) return;
-        this.config.worlds(false).forEach(world -> {
-            final @Nullable SleepContext context = MultiplayerSleep.SLEEP_CONTEXT_MAP.computeIfAbsent(world.getUID(), uuid -> SleepContext.from(Bukkit.getWorld(uuid)));
-            if (context != null) {
-                context.startSleeping(event.getPlayer());
-            }
-        });
+        final @Nullable SleepContext context = SleepContext.get(event.getPlayer().getWorld());
+        if (context != null) {
+            context.startSleeping(event.getPlayer());
+        }
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onPlayerBedLeave(final PlayerBedLeaveEvent event) {
-        final UUID uuid = event.getPlayer().getWorld().getUID();
-        if (MultiplayerSleep.SLEEP_CONTEXT_MAP.containsKey(uuid)) {
-            MultiplayerSleep.SLEEP_CONTEXT_MAP.get(uuid).removePlayer(event.getPlayer());
+        final @Nullable SleepContext context = MultiplayerSleep.SLEEP_CONTEXT_MAP.get(event.getPlayer().getWorld().getUID());
+        if (context != null) {
+            context.stopSleeping(event.getPlayer());
+        }
+    }
+
+    private void addPlayer(final Player player) {
+        final @Nullable SleepContext context = SleepContext.get(player.getWorld());
+        if (context != null) {
+            context.addPlayer(player);
+        }
+    }
+
+    private void updateIgnored(final Player player) {
+        final @Nullable SleepContext context = SleepContext.get(player.getWorld());
+        if (context != null) {
+            context.updateIgnored(player, SleepContext.isIgnored(player, player.getGameMode()));
         }
     }
 }
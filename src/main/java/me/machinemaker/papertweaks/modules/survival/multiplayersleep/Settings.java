@@ -19,19 +19,18 @@
  */
 package me.machinemaker.papertweaks.modules.survival.multiplayersleep;
 
-import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
 import java.util.function.Function;
 import me.machinemaker.papertweaks.menus.parts.enums.PreviewableMenuEnum;
 import me.machinemaker.papertweaks.settings.ModuleSettings;
 import me.machinemaker.papertweaks.settings.SettingKey;
 import me.machinemaker.papertweaks.settings.types.PlayerSetting;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import static net.kyori.adventure.text.Component.text;
 import static net.kyori.adventure.text.Component.translatable;
@@ -60,10 +59,10 @@ class Settings extends ModuleSettings<Player, PlayerSetting<?>> {
 
         HIDDEN("Hidden") {
             @Override
-            void notify(final Player player, final SleepContext context, final boolean isBedLeave) { /*pass*/ }
+            void notify(final Audience audience, final SleepContext context, final boolean isBedLeave) { /*pass*/ }
 
             @Override
-            void notifyFinal(final Player player, final SleepContext context) { /*pass*/ }
+            void notifyFinal(final Audience audience, final SleepContext context) { /*pass*/ }
 
             @Override
             public Component build(final DisplaySetting selected, final String labelKey, final String commandPrefix, final String optionKey) {
@@ -73,39 +72,27 @@ class Settings extends ModuleSettings<Player, PlayerSetting<?>> {
         },
         BOSS_BAR("Boss Bar") {
             @Override
-            void notify(final Player player, final SleepContext context, final boolean isBedLeave) {
-                BossBar bossBar = Lifecycle.BOSS_BARS.get(player.getWorld().getUID());
+            void notify(final Audience audience, final SleepContext context, final boolean isBedLeave) {
+                final BossBar bossBar = context.bossBar();
                 if (context.sleepingPlayers().isEmpty()) {
-                    if (bossBar != null) {
-                        player.hideBossBar(bossBar);
-                    }
+                    audience.hideBossBar(bossBar);
                     return;
-                } else if (bossBar == null) {
-                    bossBar = BossBar.bossBar(
-                        bossBarName(context.sleepingCount(), context.totalPlayerCount()),
-                        context.sleepingCount() / (float) context.totalPlayerCount(),
-                        config.bossBarColor,
-                        BossBar.Overlay.PROGRESS
-                    );
-                    Lifecycle.BOSS_BARS.put(player.getWorld().getUID(), bossBar);
-                } else {
-                    bossBar.name(bossBarName(context.sleepingCount(), context.totalPlayerCount()));
-                    bossBar.progress(context.sleepingCount() / (float) context.totalPlayerCount());
-                    bossBar.color(config.bossBarColor);
                 }
-                player.showBossBar(bossBar);
+                // the bar is shared by the world, updating it in place pushes the change to all viewers
+                bossBar.name(bossBarName(context.sleepingCount(), context.totalPlayerCount()));
+                bossBar.progress(context.sleepingCount() / (float) context.totalPlayerCount());
+                bossBar.color(config.bossBarColor);
+                audience.showBossBar(bossBar);
             }
 
             @Override
-            void notifyFinal(final Player player, final SleepContext context) {
-                final BossBar bossBar = Lifecycle.BOSS_BARS.get(player.getWorld().getUID());
-                if (bossBar != null) {
-                    bossBar.name(bossBarName(context.totalPlayerCount(), context.totalPlayerCount()));
-                    bossBar.color(config.bossBarColor);
-                    bossBar.progress(1f);
-                    player.showBossBar(bossBar);
-                    Bukkit.getScheduler().runTaskLater(plugin, () -> player.hideBossBar(bossBar), 60L);
-                }
+            void notifyFinal(final Audience audience, final SleepContext context) {
+                final BossBar bossBar = context.bossBar();
+                bossBar.name(bossBarName(context.totalPlayerCount(), context.totalPlayerCount()));
+                bossBar.color(config.bossBarColor);
+                bossBar.progress(1f);
+                audience.showBossBar(bossBar);
+                Bukkit.getScheduler().runTaskLater(plugin, () -> audience.hideBossBar(bossBar), 60L);
             }
 
             @Override
@@ -117,23 +104,19 @@ class Settings extends ModuleSettings<Player, PlayerSetting<?>> {
         },
         ACTION_BAR("Action Bar") {
             @Override
-            void notify(final Player player, final SleepContext context, final boolean isBedLeave) {
-                if (isBedLeave) return; // skip because runnable handles the task
-                new BukkitRunnable() {
-                    @Override
-                    public void run() {
-                        if (context.shouldSkip() || context.sleepingPlayers().isEmpty()) {
-                            this.cancel();
-                            return;
-                        }
-                        sendNotification(player, context.sleepingCount(), context.totalPlayerCount());
-                    }
-                }.runTaskTimerAsynchronously(plugin, 1L, 10L);
+            void notify(final Audience audience, final SleepContext context, final boolean isBedLeave) {
+                if (context.sleepingPlayers().isEmpty()) return;
+                this.sendNotification(audience, context.sleepingCount(), context.totalPlayerCount());
             }
 
             @Override
-            void notifyFinal(final Player player, final SleepContext context) {
-                this.sendNotification(player, context.sleepingCount(), context.totalPlayerCount());
+            void refresh(final Audience audience, final SleepContext context) {
+                this.sendNotification(audience, context.sleepingCount(), context.totalPlayerCount());
+            }
+
+            @Override
+            void notifyFinal(final Audience audience, final SleepContext context) {
+                this.sendNotification(audience, context.sleepingCount(), context.totalPlayerCount());
             }
 
             @Override
@@ -141,24 +124,24 @@ class Settings extends ModuleSettings<Player, PlayerSetting<?>> {
                 this.sendNotification(player, 10, 15);
             }
 
-            private void sendNotification(final Player player, final long sleepingCount, final long totalCount) {
-                player.sendActionBar(translatable("modules.multiplayer-sleep.display.action-bar.player-sleeping", YELLOW, text(sleepingCount), text(totalCount)));
+            private void sendNotification(final Audience audience, final long sleepingCount, final long totalCount) {
+                audience.sendActionBar(translatable("modules.multiplayer-sleep.display.action-bar.player-sleeping", YELLOW, text(sleepingCount), text(totalCount)));
             }
         },
         CHAT("Chat") {
             @Override
-            void notify(final Player player, final SleepContext context, final boolean isBedLeave) {
+            void notify(final Audience audience, final SleepContext context, final boolean isBedLeave) {
                 if (isBedLeave) return;
-                this.notify(player, Iterables.getLast(context.sleepingPlayers()).getDisplayName(), context.sleepingCount(), context.totalPlayerCount());
+                this.notify(audience, context.lastSleepingPlayer().getDisplayName(), context.sleepingCount(), context.totalPlayerCount());
             }
 
-            private void notify(final Player player, final String playerName, final long sleepingCount, final long totalCount) {
-                player.sendMessage(translatable("modules.multiplayer-sleep.display.chat.player-sleeping", GOLD, text(playerName, YELLOW), text(sleepingCount, YELLOW), text(totalCount, YELLOW)));
+            private void notify(final Audience audience, final String playerName, final long sleepingCount, final long totalCount) {
+                audience.sendMessage(translatable("modules.multiplayer-sleep.display.chat.player-sleeping", GOLD, text(playerName, YELLOW), text(sleepingCount, YELLOW), text(totalCount, YELLOW)));
             }
 
             @Override
-            void notifyFinal(final Player player, final SleepContext context) {
-                player.sendMessage(translatable("modules.multiplayer-sleep.display.chat.last-player-sleeping", GOLD, text(Iterables.getLast(context.sleepingPlayers()).getDisplayName(), YELLOW)));
+            void notifyFinal(final Audience audience, final SleepContext context) {
+                audience.sendMessage(translatable("modules.multiplayer-sleep.display.chat.last-player-sleeping", GOLD, text(context.lastSleepingPlayer().getDisplayName(), YELLOW)));
             }
 
             @Override
@@ -180,9 +163,15 @@ class Settings extends ModuleSettings<Player, PlayerSetting<?>> {
             return text(this.label);
         }
 
-        abstract void notify(Player player, SleepContext context, boolean isBedLeave);
+        abstract void notify(Audience audience, SleepContext context, boolean isBedLeave);
+
+        abstract void notifyFinal(Audience audience, SleepContext context);
 
-        abstract void notifyFinal(Player player, SleepContext context);
+        /**
+         * Called periodically by the world's sleep task while players are asleep.
+         */
+        void refresh(final Audience audience, final SleepContext context) {
+        }
 
         @Override
         public String previewCommandPrefix() {
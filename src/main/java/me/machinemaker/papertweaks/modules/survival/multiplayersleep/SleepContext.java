@@ -19,16 +19,24 @@
  */
 package me.machinemaker.papertweaks.modules.survival.multiplayersleep;
 
-import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
+import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.logging.Level;
+import java.util.concurrent.atomic.AtomicInteger;
+import me.machinemaker.papertweaks.modules.survival.afkdisplay.AFKDisplay;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
 import org.bukkit.GameRule;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
@@ -39,8 +47,23 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import static java.util.Objects.requireNonNull;
 import static net.kyori.adventure.text.Component.translatable;
 
+/**
+ * Sleep state for a single world, maintained from player events.
+ * <p>
+ * The counters are kept up to date by {@link PlayerListener} so reading
+ * them never scans the world's players. A single task per world exists
+ * only while someone is in bed; it promotes players to deep sleep, drives
+ * the night skip and renders at most one notification per tick no matter
+ * how many state changes happened during it. Whether a player ignores
+ * sleeping can be changed by other plugins without an event, the task
+ * rechecks that for the players in bed as only they are affected by it.
+ */
 final class SleepContext {
 
+    private static final int DEEP_SLEEP_TICKS = 100;
+    private static final int ACTION_BAR_PERIOD = 10;
+    private static final AtomicInteger DISPLAY_SETTINGS_VERSION = new AtomicInteger();
+
     @Inject
     private static Config config;
     @Inject
@@ -49,11 +72,23 @@ final class SleepContext {
     private static Settings settings;
 
     private final World world;
-    private final List<Player> sleepingPlayers = Lists.newArrayList();
-    private final Map<Player, BukkitTask> sleepingTasks = Maps.newHashMap();
+    private final Set<Player> almostSleepingPlayers = new LinkedHashSet<>(); // in the order they got into bed
+    private final Set<Player> sleepingPlayers = new LinkedHashSet<>();
+    private final Set<Player> ignoredPlayers = new HashSet<>();
+    private final Set<Player> ignoredSleepers = new HashSet<>(); // in bed, but ignored
+    private final Set<Player> afkPlayers = new HashSet<>(); // only when AFK players are ignored
+    private @Nullable Player lastSleepingPlayer;
+    private @Nullable BukkitTask task;
+    private int taskTicks;
+    private boolean pendingUpdate;
+    private @Nullable Map<Settings.DisplaySetting, Audience> audiences;
+    private int audiencesVersion;
 
     private SleepContext(final World world) {
         this.world = world;
+        for (final Player player : world.getPlayers()) {
+            this.updateIgnored(player, isIgnored(player, player.getGameMode()));
+        }
     }
 
     static @Nullable SleepContext from(final @Nullable World world) {
@@ -63,113 +98,273 @@ final class SleepContext {
         return new SleepContext(world);
     }
 
+    /**
+     * Gets the context for a world, if that world is tracked.
+     *
+     * @param world the world
+     * @return the context or null if the world isn't tracked
+     */
+    static @Nullable SleepContext get(final World world) {
+        if (!config.worlds(false).contains(world)) {
+            return null;
+        }
+        return MultiplayerSleep.SLEEP_CONTEXT_MAP.computeIfAbsent(world.getUID(), uuid -> new SleepContext(world));
+    }
+
+    /**
+     * Marks the cached display audiences of every world as stale. Safe
+     * to call from any thread.
+     */
+    static void invalidateAudiences() {
+        DISPLAY_SETTINGS_VERSION.incrementAndGet();
+    }
+
     static double getSleepingPercentage(final World world) {
         return Math.max(requireNonNull(world.getGameRuleValue(GameRule.PLAYERS_SLEEPING_PERCENTAGE)), 100) / 100D;
     }
 
+    static boolean isIgnored(final Player player, final GameMode gameMode) {
+        return player.isSleepingIgnored()
+            || gameMode == GameMode.SPECTATOR
+            || (config.ignoreAfkPlayers && AFKDisplay.AFK_DISPLAY.has(player));
+    }
+
     public long sleepingCount() {
-        return this.sleepingPlayers.size() + this.world.getPlayers().stream().filter(Player::isSleepingIgnored).count();
+        return this.sleepingPlayers.size() + this.ignoredPlayers.size();
     }
 
     public double requiredPercent() {
         return getSleepingPercentage(this.world);
     }
 
-    public List<Player> sleepingPlayers() {
+    public Collection<Player> sleepingPlayers() {
         return this.sleepingPlayers;
     }
 
     public Set<Player> almostSleepingPlayers() {
-        return this.sleepingTasks.keySet();
+        return this.almostSleepingPlayers;
+    }
+
+    public Player lastSleepingPlayer() {
+        return this.lastSleepingPlayer != null ? this.lastSleepingPlayer : Iterables.getLast(this.sleepingPlayers);
+    }
+
+    public long totalPlayerCount() {
+        return this.world.getPlayerCount();
+    }
+
+    public BossBar bossBar() {
+        return Lifecycle.BOSS_BARS.computeIfAbsent(this.world.getUID(), uuid -> BossBar.bossBar(Settings.bossBarName(0, 0), 0f, config.bossBarColor, BossBar.Overlay.PROGRESS));
     }
 
     public void startSleeping(final Player player) {
-        if (player.isSleepingIgnored()) {
-            return;
-        }
-        if (this.sleepingPlayers.remove(player)) {
-            plugin.getLogger().log(Level.WARNING, "{0} was already recorded as fully asleep", player.getDisplayName());
+        if (isIgnored(player, player.getGameMode())) {
+            this.updateIgnored(player, true);
+            this.ignoredSleepers.add(player);
+        } else {
+            this.sleepingPlayers.remove(player);
+            this.almostSleepingPlayers.remove(player);
+            this.almostSleepingPlayers.add(player);
         }
-        if (this.sleepingTasks.containsKey(player)) {
-            this.sleepingTasks.remove(player).cancel();
-            plugin.getLogger().log(Level.WARNING, "{0} already had a scheduled sleep task", player.getDisplayName());
+        if (this.task == null) {
+            this.taskTicks = 0;
+            this.audiences = null;
+            this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
         }
-        this.sleepingTasks.put(player, new PlayerBedCheckRunnable(player, this::addSleepingPlayer).runTaskTimer(plugin, 99L, 1L));
     }
 
-    public void addSleepingPlayer(final Player player) {
-        Preconditions.checkArgument(player.getSleepTicks() >= 100, player.getDisplayName() + " is not deeply sleeping");
-        if (player.isSleepingIgnored()) {
-            this.sleepingPlayers.remove(player);
-            return;
-        }
-        if (this.sleepingPlayers.remove(player)) {
-            plugin.getLogger().log(Level.WARNING, "{0} already is in the list of sleeping players", player.getDisplayName());
+    public void stopSleeping(final Player player) {
+        this.ignoredSleepers.remove(player);
+        final boolean wasAlmostSleeping = this.almostSleepingPlayers.remove(player);
+        if (this.sleepingPlayers.remove(player) || wasAlmostSleeping) {
+            this.scheduleUpdate();
         }
-        this.sleepingTasks.remove(player).cancel();
-        this.sleepingPlayers.add(player);
-        this.recalculate(false);
     }
 
+    /**
+     * Adds a player that joined or moved into this world.
+     *
+     * @param player the player
+     */
+    public void addPlayer(final Player player) {
+        this.audiences = null;
+        this.updateIgnored(player, isIgnored(player, player.getGameMode()));
+        this.scheduleUpdate();
+    }
+
+    /**
+     * Removes a player that is leaving this world. The update is rendered
+     * on the next tick as the player still counts towards the world's
+     * player count while the quit or world change event runs.
+     *
+     * @param player the player leaving
+     */
     public void removePlayer(final Player player) {
+        this.ignoredPlayers.remove(player);
+        this.ignoredSleepers.remove(player);
+        this.afkPlayers.remove(player);
+        this.almostSleepingPlayers.remove(player);
         this.sleepingPlayers.remove(player);
-        if (this.sleepingTasks.containsKey(player)) {
-            final BukkitTask task = this.sleepingTasks.remove(player);
-            if (!task.isCancelled()) {
-                task.cancel();
-            }
+        this.audiences = null;
+        final @Nullable BossBar bossBar = Lifecycle.BOSS_BARS.get(this.world.getUID());
+        if (bossBar != null) {
+            player.hideBossBar(bossBar);
         }
-        this.recalculate(true);
+        this.scheduleUpdate();
     }
 
-    public long totalPlayerCount() {
-        return this.world.getPlayers().size();
+    public void updateIgnored(final Player player, final boolean ignored) {
+        if (config.ignoreAfkPlayers && AFKDisplay.AFK_DISPLAY.has(player) ? this.afkPlayers.add(player) : this.afkPlayers.remove(player)) {
+            this.scheduleUpdate();
+        }
+        if (ignored ? !this.ignoredPlayers.add(player) : !this.ignoredPlayers.remove(player)) {
+            return;
+        }
+        // players in bed stay in bed, they only stop counting while they're ignored
+        if (ignored) {
+            if (this.almostSleepingPlayers.remove(player) | this.sleepingPlayers.remove(player)) {
+                this.ignoredSleepers.add(player);
+            }
+        } else if (this.ignoredSleepers.remove(player)) {
+            this.almostSleepingPlayers.add(player);
+        }
+        this.scheduleUpdate();
     }
 
     public void reset(final boolean kickOut) {
-        this.sleepingPlayers.forEach(player -> {
-            if (kickOut) {
-                Bukkit.getScheduler().runTaskLater(plugin, () -> player.wakeup(false), 1L);
-                player.sendMessage(translatable("modules.multiplayer-sleep.reload.kick-out-of-bed", NamedTextColor.RED));
-            }
-        });
+        if (kickOut) {
+            this.kickOut(this.sleepingPlayers);
+            this.kickOut(this.almostSleepingPlayers);
+        }
+        this.clear();
+        this.audiences().forEach((setting, audience) -> setting.notify(audience, this, true));
+    }
+
+    private void kickOut(final Collection<Player> players) {
+        for (final Player player : players) {
+            Bukkit.getScheduler().runTaskLater(plugin, () -> player.wakeup(false), 1L);
+            player.sendMessage(translatable("modules.multiplayer-sleep.reload.kick-out-of-bed", NamedTextColor.RED));
+        }
+    }
+
+    private void clear() {
         this.sleepingPlayers.clear();
-        this.sleepingTasks.forEach((player, bukkitTask) -> {
-            if (kickOut) {
-                Bukkit.getScheduler().runTaskLater(plugin, () -> player.wakeup(false), 1L);
-                player.sendMessage(translatable("modules.multiplayer-sleep.reload.kick-out-of-bed", NamedTextColor.RED));
-            }
-            if (!bukkitTask.isCancelled()) {
-                bukkitTask.cancel();
-            }
-        });
-        this.sleepingTasks.clear();
-        this.recalculate(true);
+        this.almostSleepingPlayers.clear();
+        this.ignoredSleepers.clear();
+        this.lastSleepingPlayer = null;
+        this.pendingUpdate = false;
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
     }
 
     public boolean shouldSkip() {
         if (this.sleepingPlayers.isEmpty() || this.totalPlayerCount() == 0) {
             return false;
         }
-        return (double) this.sleepingPlayers.size() / (double) this.totalPlayerCount() >= this.requiredPercent();
+        // ignored players are only part of the displayed count, they don't help skip the night,
+        // AFK players are left out entirely when configured so they don't hold it up either
+        final long required = this.totalPlayerCount() - this.afkPlayers.size();
+        return required <= 0 || (double) this.sleepingPlayers.size() / (double) required >= this.requiredPercent();
     }
 
-    private void recalculate(final boolean isRemoval) {
+    /**
+     * Moves the players in bed whose {@link Player#isSleepingIgnored()}
+     * was changed by another plugin, there is no event for it.
+     */
+    private void recheckSleepers() {
+        final List<Player> changed = new ArrayList<>(0);
+        for (final Player player : Iterables.concat(this.almostSleepingPlayers, this.sleepingPlayers)) {
+            if (player.isSleepingIgnored()) {
+                changed.add(player);
+            }
+        }
+        final Iterator<Player> iterator = this.ignoredSleepers.iterator();
+        while (iterator.hasNext()) {
+            final Player player = iterator.next();
+            if (!player.isSleeping()) {
+                iterator.remove();
+            } else if (!isIgnored(player, player.getGameMode())) {
+                changed.add(player);
+            }
+        }
+        for (final Player player : changed) {
+            this.updateIgnored(player, isIgnored(player, player.getGameMode()));
+        }
+    }
+
+    private void scheduleUpdate() {
+        // without a task nobody is in bed, so there is nothing to display
+        this.pendingUpdate = this.task != null;
+    }
+
+    private Map<Settings.DisplaySetting, Audience> audiences() {
+        final int version = DISPLAY_SETTINGS_VERSION.get();
+        if (this.audiences == null || this.audiencesVersion != version) {
+            final Map<Settings.DisplaySetting, List<Player>> groups = new EnumMap<>(Settings.DisplaySetting.class);
+            for (final Player player : this.world.getPlayers()) {
+                groups.computeIfAbsent(settings.getSetting(Settings.DISPLAY).getOrDefault(player), setting -> new ArrayList<>()).add(player);
+            }
+            final Map<Settings.DisplaySetting, Audience> audiences = new EnumMap<>(Settings.DisplaySetting.class);
+            groups.forEach((setting, players) -> audiences.put(setting, Audience.audience(players)));
+            this.audiences = audiences;
+            this.audiencesVersion = version;
+        }
+        return this.audiences;
+    }
+
+    private void tick() {
+        this.recheckSleepers();
+        boolean promoted = false;
+        // players fall asleep in the order they got into bed, so only the head needs checking
+        final Iterator<Player> iterator = this.almostSleepingPlayers.iterator();
+        while (iterator.hasNext()) {
+            final Player player = iterator.next();
+            if (player.isSleeping() && player.getSleepTicks() < DEEP_SLEEP_TICKS) {
+                break;
+            }
+            iterator.remove();
+            if (player.isSleeping()) {
+                this.sleepingPlayers.add(player);
+                this.lastSleepingPlayer = player;
+                promoted = true;
+            }
+        }
+        if (promoted || this.pendingUpdate) {
+            this.pendingUpdate = false;
+            if (this.update(promoted)) {
+                return; // the night was skipped
+            }
+        }
+        if (this.almostSleepingPlayers.isEmpty() && this.sleepingPlayers.isEmpty() && this.ignoredSleepers.isEmpty()) {
+            requireNonNull(this.task).cancel();
+            this.task = null;
+        } else if (++this.taskTicks % ACTION_BAR_PERIOD == 0 && !this.sleepingPlayers.isEmpty()) {
+            this.audiences().forEach((setting, audience) -> setting.refresh(audience, this));
+        }
+    }
+
+    /**
+     * Renders the current state once for each display setting group.
+     *
+     * @param playerFellAsleep if a player fell asleep since the last update
+     * @return true if the night was skipped
+     */
+    private boolean update(final boolean playerFellAsleep) {
+        final Map<Settings.DisplaySetting, Audience> audiences = this.audiences();
         if (this.shouldSkip()) {
-            this.world.getPlayers().forEach(player -> {
-                settings.getSetting(Settings.DISPLAY).getOrDefault(player).notifyFinal(player, this);
-            });
+            audiences.forEach((setting, audience) -> setting.notifyFinal(audience, this));
             if (this.world.hasStorm() || config.alwaysResetWeatherCycle) {
                 this.world.setWeatherDuration(0);
                 this.world.setStorm(false);
                 this.world.setThunderDuration(0);
                 this.world.setThundering(false);
             }
-            this.reset(false);
-        } else {
-            this.world.getPlayers().forEach(player -> {
-                settings.getSetting(Settings.DISPLAY).getOrDefault(player).notify(player, this, isRemoval);
-            });
+            this.clear();
+            return true;
         }
+        audiences.forEach((setting, audience) -> setting.notify(audience, this, !playerFellAsleep));
+        return false;
     }
 }
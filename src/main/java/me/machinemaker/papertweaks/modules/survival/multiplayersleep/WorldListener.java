@@ -22,11 +22,15 @@ package me.machinemaker.papertweaks.modules.survival.multiplayersleep;
 import me.machinemaker.papertweaks.modules.ModuleListener;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.world.WorldUnloadEvent;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 class WorldListener implements ModuleListener {
 
     @EventHandler
     public void onWorldUnloadEvent(final WorldUnloadEvent event) {
-        MultiplayerSleep.SLEEP_CONTEXT_MAP.remove(event.getWorld().getUID());
+        final @Nullable SleepContext context = MultiplayerSleep.SLEEP_CONTEXT_MAP.remove(event.getWorld().getUID());
+        if (context != null) {
+            context.reset(false);
+        }
     }
 }
@@ -55,9 +55,11 @@ abstract class CalculatedStat implements Translatable {
         return Objects.requireNonNull(board.getObjective(this.objectiveName()), "Could not find objective for " + this.displayName());
     }
 
-    public final void updateScore(final Scoreboard board, final Player player) {
+    public final int updateScore(final Scoreboard board, final Player player) {
         final Score score = this.getScore(board, player);
-        score.setScore(this.computeScore(score, player));
+        final int value = this.computeScore(score, player);
+        score.setScore(value);
+        return value;
     }
 
 }
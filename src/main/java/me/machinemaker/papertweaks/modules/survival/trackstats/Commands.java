@@ -21,29 +21,59 @@ package me.machinemaker.papertweaks.modules.survival.trackstats;
 
 import cloud.commandframework.Command;
 import cloud.commandframework.arguments.CommandArgument;
+import cloud.commandframework.arguments.standard.EnumArgument;
+import cloud.commandframework.arguments.standard.IntegerArgument;
+import cloud.commandframework.arguments.standard.StringArgument;
 import cloud.commandframework.minecraft.extras.RichDescription;
 import com.google.inject.Inject;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.UUID;
 import me.machinemaker.papertweaks.cloud.dispatchers.CommandDispatcher;
 import me.machinemaker.papertweaks.modules.ConfiguredModuleCommand;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
+import net.kyori.adventure.text.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
 import org.bukkit.scoreboard.DisplaySlot;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Scoreboard;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import static net.kyori.adventure.text.Component.newline;
+import static net.kyori.adventure.text.Component.text;
 import static net.kyori.adventure.text.Component.translatable;
 import static net.kyori.adventure.text.format.NamedTextColor.GOLD;
+import static net.kyori.adventure.text.format.NamedTextColor.GRAY;
 import static net.kyori.adventure.text.format.NamedTextColor.GREEN;
+import static net.kyori.adventure.text.format.NamedTextColor.RED;
+import static net.kyori.adventure.text.format.NamedTextColor.WHITE;
 import static net.kyori.adventure.text.format.NamedTextColor.YELLOW;
 
 @ModuleCommand.Info(value = "trackstats", aliases = {"tstats", "ts"}, i18n = "track-stats", perm = "trackstats")
 class Commands extends ConfiguredModuleCommand {
 
+    private static final int PAGE_SIZE = 10;
+    private static final DateTimeFormatter HOURLY_FORMAT = DateTimeFormatter.ofPattern("MMM d HH:00").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter DAILY_FORMAT = DateTimeFormatter.ofPattern("MMM d").withZone(ZoneOffset.UTC);
+
     private final Scoreboard board;
+    private final Leaderboards leaderboards;
+    private final StatHistory history;
+    private final Config config;
 
     @Inject
-    Commands(final Scoreboard board) {
+    Commands(final Scoreboard board, final Leaderboards leaderboards, final StatHistory history, final Config config) {
         this.board = board;
+        this.leaderboards = leaderboards;
+        this.history = history;
+        this.config = config;
     }
 
     @Override
@@ -51,7 +81,7 @@ class Commands extends ConfiguredModuleCommand {
         final Command.Builder<CommandDispatcher> builder = this.player();
 
         this.manager.command(this.literal(builder, "show")
-            .argument(CommandArgument.<CommandDispatcher, CalculatedStat>ofType(CalculatedStat.class, "stat").withParser(new CalculatedStatParser()), RichDescription.translatable("modules.track-stats.commands.arguments.stat"))
+            .argument(statArgument(), RichDescription.translatable("modules.track-stats.commands.arguments.stat"))
             .handler(this.sync((context, player) -> {
                 player.setScoreboard(this.board);
                 final CalculatedStat stat = context.get("stat");
@@ -72,6 +102,91 @@ class Commands extends ConfiguredModuleCommand {
                     context.getSender().sendMessage(translatable("modules.track-stats.commands.clear.success", GREEN, translatable(Stats.REGISTRY.get(currentlyDisplayed.getName()), GOLD)));
                 }
             }))
+        ).command(this.literal(this.builder(), "top")
+            .argument(statArgument(), RichDescription.translatable("modules.track-stats.commands.arguments.stat"))
+            .argument(IntegerArgument.<CommandDispatcher>builder("page").withMin(1).asOptionalWithDefault(1))
+            .handler(this.sync(context -> {
+                final CalculatedStat stat = context.get("stat");
+                final int page = context.get("page");
+                final Leaderboard leaderboard = this.leaderboards.get(stat);
+                if (leaderboard.size() == 0) {
+                    context.getSender().sendMessage(translatable("modules.track-stats.commands.top.empty", YELLOW, translatable(stat, GOLD)));
+                    return;
+                }
+                final int pageCount = (int) Math.ceil(leaderboard.size() / (double) PAGE_SIZE);
+                if (page > pageCount) {
+                    context.getSender().sendMessage(translatable("modules.track-stats.commands.top.invalid-page", RED, text(page), text(pageCount)));
+                    return;
+                }
+                final List<Leaderboard.Entry> entries = leaderboard.range((page - 1) * PAGE_SIZE, PAGE_SIZE);
+                final TextComponent.Builder component = text().append(translatable("modules.track-stats.commands.top.header", GREEN, translatable(stat, GOLD), text(page), text(pageCount)));
+                for (final Leaderboard.Entry entry : entries) {
+                    component.append(newline()).append(translatable("modules.track-stats.commands.top.entry", GRAY, text(entry.rank()), text(entry.name(), WHITE), text(entry.score(), GOLD)));
+                }
+                context.getSender().sendMessage(component);
+            }))
+        ).command(this.literal(this.builder(), "rank")
+            .argument(statArgument(), RichDescription.translatable("modules.track-stats.commands.arguments.stat"))
+            .argument(StringArgument.<CommandDispatcher>builder("player").asOptional().withSuggestionsProvider((context, input) -> Bukkit.getOnlinePlayers().stream().map(Player::getName).toList()), RichDescription.translatable("modules.track-stats.commands.arguments.player"))
+            .handler(this.sync(context -> {
+                final CalculatedStat stat = context.get("stat");
+                final @Nullable String name = context.<String>getOptional("player").orElseGet(() -> context.getSender().sender() instanceof Player player ? player.getName() : null);
+                if (name == null) {
+                    context.getSender().sendMessage(translatable("modules.track-stats.commands.rank.no-player", RED));
+                    return;
+                }
+                final Leaderboard leaderboard = this.leaderboards.get(stat);
+                final @Nullable Integer score = leaderboard.score(name);
+                if (score == null) {
+                    context.getSender().sendMessage(translatable("modules.track-stats.commands.rank.not-ranked", YELLOW, text(name, GOLD), translatable(stat, GOLD)));
+                } else {
+                    context.getSender().sendMessage(translatable("modules.track-stats.commands.rank.success", GREEN, text(name, GOLD), text(leaderboard.rank(name), WHITE), text(leaderboard.size(), WHITE), translatable(stat, GOLD), text(score, WHITE)));
+                }
+            }))
+        ).command(this.literal(this.builder(), "history")
+            .argument(statArgument(), RichDescription.translatable("modules.track-stats.commands.arguments.stat"))
+            .argument(EnumArgument.of(StatHistory.Period.class, "period"), RichDescription.translatable("modules.track-stats.commands.arguments.period"))
+            .argument(StringArgument.<CommandDispatcher>builder("player").asOptional().withSuggestionsProvider((context, input) -> Bukkit.getOnlinePlayers().stream().map(Player::getName).toList()), RichDescription.translatable("modules.track-stats.commands.arguments.player"))
+            .handler(context -> { // not sync, this queries the database
+                final CalculatedStat stat = context.get("stat");
+                final StatHistory.Period period = context.get("period");
+                if (!this.config.historyEnabled || !this.config.historyStats.contains(stat.objectiveName())) {
+                    context.getSender().sendMessage(translatable("modules.track-stats.commands.history.not-recorded", YELLOW, translatable(stat, GOLD)));
+                    return;
+                }
+                final @Nullable String name = context.<String>getOptional("player").orElse(null);
+                final @Nullable UUID uuid;
+                final String displayName;
+                if (name != null) {
+                    final @Nullable OfflinePlayer player = Bukkit.getOfflinePlayerIfCached(name);
+                    uuid = player == null ? null : player.getUniqueId();
+                    displayName = name;
+                } else if (context.getSender().sender() instanceof Player player) {
+                    uuid = player.getUniqueId();
+                    displayName = player.getName();
+                } else {
+                    context.getSender().sendMessage(translatable("modules.track-stats.commands.rank.no-player", RED));
+                    return;
+                }
+                if (uuid == null) {
+                    context.getSender().sendMessage(translatable("modules.track-stats.commands.history.unknown-player", RED, text(name, GOLD)));
+                    return;
+                }
+                final SortedMap<Long, Integer> buckets = this.history.query(stat, uuid, period);
+                final int total = buckets.values().stream().mapToInt(Integer::intValue).sum();
+                final TextComponent.Builder component = text().append(translatable("modules.track-stats.commands.history.header", GREEN, translatable(stat, GOLD), text(displayName, GOLD), translatable("modules.track-stats.history.period." + period.name().toLowerCase(Locale.ENGLISH)), text(total, WHITE)));
+                final DateTimeFormatter format = period.isDaily() ? DAILY_FORMAT : HOURLY_FORMAT;
+                for (final Map.Entry<Long, Integer> bucket : buckets.entrySet()) {
+                    if (bucket.getValue() != 0) {
+                        component.append(newline()).append(translatable("modules.track-stats.commands.history.entry", GRAY, text(format.format(Instant.ofEpochSecond(bucket.getKey()))), text(bucket.getValue(), GOLD)));
+                    }
+                }
+                context.getSender().sendMessage(component);
+            })
         );
     }
+
+    private static CommandArgument<CommandDispatcher, CalculatedStat> statArgument() {
+        return CommandArgument.<CommandDispatcher, CalculatedStat>ofType(CalculatedStat.class, "stat").withParser(new CalculatedStatParser()).build();
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.survival.trackstats;
+
+import com.google.common.collect.Lists;
+import java.util.List;
+import me.machinemaker.lectern.annotations.Description;
+import me.machinemaker.lectern.annotations.Key;
+import me.machinemaker.lectern.annotations.validations.numbers.Min;
+import me.machinemaker.papertweaks.config.VTConfig;
+import me.machinemaker.papertweaks.modules.ModuleConfig;
+
+@VTConfig
+class Config extends ModuleConfig {
+
+    @Key("history.enabled")
+    @Description("Periodically record the stats listed in history.stats so /trackstats history can show progress over time")
+    public boolean historyEnabled = true;
+
+    @Key("history.stats")
+    @Description("The objective names of the stats to record history for")
+    public List<String> historyStats = Lists.newArrayList("tas_MineDiamond", "tas_MineIron", "tas_WalkKm", "tas_PlayTimeHrs");
+
+    @Min(1)
+    @Key("history.sample-interval-minutes")
+    @Description("How often, in minutes, to sample the stats of online players")
+    public int sampleIntervalMinutes = 5;
+
+    @Min(1)
+    @Key("history.raw-retention-hours")
+    @Description("How long, in hours, to keep individual samples after they are rolled up into hourly totals")
+    public int rawRetentionHours = 48;
+
+    @Min(1)
+    @Key("history.hourly-retention-days")
+    @Description("How long, in days, to keep hourly totals after they are rolled up into daily totals")
+    public int hourlyRetentionDays = 14;
+
+    @Min(0)
+    @Key("history.daily-retention-days")
+    @Description("How long, in days, to keep daily totals. 0 keeps them forever")
+    public int dailyRetentionDays = 365;
+}
@@ -0,0 +1,230 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.survival.trackstats;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Sorted index of the scores for a single stat. Backed by a size-augmented
+ * treap ordered by score (highest first) and then entry name, so rank and
+ * position lookups are O(log n) instead of sorting the whole objective.
+ */
+final class Leaderboard {
+
+    private final Map<String, Integer> scores = new HashMap<>();
+    private @Nullable Node root;
+
+    int size() {
+        return this.scores.size();
+    }
+
+    void update(final String entry, final int score) {
+        final @Nullable Integer oldScore = this.scores.put(entry, score);
+        if (oldScore != null) {
+            if (oldScore == score) {
+                return;
+            }
+            this.root = remove(this.root, oldScore, entry);
+        }
+        this.root = insert(this.root, new Node(entry, score));
+    }
+
+    void remove(final String entry) {
+        final @Nullable Integer oldScore = this.scores.remove(entry);
+        if (oldScore != null) {
+            this.root = remove(this.root, oldScore, entry);
+        }
+    }
+
+    void clear() {
+        this.scores.clear();
+        this.root = null;
+    }
+
+    /**
+     * Gets the 1-based rank of an entry.
+     *
+     * @param entry the scoreboard entry
+     * @return the rank or -1 if the entry isn't in the index
+     */
+    int rank(final String entry) {
+        final @Nullable Integer score = this.scores.get(entry);
+        if (score == null) {
+            return -1;
+        }
+        int before = 0;
+        @Nullable Node node = this.root;
+        while (node != null) {
+            final int cmp = compare(score, entry, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                before += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return before + size(node.left) + 1;
+            }
+        }
+        throw new IllegalStateException(entry + " is missing from the tree");
+    }
+
+    @Nullable Integer score(final String entry) {
+        return this.scores.get(entry);
+    }
+
+    /**
+     * Gets a range of ranked entries.
+     *
+     * @param offset the 0-based position of the first entry
+     * @param limit the max number of entries
+     * @return the entries, in rank order
+     */
+    List<Entry> range(final int offset, final int limit) {
+        final int end = Math.min(this.size(), offset + limit);
+        final List<Entry> entries = new ArrayList<>(Math.max(0, end - offset));
+        for (int i = offset; i < end; i++) {
+            final Node node = this.select(i);
+            entries.add(new Entry(i + 1, node.entry, node.score));
+        }
+        return entries;
+    }
+
+    private Node select(int index) {
+        @Nullable Node node = this.root;
+        while (node != null) {
+            final int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        throw new IndexOutOfBoundsException(index);
+    }
+
+    private static int compare(final int score, final String entry, final Node node) {
+        final int cmp = Integer.compare(node.score, score); // highest score first
+        return cmp != 0 ? cmp : entry.compareTo(node.entry);
+    }
+
+    private static int size(final @Nullable Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node insert(final @Nullable Node node, final Node toInsert) {
+        if (node == null) {
+            return toInsert;
+        }
+        if (compare(toInsert.score, toInsert.entry, node) < 0) {
+            node.left = insert(node.left, toInsert);
+            if (node.left.priority > node.priority) {
+                return rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, toInsert);
+            if (node.right.priority > node.priority) {
+                return rotateLeft(node);
+            }
+        }
+        node.recalculate();
+        return node;
+    }
+
+    private static @Nullable Node remove(final @Nullable Node node, final int score, final String entry) {
+        if (node == null) {
+            return null;
+        }
+        final int cmp = compare(score, entry, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, score, entry);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, score, entry);
+        } else {
+            return merge(node.left, node.right);
+        }
+        node.recalculate();
+        return node;
+    }
+
+    private static @Nullable Node merge(final @Nullable Node left, final @Nullable Node right) {
+        if (left == null) {
+            return right;
+        } else if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.recalculate();
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            right.recalculate();
+            return right;
+        }
+    }
+
+    private static Node rotateRight(final Node node) {
+        final Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.recalculate();
+        left.recalculate();
+        return left;
+    }
+
+    private static Node rotateLeft(final Node node) {
+        final Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.recalculate();
+        right.recalculate();
+        return right;
+    }
+
+    record Entry(int rank, String name, int score) {
+    }
+
+    private static final class Node {
+
+        private final String entry;
+        private final int score;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private @Nullable Node left;
+        private @Nullable Node right;
+
+        private Node(final String entry, final int score) {
+            this.entry = entry;
+            this.score = score;
+        }
+
+        private void recalculate() {
+            this.size = size(this.left) + size(this.right) + 1;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.survival.trackstats;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
+
+@Singleton
+class Leaderboards {
+
+    private final Map<CalculatedStat, Leaderboard> leaderboards = new HashMap<>();
+    private final Scoreboard board;
+
+    @Inject
+    Leaderboards(final Scoreboard board) {
+        this.board = board;
+        for (final CalculatedStat stat : Stats.REGISTRY.values()) {
+            this.leaderboards.put(stat, new Leaderboard());
+        }
+    }
+
+    /**
+     * Seeds every leaderboard from the scores already on the scoreboard
+     * so players that are offline are still ranked.
+     */
+    void load() {
+        for (final Map.Entry<CalculatedStat, Leaderboard> entry : this.leaderboards.entrySet()) {
+            final Objective objective = entry.getKey().getObjective(this.board);
+            final Leaderboard leaderboard = entry.getValue();
+            leaderboard.clear();
+            for (final String scoreEntry : this.board.getEntries()) {
+                final Score score = objective.getScore(scoreEntry);
+                if (score.isScoreSet()) {
+                    leaderboard.update(scoreEntry, score.getScore());
+                }
+            }
+        }
+    }
+
+    void clear() {
+        this.leaderboards.values().forEach(Leaderboard::clear);
+    }
+
+    Leaderboard get(final CalculatedStat stat) {
+        return this.leaderboards.get(stat);
+    }
+
+    void update(final CalculatedStat stat, final String entry, final int score) {
+        this.leaderboards.get(stat).update(entry, score);
+    }
+}
@@ -31,20 +31,33 @@ import org.bukkit.plugin.java.JavaPlugin;
 class Lifecycle extends ModuleLifecycle {
 
     private final StatsRunnable runnable;
+    private final Leaderboards leaderboards;
+    private final StatHistory history;
 
     @Inject
-    Lifecycle(final JavaPlugin plugin, final Set<ModuleCommand> commands, final Set<ModuleListener> listeners, final Set<ModuleConfig> configs, final Set<ModuleRecipe<?>> moduleRecipes, final StatsRunnable runnable) {
+    Lifecycle(final JavaPlugin plugin, final Set<ModuleCommand> commands, final Set<ModuleListener> listeners, final Set<ModuleConfig> configs, final Set<ModuleRecipe<?>> moduleRecipes, final StatsRunnable runnable, final Leaderboards leaderboards, final StatHistory history) {
         super(plugin, commands, listeners, configs, moduleRecipes);
         this.runnable = runnable;
+        this.leaderboards = leaderboards;
+        this.history = history;
     }
 
     @Override
     public void onEnable() {
+        this.leaderboards.load();
         this.runnable.runTaskTimer(1L, 5L);
+        this.history.start();
     }
 
     @Override
     public void onDisable(final boolean isShutdown) {
         this.runnable.cancel();
+        this.history.stop();
+        this.leaderboards.clear();
+    }
+
+    @Override
+    public void onReload() {
+        this.history.reload();
     }
 }
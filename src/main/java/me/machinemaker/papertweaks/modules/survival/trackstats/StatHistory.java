@@ -0,0 +1,299 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.survival.trackstats;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import me.machinemaker.papertweaks.db.dao.survival.trackstats.StatHistoryDAO;
+import me.machinemaker.papertweaks.db.model.survival.trackstats.StatDelta;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jdbi.v3.core.Jdbi;
+
+/**
+ * Records the history of selected stats as delta-encoded rows in the plugin
+ * database. Sampling happens on the main thread but only compares in-memory
+ * scores from the {@link Leaderboards}, all database work is queued up and
+ * written in batches on a dedicated thread which also rolls raw samples up
+ * into hourly and daily totals.
+ */
+@Singleton
+class StatHistory {
+
+    private static final long HOUR = Duration.ofHours(1).toSeconds();
+    private static final long DAY = Duration.ofDays(1).toSeconds();
+    private static final long WRITE_PERIOD = 20L * 60;
+    private static final long STOP_TIMEOUT_SECONDS = 5;
+
+    private final Plugin plugin;
+    private final Jdbi jdbi;
+    private final StatHistoryDAO dao;
+    private final Leaderboards leaderboards;
+    private final Config config;
+    private final Queue<Snapshot> pending = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, Map<String, Integer>> lastSampled = new HashMap<>(); // main thread only
+    private final Map<String, Map<UUID, Integer>> heads = new HashMap<>(); // guarded by this
+    private volatile long sampledUntil = 0; // every snapshot up to this time has been queued
+    private long nextMaintenance = 0;
+    private @Nullable BukkitTask sampleTask;
+    private @Nullable BukkitTask writeTask;
+    private @Nullable ExecutorService executor;
+
+    @Inject
+    StatHistory(final Plugin plugin, final Jdbi jdbi, final StatHistoryDAO dao, final Leaderboards leaderboards, final Config config) {
+        this.plugin = plugin;
+        this.jdbi = jdbi;
+        this.dao = dao;
+        this.leaderboards = leaderboards;
+        this.config = config;
+    }
+
+    void start() {
+        if (!this.config.historyEnabled) {
+            return;
+        }
+        for (final String stat : this.config.historyStats) {
+            if (!Stats.REGISTRY.containsKey(stat)) {
+                TrackStats.LOGGER.warn("{} is not a valid stat, it will not have its history recorded", stat);
+            }
+        }
+        if (this.executor == null) {
+            // a single writer keeps the writes in order, and lets stop() wait for them
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "PaperTweaks Stat History");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        final ExecutorService executor = this.executor;
+        final long samplePeriod = this.config.sampleIntervalMinutes * 20L * 60;
+        this.sampleTask = Bukkit.getScheduler().runTaskTimer(this.plugin, this::sample, samplePeriod, samplePeriod);
+        this.writeTask = Bukkit.getScheduler().runTaskTimer(this.plugin, () -> executor.execute(this::write), WRITE_PERIOD, WRITE_PERIOD);
+    }
+
+    /**
+     * Flushes the queued samples and waits for them to be written.
+     * Only call this when disabling, {@link #reload()} doesn't block.
+     */
+    void stop() {
+        this.cancelTasks();
+        final @Nullable ExecutorService executor = this.executor;
+        if (executor != null) {
+            this.executor = null;
+            this.sample();
+            executor.execute(this::write);
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    TrackStats.LOGGER.warn("Timed out flushing stat history, {} samples may be lost", this.pending.size());
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.lastSampled.clear();
+    }
+
+    /**
+     * Restarts sampling with the current config. Queued samples are flushed
+     * on the writer thread without waiting for them.
+     */
+    void reload() {
+        this.cancelTasks();
+        final @Nullable ExecutorService executor = this.executor;
+        if (executor != null) {
+            this.sample();
+            executor.execute(this::write);
+            if (!this.config.historyEnabled) {
+                this.executor = null;
+                executor.shutdown(); // still runs the queued flush
+            }
+        }
+        this.lastSampled.clear();
+        this.start();
+    }
+
+    private void cancelTasks() {
+        if (this.sampleTask != null) {
+            this.sampleTask.cancel();
+            this.sampleTask = null;
+        }
+        if (this.writeTask != null) {
+            this.writeTask.cancel();
+            this.writeTask = null;
+        }
+    }
+
+    private void sample() {
+        final long now = Instant.now().getEpochSecond();
+        for (final Player player : Bukkit.getOnlinePlayers()) {
+            final Map<String, Integer> last = this.lastSampled.computeIfAbsent(player.getUniqueId(), uuid -> new HashMap<>());
+            for (final String statName : this.config.historyStats) {
+                final @Nullable CalculatedStat stat = Stats.REGISTRY.get(statName);
+                if (stat == null) {
+                    continue;
+                }
+                final @Nullable Integer score = this.leaderboards.get(stat).score(player.getName());
+                if (score == null) {
+                    continue;
+                }
+                final @Nullable Integer previous = last.put(statName, score);
+                if (previous == null || previous.intValue() != score.intValue()) {
+                    this.pending.add(new Snapshot(statName, player.getUniqueId(), now, score));
+                }
+            }
+        }
+        this.sampledUntil = now;
+    }
+
+    private synchronized void write() {
+        try {
+            final long now = Instant.now().getEpochSecond();
+            // read before draining, anything queued after the drain was sampled at this time or later
+            final long sampled = this.sampledUntil;
+            this.jdbi.useTransaction(handle -> {
+                final StatHistoryDAO dao = handle.attach(StatHistoryDAO.class);
+                final List<StatDelta> deltas = new ArrayList<>();
+                @Nullable Snapshot snapshot;
+                while ((snapshot = this.pending.poll()) != null) {
+                    final Map<UUID, Integer> statHeads = this.heads.computeIfAbsent(snapshot.stat(), stat -> new HashMap<>());
+                    @Nullable Integer head = statHeads.get(snapshot.player());
+                    if (head == null) {
+                        head = dao.getHead(snapshot.stat(), snapshot.player()).orElse(null);
+                    }
+                    if (head != null && head == snapshot.value()) {
+                        statHeads.put(snapshot.player(), head);
+                        continue;
+                    }
+                    // the first sample for a player only sets the base value, it isn't progress
+                    if (head != null) {
+                        deltas.add(new StatDelta(snapshot.stat(), snapshot.player(), StatDelta.RAW, snapshot.time(), snapshot.value() - head));
+                    }
+                    dao.setHead(snapshot.stat(), snapshot.player(), snapshot.value());
+                    statHeads.put(snapshot.player(), snapshot.value());
+                }
+                if (!deltas.isEmpty()) {
+                    dao.insertDeltas(deltas);
+                }
+                if (now >= this.nextMaintenance) {
+                    final long hourStart = now - now % HOUR;
+                    // hours that could still get snapshots which haven't been drained yet are left for the next write
+                    final long rollupTo = Math.min(hourStart, sampled - sampled % HOUR);
+                    this.maintain(dao, now, rollupTo);
+                    this.nextMaintenance = rollupTo == hourStart ? hourStart + HOUR : now;
+                }
+            });
+        } catch (final Exception e) {
+            TrackStats.LOGGER.error("Could not write stat history", e);
+        }
+    }
+
+    private void maintain(final StatHistoryDAO dao, final long now, final long rollupTo) {
+        final long hourlyFrom = dao.getLastBucket(StatDelta.HOURLY).map(bucket -> bucket + HOUR).or(() -> dao.getFirstBucket(StatDelta.RAW).map(bucket -> bucket - bucket % HOUR)).orElse(rollupTo);
+        if (hourlyFrom < rollupTo) {
+            dao.rollupHourly(hourlyFrom, rollupTo);
+        }
+        // days are only complete once all of their hours have been rolled up
+        final long dayStart = rollupTo - rollupTo % DAY;
+        final long dailyFrom = dao.getLastBucket(StatDelta.DAILY).map(bucket -> bucket + DAY).or(() -> dao.getFirstBucket(StatDelta.HOURLY).map(bucket -> bucket - bucket % DAY)).orElse(dayStart);
+        if (dailyFrom < dayStart) {
+            dao.rollupDaily(dailyFrom, dayStart);
+        }
+
+        // only delete rows which have already been rolled up
+        dao.deleteBefore(StatDelta.RAW, Math.min(now - this.config.rawRetentionHours * HOUR, rollupTo));
+        dao.deleteBefore(StatDelta.HOURLY, Math.min(now - this.config.hourlyRetentionDays * DAY, dayStart));
+        if (this.config.dailyRetentionDays > 0) {
+            dao.deleteBefore(StatDelta.DAILY, now - this.config.dailyRetentionDays * DAY);
+        }
+    }
+
+    /**
+     * Gets the progress in a stat over a period, bucketed by the period's resolution.
+     * This queries the database, so it shouldn't be called on the main thread.
+     *
+     * @param stat the stat
+     * @param player the player's uuid
+     * @param period the period
+     * @return the total change in each bucket, keyed by the bucket start in epoch seconds
+     */
+    SortedMap<Long, Integer> query(final CalculatedStat stat, final UUID player, final Period period) {
+        final long now = Instant.now().getEpochSecond();
+        final long bucketSize = period.resolution == StatDelta.DAILY ? DAY : HOUR;
+        final long from = now - period.duration.toSeconds();
+        final long alignedFrom = from - from % bucketSize;
+        final SortedMap<Long, Integer> buckets = new TreeMap<>();
+
+        // each resolution is only read from where the next coarser resolution ends
+        long readFrom = alignedFrom;
+        if (period.resolution == StatDelta.DAILY) {
+            this.addDeltas(buckets, bucketSize, this.dao.getDeltas(stat.objectiveName(), player, StatDelta.DAILY, readFrom));
+            readFrom = Math.max(readFrom, this.dao.getLastBucket(StatDelta.DAILY).map(bucket -> bucket + DAY).orElse(readFrom));
+        }
+        this.addDeltas(buckets, bucketSize, this.dao.getDeltas(stat.objectiveName(), player, StatDelta.HOURLY, readFrom));
+        readFrom = Math.max(readFrom, this.dao.getLastBucket(StatDelta.HOURLY).map(bucket -> bucket + HOUR).orElse(readFrom));
+        this.addDeltas(buckets, bucketSize, this.dao.getDeltas(stat.objectiveName(), player, StatDelta.RAW, readFrom));
+        return buckets;
+    }
+
+    private void addDeltas(final Map<Long, Integer> buckets, final long bucketSize, final List<StatDelta> deltas) {
+        for (final StatDelta delta : deltas) {
+            buckets.merge(delta.getBucket() - delta.getBucket() % bucketSize, delta.getDelta(), Integer::sum);
+        }
+    }
+
+    enum Period {
+        DAY(Duration.ofDays(1), StatDelta.HOURLY),
+        WEEK(Duration.ofDays(7), StatDelta.DAILY),
+        MONTH(Duration.ofDays(30), StatDelta.DAILY);
+
+        private final Duration duration;
+        private final int resolution;
+
+        Period(final Duration duration, final int resolution) {
+            this.duration = duration;
+            this.resolution = resolution;
+        }
+
+        boolean isDaily() {
+            return this.resolution == StatDelta.DAILY;
+        }
+    }
+
+    private record Snapshot(String stat, UUID player, long time, int value) {
+    }
+}
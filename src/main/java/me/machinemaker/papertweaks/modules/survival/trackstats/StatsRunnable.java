@@ -36,12 +36,14 @@ class StatsRunnable extends TimerRunnable {
     private static final List<List<CalculatedStat>> PARTITIONS = Lists.partition(new ArrayList<>(Stats.REGISTRY.values()), Stats.REGISTRY.values().size() / 3);
 
     private final Scoreboard board;
+    private final Leaderboards leaderboards;
     private int count = 0;
 
     @Inject
-    StatsRunnable(final Plugin plugin, final Scoreboard board) {
+    StatsRunnable(final Plugin plugin, final Scoreboard board, final Leaderboards leaderboards) {
         super(plugin);
         this.board = board;
+        this.leaderboards = leaderboards;
     }
 
 
@@ -49,7 +51,7 @@ class StatsRunnable extends TimerRunnable {
     public void run() {
         for (final Player player : Bukkit.getOnlinePlayers()) {
             for (final CalculatedStat stat : PARTITIONS.get(this.count % 3)) {
-                stat.updateScore(this.board, player);
+                this.leaderboards.update(stat, player.getName(), stat.updateScore(this.board, player));
             }
         }
         this.count++;
@@ -22,17 +22,22 @@ package me.machinemaker.papertweaks.modules.survival.trackstats;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Set;
+import me.machinemaker.papertweaks.LoggerFactory;
 import me.machinemaker.papertweaks.annotations.ModuleInfo;
 import me.machinemaker.papertweaks.modules.ModuleBase;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
+import me.machinemaker.papertweaks.modules.ModuleConfig;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
 import org.bukkit.Bukkit;
 import org.bukkit.scoreboard.Criteria;
 import org.bukkit.scoreboard.Scoreboard;
+import org.slf4j.Logger;
 
 @ModuleInfo(name = "TrackStats", configPath = "survival.track-stats", description = "Adds several pre-processed stats")
 public class TrackStats extends ModuleBase {
 
+    static final Logger LOGGER = LoggerFactory.getModuleLogger(TrackStats.class);
+
     final Scoreboard board = Objects.requireNonNull(Bukkit.getScoreboardManager(), "null ScoreboardManager").getMainScoreboard();
 
     TrackStats() {
@@ -54,6 +59,11 @@ public class TrackStats extends ModuleBase {
         return Lifecycle.class;
     }
 
+    @Override
+    protected Collection<Class<? extends ModuleConfig>> configs() {
+        return Set.of(Config.class);
+    }
+
     @Override
     protected Collection<Class<? extends ModuleCommand>> commands() {
         return Set.of(Commands.class);
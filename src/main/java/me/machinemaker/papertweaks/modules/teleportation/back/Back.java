@@ -43,7 +43,7 @@ public class Back extends ModuleBase {
     @Override
     protected void configure() {
         super.configure();
-        requestStaticInjection(BackTeleportRunnable.class);
+        requestStaticInjection(BackTeleportWarmup.class);
     }
 
     @Override
@@ -19,55 +19,39 @@
  */
 package me.machinemaker.papertweaks.modules.teleportation.back;
 
-import com.google.common.collect.Maps;
 import com.google.inject.Inject;
 import me.machinemaker.papertweaks.cloud.cooldown.CommandCooldownManager;
 import me.machinemaker.papertweaks.cloud.dispatchers.CommandDispatcher;
-import me.machinemaker.papertweaks.utils.runnables.TeleportRunnable;
+import me.machinemaker.papertweaks.teleport.TeleportWarmup;
 import net.kyori.adventure.audience.Audience;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Map;
 import java.util.UUID;
 
 import static net.kyori.adventure.text.Component.translatable;
 import static net.kyori.adventure.text.format.NamedTextColor.*;
 
-public class BackTeleportRunnable extends TeleportRunnable {
+public class BackTeleportWarmup extends TeleportWarmup {
 
     @Inject private static CommandCooldownManager<CommandDispatcher, UUID> cooldownManager;
-    @Inject private static Plugin plugin;
-    private static final Map<UUID, BukkitTask> AWAITING_TELEPORT = Maps.newHashMap();
 
     private final Audience audience;
 
-    protected BackTeleportRunnable(@NotNull Player player, @NotNull Location teleportLoc, long tickDelay, Audience audience) {
+    protected BackTeleportWarmup(@NotNull Player player, @NotNull Location teleportLoc, long tickDelay, Audience audience) {
         super(player, teleportLoc, tickDelay);
         this.audience = audience;
     }
 
-    public void start() {
-        AWAITING_TELEPORT.put(this.player.getUniqueId(), this.runTaskTimer(plugin, 1L, 1L));
-    }
-
     @Override
     public void onTeleport() {
         Back.setBackLocation(this.player, this.player.getLocation());
     }
 
     @Override
-    public void onMove() {
-        this.audience.sendMessage(translatable("modules.back.commands.root.moved", RED));
+    public void onCancel(@NotNull CancelReason reason) {
+        this.audience.sendMessage(translatable(reason == CancelReason.MOVED ? "modules.back.commands.root.moved" : "teleport-warmup.damaged", RED));
         cooldownManager.invalidate(this.player.getUniqueId(), Commands.BACK_COMMAND_COOLDOWN_KEY);
-        super.onMove();
-    }
-
-    @Override
-    public void onEnd() {
-        AWAITING_TELEPORT.remove(this.player.getUniqueId());
     }
 }
@@ -26,6 +26,7 @@ import me.machinemaker.papertweaks.cloud.cooldown.CommandCooldown;
 import me.machinemaker.papertweaks.cloud.dispatchers.CommandDispatcher;
 import me.machinemaker.papertweaks.modules.ConfiguredModuleCommand;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
+import me.machinemaker.papertweaks.teleport.TeleportWarmups;
 import me.machinemaker.papertweaks.utils.PTUtils;
 import org.bukkit.Location;
 
@@ -41,10 +42,12 @@ class Commands extends ConfiguredModuleCommand {
     static final CloudKey<Void> BACK_COMMAND_COOLDOWN_KEY = SimpleCloudKey.of("papertweaks:back_cmd_cooldown");
 
     private final Config config;
+    private final TeleportWarmups warmups;
 
     @Inject
-    Commands(Config config) {
+    Commands(Config config, TeleportWarmups warmups) {
         this.config = config;
+        this.warmups = warmups;
     }
 
     @Override
@@ -59,6 +62,9 @@ class Commands extends ConfiguredModuleCommand {
         manager.command(backCooldown.applyTo(builder)
                 .permission(modulePermission("vanillatweaks.back"))
                 .handler(sync((context, player) -> {
+                    if (this.warmups.isWarmingUp(player)) {
+                        return;
+                    }
                     Location loc = Back.BACK_LOCATION.getFrom(player);
                     if (loc == null) {
                         context.getSender().sendMessage(translatable("modules.back.commands.root.fail.no-loc", RED));
@@ -67,7 +73,7 @@ class Commands extends ConfiguredModuleCommand {
                     loc = PTUtils.toCenter(loc, false);
                     context.getSender().sendMessage(translatable("modules.back.commands.root.success", GOLD));
                     if (this.config.delay > 0) {
-                        new BackTeleportRunnable(player, loc, this.config.delay * 20L, context.getSender()).start();
+                        this.warmups.schedule(new BackTeleportWarmup(player, loc, this.config.delay * 20L, context.getSender()));
                     } else {
                         Back.setBackLocation(player, player.getLocation());
                         if (loc.getChunk().isLoaded()) {
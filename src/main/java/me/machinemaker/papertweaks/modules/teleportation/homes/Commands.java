@@ -31,6 +31,7 @@ import me.machinemaker.papertweaks.db.model.teleportation.homes.Home;
 import me.machinemaker.papertweaks.modules.ConfiguredModuleCommand;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
 import me.machinemaker.papertweaks.modules.teleportation.back.Back;
+import me.machinemaker.papertweaks.teleport.TeleportWarmups;
 import net.kyori.adventure.text.format.TextColor;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -51,11 +52,13 @@ class Commands extends ConfiguredModuleCommand {
 
     private final HomesDAO homesDAO;
     private final Config config;
+    private final TeleportWarmups warmups;
 
     @Inject
-    Commands(HomesDAO homesDAO, Config config) {
+    Commands(HomesDAO homesDAO, Config config, TeleportWarmups warmups) {
         this.homesDAO = homesDAO;
         this.config = config;
+        this.warmups = warmups;
     }
 
     @Override
@@ -136,7 +139,7 @@ class Commands extends ConfiguredModuleCommand {
         ).command(homeCooldown.applyTo(this.player("home"))
                 .argument(this.argumentFactory.home(false, "home"))
                 .handler(sync((context, player) -> {
-                    if (HomeTeleportRunnable.AWAITING_TELEPORT.containsKey(player.getUniqueId())) {
+                    if (this.warmups.isWarmingUp(player)) {
                         return;
                     }
                     Home home = context.get("home");
@@ -147,7 +150,7 @@ class Commands extends ConfiguredModuleCommand {
                     }
                     context.getSender().sendMessage(translatable("modules.homes.commands.home.success", GOLD, text(home.getName(), YELLOW)));
                     if (this.config.sethomeDelay > 0) {
-                        new HomeTeleportRunnable(player, home.getLocation(), this.config.sethomeDelay * 20, context.getSender()).start();
+                        this.warmups.schedule(new HomeTeleportWarmup(player, home.getLocation(), this.config.sethomeDelay * 20, context.getSender()));
                     } else {
                         Back.setBackLocation(player, player.getLocation()); // Store back location
                         if (home.getLocation().getChunk().isLoaded()) {
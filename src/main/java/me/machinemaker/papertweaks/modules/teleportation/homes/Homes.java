@@ -43,7 +43,7 @@ public class Homes extends ModuleBase {
     @Override
     protected void configure() {
         super.configure();
-        requestStaticInjection(HomeTeleportRunnable.class);
+        requestStaticInjection(HomeTeleportWarmup.class);
     }
 
     @Override
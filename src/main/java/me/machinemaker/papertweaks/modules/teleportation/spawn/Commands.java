@@ -25,21 +25,17 @@ import cloud.commandframework.execution.CommandExecutionHandler;
 import cloud.commandframework.keys.CloudKey;
 import cloud.commandframework.keys.SimpleCloudKey;
 import cloud.commandframework.minecraft.extras.RichDescription;
-import com.google.common.collect.Maps;
 import com.google.inject.Inject;
 import me.machinemaker.papertweaks.cloud.cooldown.CommandCooldown;
 import me.machinemaker.papertweaks.cloud.dispatchers.CommandDispatcher;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
 import me.machinemaker.papertweaks.modules.teleportation.back.Back;
+import me.machinemaker.papertweaks.teleport.TeleportWarmups;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
-import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.UUID;
 
 import static net.kyori.adventure.text.Component.text;
 import static net.kyori.adventure.text.Component.translatable;
@@ -50,15 +46,14 @@ class Commands extends ModuleCommand {
 
     private static final CommandArgument<CommandDispatcher, World> WORLD_ARG = WorldArgument.of("world");
 
-    static final Map<UUID, BukkitTask> AWAITING_TELEPORT = Maps.newHashMap();
     static final CloudKey<Void> SPAWN_CMD_COOLDOWN_KEY = SimpleCloudKey.of("papertweaks:spawn_cmd_cooldown");
 
-    private final JavaPlugin plugin;
     private final Config config;
+    private final TeleportWarmups warmups;
     @Inject
-    Commands(JavaPlugin plugin, Config config) {
-        this.plugin = plugin;
+    Commands(Config config, TeleportWarmups warmups) {
         this.config = config;
+        this.warmups = warmups;
     }
 
     @Override
@@ -83,13 +78,13 @@ class Commands extends ModuleCommand {
 
     private CommandExecutionHandler<CommandDispatcher> handleSpawnCmd() {
         return sync((context, player) -> {
-            if (AWAITING_TELEPORT.containsKey(player.getUniqueId())) {
+            if (this.warmups.isWarmingUp(player)) {
                 return;
             }
             Location spawnLoc = context.getOptional(WORLD_ARG).orElse(this.config.defaultsToMainWorld ? Bukkit.getWorlds().get(0) : player.getWorld()).getSpawnLocation();
             context.getSender().sendMessage(translatable("modules.spawn.teleporting", GOLD));
             if (this.config.delay > 0) {
-                AWAITING_TELEPORT.put(player.getUniqueId(), new SpawnTeleportRunnable(player, context.getSender(), spawnLoc, this.config.delay * 20, (p) -> AWAITING_TELEPORT.remove(p.getUniqueId())).runTaskTimer(this.plugin, 1L, 1L));
+                this.warmups.schedule(new SpawnTeleportWarmup(player, context.getSender(), spawnLoc, this.config.delay * 20));
             } else {
                 Back.setBackLocation(player, player.getLocation()); // Set back location
                 if (spawnLoc.getChunk().isLoaded()) {
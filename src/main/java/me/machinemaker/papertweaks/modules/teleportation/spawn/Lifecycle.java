@@ -25,24 +25,23 @@ import me.machinemaker.papertweaks.modules.ModuleConfig;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
 import me.machinemaker.papertweaks.modules.ModuleListener;
 import me.machinemaker.papertweaks.modules.ModuleRecipe;
+import me.machinemaker.papertweaks.teleport.TeleportWarmups;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Set;
 
 class Lifecycle extends ModuleLifecycle {
 
+    private final TeleportWarmups warmups;
+
     @Inject
-    Lifecycle(JavaPlugin plugin, Set<ModuleCommand> commands, Set<ModuleListener> listeners, Set<ModuleConfig> configs, Set<ModuleRecipe<?>> moduleRecipes, Spawn spawn) {
+    Lifecycle(JavaPlugin plugin, Set<ModuleCommand> commands, Set<ModuleListener> listeners, Set<ModuleConfig> configs, Set<ModuleRecipe<?>> moduleRecipes, Spawn spawn, TeleportWarmups warmups) {
         super(plugin, commands, listeners, configs, moduleRecipes);
+        this.warmups = warmups;
     }
 
     @Override
     public void onDisable(boolean isShutdown) {
-        Commands.AWAITING_TELEPORT.forEach((uuid, bukkitTask) -> {
-            if (!bukkitTask.isCancelled()) {
-                bukkitTask.cancel();
-            }
-        });
-        Commands.AWAITING_TELEPORT.clear();
+        this.warmups.endAll(warmup -> warmup instanceof SpawnTeleportWarmup);
     }
 }
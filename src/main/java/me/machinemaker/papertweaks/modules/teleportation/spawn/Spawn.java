@@ -35,7 +35,7 @@ public class Spawn extends ModuleBase {
     @Override
     protected void configure() {
         super.configure();
-        requestStaticInjection(SpawnTeleportRunnable.class);
+        requestStaticInjection(SpawnTeleportWarmup.class);
     }
 
     @Override
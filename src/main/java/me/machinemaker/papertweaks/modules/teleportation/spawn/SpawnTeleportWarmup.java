@@ -23,29 +23,26 @@ import com.google.inject.Inject;
 import me.machinemaker.papertweaks.cloud.cooldown.CommandCooldownManager;
 import me.machinemaker.papertweaks.cloud.dispatchers.CommandDispatcher;
 import me.machinemaker.papertweaks.modules.teleportation.back.Back;
-import me.machinemaker.papertweaks.utils.runnables.TeleportRunnable;
+import me.machinemaker.papertweaks.teleport.TeleportWarmup;
 import net.kyori.adventure.audience.Audience;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
 import java.util.UUID;
-import java.util.function.Consumer;
 
 import static net.kyori.adventure.text.Component.translatable;
 import static net.kyori.adventure.text.format.NamedTextColor.*;
 
-class SpawnTeleportRunnable extends TeleportRunnable {
+class SpawnTeleportWarmup extends TeleportWarmup {
 
     @Inject
     private static CommandCooldownManager<CommandDispatcher, UUID> cooldownManager;
 
     private final Audience audience;
-    private final Consumer<Player> callback;
 
-    public SpawnTeleportRunnable(Player player, Audience audience, Location teleportLoc, long tickDelay, Consumer<Player> callback) {
+    public SpawnTeleportWarmup(Player player, Audience audience, Location teleportLoc, long tickDelay) {
         super(player, teleportLoc, tickDelay);
         this.audience = audience;
-        this.callback = callback;
     }
 
     @Override
@@ -54,13 +51,8 @@ class SpawnTeleportRunnable extends TeleportRunnable {
     }
 
     @Override
-    public void onMove() {
-        audience.sendMessage(translatable("modules.spawn.teleporting.moved", RED));
+    public void onCancel(CancelReason reason) {
+        audience.sendMessage(translatable(reason == CancelReason.MOVED ? "modules.spawn.teleporting.moved" : "teleport-warmup.damaged", RED));
         cooldownManager.invalidate(player.getUniqueId(), Commands.SPAWN_CMD_COOLDOWN_KEY);
     }
-
-    @Override
-    public void onEnd() {
-        this.callback.accept(this.player);
-    }
 }
@@ -0,0 +1,188 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.utilities.killemptyboats;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import me.machinemaker.papertweaks.utils.runnables.TimerRunnable;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Boat;
+import org.bukkit.entity.ChestBoat;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.Component.translatable;
+import static net.kyori.adventure.text.format.NamedTextColor.GOLD;
+import static net.kyori.adventure.text.format.NamedTextColor.RED;
+import static net.kyori.adventure.text.format.NamedTextColor.YELLOW;
+
+/**
+ * Removes empty boats a slice of chunks at a time. Each tick the current
+ * sweep works through its list of chunks until the configured time budget
+ * is used up, so a sweep over a large server is spread over several ticks
+ * instead of stalling one.
+ */
+@Singleton
+class BoatSweeper extends TimerRunnable {
+
+    private static final int PROGRESS_INTERVAL_TICKS = 5 * 20;
+
+    private final Config config;
+    private @Nullable Sweep sweep;
+
+    @Inject
+    BoatSweeper(Plugin plugin, Config config) {
+        super(plugin);
+        this.config = config;
+    }
+
+    /**
+     * Starts sweeping the loaded chunks of some worlds.
+     *
+     * @param audience who to report progress to
+     * @param worlds the worlds to sweep
+     * @param filter the boats to remove
+     * @return false if a sweep is already running
+     */
+    boolean start(Audience audience, Collection<World> worlds, Filter filter) {
+        if (this.sweep != null) {
+            return false;
+        }
+        List<Chunk> chunks = new ArrayList<>();
+        for (World world : worlds) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                if (filter.mayContain(chunk)) {
+                    chunks.add(chunk);
+                }
+            }
+        }
+        this.sweep = new Sweep(audience, chunks, filter);
+        audience.sendMessage(translatable("modules.kill-empty-boats.sweep.started", YELLOW, text(chunks.size(), GOLD)));
+        return true;
+    }
+
+    @Nullable Sweep current() {
+        return this.sweep;
+    }
+
+    void clear() {
+        this.sweep = null;
+    }
+
+    @Override
+    public void run() {
+        Sweep sweep = this.sweep;
+        if (sweep == null) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(this.config.tickBudgetMicros);
+        while (sweep.swept < sweep.chunks.size()) {
+            Chunk chunk = sweep.chunks.get(sweep.swept++);
+            if (chunk.isLoaded() && chunk.isEntitiesLoaded()) { // chunks unloaded since the sweep started are skipped
+                sweep.removed += removeBoats(chunk.getEntities(), sweep.filter);
+            }
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+
+        if (sweep.swept == sweep.chunks.size()) {
+            sweep.audience.sendMessage(translatable("modules.kill-empty-boats.removed-boats", sweep.removed > 0 ? YELLOW : RED, text(sweep.removed)));
+            this.sweep = null;
+        } else if (++sweep.ticks % PROGRESS_INTERVAL_TICKS == 0) {
+            sweep.audience.sendMessage(sweep.progress());
+        }
+    }
+
+    static int removeBoats(Entity[] entities, Filter filter) {
+        int removed = 0;
+        for (Entity entity : entities) {
+            if (entity instanceof Boat boat && filter.test(boat)) {
+                boat.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    static final class Sweep {
+
+        private final Audience audience;
+        private final List<Chunk> chunks;
+        private final Filter filter;
+        private int swept;
+        private int removed;
+        private int ticks;
+
+        private Sweep(Audience audience, List<Chunk> chunks, Filter filter) {
+            this.audience = audience;
+            this.chunks = chunks;
+            this.filter = filter;
+        }
+
+        Component progress() {
+            return translatable("modules.kill-empty-boats.sweep.progress", YELLOW, text(this.swept, GOLD), text(this.chunks.size(), GOLD), text(this.removed, GOLD));
+        }
+    }
+
+    /**
+     * Which boats to remove.
+     *
+     * @param center only remove boats within radius blocks of this location, if set
+     * @param radius the radius around center
+     * @param minAgeTicks only remove boats that have existed at least this long
+     * @param includeFilledChests also remove chest boats with items in them
+     */
+    record Filter(@Nullable Location center, double radius, int minAgeTicks, boolean includeFilledChests) {
+
+        boolean mayContain(Chunk chunk) {
+            if (this.center == null) {
+                return true;
+            }
+            if (!chunk.getWorld().equals(this.center.getWorld())) {
+                return false;
+            }
+            double dx = Math.max(0, Math.abs(this.center.getX() - ((chunk.getX() << 4) + 8)) - 8);
+            double dz = Math.max(0, Math.abs(this.center.getZ() - ((chunk.getZ() << 4) + 8)) - 8);
+            return dx * dx + dz * dz <= this.radius * this.radius;
+        }
+
+        boolean test(Boat boat) {
+            if (!boat.getPassengers().isEmpty() || boat.getTicksLived() < this.minAgeTicks) {
+                return false;
+            }
+            if (!this.includeFilledChests && boat instanceof ChestBoat chestBoat && !chestBoat.getInventory().isEmpty()) {
+                return false;
+            }
+            return this.center == null || boat.getLocation().distanceSquared(this.center) <= this.radius * this.radius;
+        }
+    }
+}
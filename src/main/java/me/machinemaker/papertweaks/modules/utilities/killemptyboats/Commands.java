@@ -19,10 +19,19 @@
  */
 package me.machinemaker.papertweaks.modules.utilities.killemptyboats;
 
+import cloud.commandframework.arguments.standard.IntegerArgument;
+import cloud.commandframework.bukkit.parsers.WorldArgument;
+import cloud.commandframework.minecraft.extras.RichDescription;
+import com.google.inject.Inject;
+import me.machinemaker.papertweaks.cloud.dispatchers.CommandDispatcher;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.World;
-import org.bukkit.entity.Boat;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 import static net.kyori.adventure.text.Component.text;
 import static net.kyori.adventure.text.Component.translatable;
@@ -31,23 +40,55 @@ import static net.kyori.adventure.text.format.NamedTextColor.*;
 @ModuleCommand.Info(value = "killboats", descriptionKey = "modules.kill-empty-boats.commands.root", help = false, infoOnRoot = false)
 class Commands extends ModuleCommand {
 
+    private final BoatSweeper sweeper;
+
+    @Inject
+    Commands(BoatSweeper sweeper) {
+        this.sweeper = sweeper;
+    }
+
     @Override
     protected void registerCommands() {
         var builder = this.builder();
 
         manager.command(builder
                 .permission(modulePermission("vanillatweaks.killboats"))
+                .flag(manager.flagBuilder("world")
+                        .withArgument(WorldArgument.of("world"))
+                        .withDescription(RichDescription.translatable("modules.kill-empty-boats.commands.flags.world")))
+                .flag(manager.flagBuilder("radius")
+                        .withArgument(IntegerArgument.<CommandDispatcher>builder("blocks").withMin(1))
+                        .withDescription(RichDescription.translatable("modules.kill-empty-boats.commands.flags.radius")))
+                .flag(manager.flagBuilder("min-age")
+                        .withArgument(IntegerArgument.<CommandDispatcher>builder("seconds").withMin(0))
+                        .withDescription(RichDescription.translatable("modules.kill-empty-boats.commands.flags.min-age")))
+                .flag(manager.flagBuilder("include-filled-chests")
+                        .withDescription(RichDescription.translatable("modules.kill-empty-boats.commands.flags.include-filled-chests")))
                 .handler(sync(context -> {
-                    int count = 0;
-                    for (World world : Bukkit.getWorlds()) {
-                        for (Boat boat : world.getEntitiesByClass(Boat.class)) {
-                            if (boat.getPassengers().isEmpty()) {
-                                count++;
-                                boat.remove();
-                            }
+                    @Nullable BoatSweeper.Sweep current = this.sweeper.current();
+                    if (current != null) {
+                        context.getSender().sendMessage(translatable("modules.kill-empty-boats.sweep.running", RED));
+                        context.getSender().sendMessage(current.progress());
+                        return;
+                    }
+                    @Nullable World world = context.flags().getValue("world", null);
+                    @Nullable Integer radius = context.flags().getValue("radius", null);
+                    @Nullable Location center = null;
+                    if (radius != null) {
+                        if (!(context.getSender().sender() instanceof Player player)) {
+                            context.getSender().sendMessage(translatable("modules.kill-empty-boats.sweep.radius-needs-player", RED));
+                            return;
+                        }
+                        center = player.getLocation();
+                        if (world != null && !world.equals(center.getWorld())) {
+                            context.getSender().sendMessage(translatable("modules.kill-empty-boats.sweep.radius-other-world", RED));
+                            return;
                         }
+                        world = center.getWorld();
                     }
-                    context.getSender().sendMessage(translatable("modules.kill-empty-boats.removed-boats", count > 0 ? YELLOW : RED, text(count)));
+                    int minAgeSeconds = context.flags().getValue("min-age", 0);
+                    BoatSweeper.Filter filter = new BoatSweeper.Filter(center, radius == null ? 0 : radius, minAgeSeconds * 20, context.flags().isPresent("include-filled-chests"));
+                    this.sweeper.start(context.getSender(), world == null ? Bukkit.getWorlds() : List.of(world), filter);
                 }))
         );
     }
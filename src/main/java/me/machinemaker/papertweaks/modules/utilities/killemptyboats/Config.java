@@ -0,0 +1,48 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.utilities.killemptyboats;
+
+import me.machinemaker.lectern.annotations.Description;
+import me.machinemaker.lectern.annotations.Key;
+import me.machinemaker.lectern.annotations.validations.numbers.Min;
+import me.machinemaker.papertweaks.config.VTConfig;
+import me.machinemaker.papertweaks.modules.ModuleConfig;
+
+@VTConfig
+class Config extends ModuleConfig {
+
+    @Min(100)
+    @Key("tick-budget-micros")
+    @Description("How long, in microseconds, /killboats may spend removing boats each tick before continuing on the next tick")
+    public int tickBudgetMicros = 2000;
+
+    @Key("auto-sweep.enabled")
+    @Description("Remove empty boats from chunks as they unload")
+    public boolean autoSweep = false;
+
+    @Min(0)
+    @Key("auto-sweep.min-age-seconds")
+    @Description("Only boats that have existed for at least this many seconds are removed when their chunk unloads")
+    public int autoSweepMinAgeSeconds = 300;
+
+    @Key("auto-sweep.include-filled-chests")
+    @Description("Also remove chest boats that still have items in them when their chunk unloads")
+    public boolean autoSweepIncludeFilledChests = false;
+}
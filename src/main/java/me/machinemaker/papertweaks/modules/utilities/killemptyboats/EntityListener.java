@@ -0,0 +1,45 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.utilities.killemptyboats;
+
+import com.google.inject.Inject;
+import me.machinemaker.papertweaks.modules.ModuleListener;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+
+class EntityListener implements ModuleListener {
+
+    private final Config config;
+
+    @Inject
+    EntityListener(Config config) {
+        this.config = config;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        if (this.config.autoSweep) {
+            BoatSweeper.Filter filter = new BoatSweeper.Filter(null, 0, this.config.autoSweepMinAgeSeconds * 20, this.config.autoSweepIncludeFilledChests);
+            BoatSweeper.removeBoats(event.getEntities().toArray(Entity[]::new), filter);
+        }
+    }
+}
@@ -22,18 +22,30 @@ package me.machinemaker.papertweaks.modules.utilities.killemptyboats;
 import me.machinemaker.papertweaks.annotations.ModuleInfo;
 import me.machinemaker.papertweaks.modules.ModuleBase;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
+import me.machinemaker.papertweaks.modules.ModuleConfig;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
+import me.machinemaker.papertweaks.modules.ModuleListener;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
 import java.util.Set;
 
-@ModuleInfo(name = "KillEmptyBoats", configPath = "utilities.kill-empty-boats", description = "Destroy all empty boats currently loaded")
+@ModuleInfo(name = "KillEmptyBoats", configPath = "utilities.kill-empty-boats", description = "Destroy empty boats currently loaded, or as their chunks unload")
 public class KillEmptyBoats extends ModuleBase {
 
     @Override
     protected @NotNull Class<? extends ModuleLifecycle> lifecycle() {
-        return ModuleLifecycle.Empty.class;
+        return Lifecycle.class;
+    }
+
+    @Override
+    protected @NotNull Collection<Class<? extends ModuleListener>> listeners() {
+        return Set.of(EntityListener.class);
+    }
+
+    @Override
+    protected @NotNull Collection<Class<? extends ModuleConfig>> configs() {
+        return Set.of(Config.class);
     }
 
     @Override
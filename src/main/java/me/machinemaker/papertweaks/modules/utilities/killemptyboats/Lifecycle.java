@@ -0,0 +1,52 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.utilities.killemptyboats;
+
+import com.google.inject.Inject;
+import me.machinemaker.papertweaks.modules.ModuleCommand;
+import me.machinemaker.papertweaks.modules.ModuleConfig;
+import me.machinemaker.papertweaks.modules.ModuleLifecycle;
+import me.machinemaker.papertweaks.modules.ModuleListener;
+import me.machinemaker.papertweaks.modules.ModuleRecipe;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Set;
+
+class Lifecycle extends ModuleLifecycle {
+
+    private final BoatSweeper sweeper;
+
+    @Inject
+    Lifecycle(JavaPlugin plugin, Set<ModuleCommand> commands, Set<ModuleListener> listeners, Set<ModuleConfig> configs, Set<ModuleRecipe<?>> moduleRecipes, BoatSweeper sweeper) {
+        super(plugin, commands, listeners, configs, moduleRecipes);
+        this.sweeper = sweeper;
+    }
+
+    @Override
+    public void onEnable() {
+        this.sweeper.runTaskTimer(1L, 1L);
+    }
+
+    @Override
+    public void onDisable(boolean isShutdown) {
+        this.sweeper.cancel();
+        this.sweeper.clear();
+    }
+}
@@ -20,8 +20,10 @@
 package me.machinemaker.papertweaks.modules.utilities.spawningspheres;
 
 import cloud.commandframework.arguments.standard.EnumArgument;
+import com.google.inject.Inject;
 import me.machinemaker.papertweaks.modules.ConfiguredModuleCommand;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
+import me.machinemaker.papertweaks.particles.ParticleEmitter;
 import me.machinemaker.papertweaks.pdc.PDCKey;
 import me.machinemaker.papertweaks.utils.Entities;
 import me.machinemaker.papertweaks.utils.Keys;
@@ -31,15 +33,22 @@ import net.kyori.adventure.text.ComponentLike;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.util.Services;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.Material;
-import org.bukkit.World;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.Entity;
-import org.bukkit.inventory.ItemStack;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import static net.kyori.adventure.text.Component.text;
 import static net.kyori.adventure.text.Component.translatable;
@@ -48,13 +57,26 @@ import static net.kyori.adventure.text.format.NamedTextColor.*;
 @ModuleCommand.Info(value = "spawningspheres", aliases = {"spawnsphere", "ss"}, i18n = "spawning-spheres", perm = "spawningspheres")
 class Commands extends ConfiguredModuleCommand {
 
+    // only used to clean up spheres made of armor stands by older versions
     private static final PDCKey<Color> COLOR_KEY = PDCKey.enums(Keys.legacyKey("color"), Color.class);
-    private static final double PHI =  Math.PI * (3.0 - Math.sqrt(5.0));
 
     private static final DespawnDistances DESPAWN_DISTANCES = Services.service(DespawnDistances.Provider.class)
             .map(DespawnDistances.Provider::create)
             .orElse(DespawnDistances.VANILLA);
 
+    private static final int MAX_LAYERS = 16;
+    private static final long HIGHLIGHT_TICKS = 20L * 60;
+
+    private final JavaPlugin plugin;
+    private final Spheres spheres;
+    private final Set<UUID> analyzing = new HashSet<>();
+
+    @Inject
+    Commands(JavaPlugin plugin, Spheres spheres) {
+        this.plugin = plugin;
+        this.spheres = spheres;
+    }
+
     @Override
     protected void registerCommands() {
         var builder = this.player();
@@ -63,25 +85,22 @@ class Commands extends ConfiguredModuleCommand {
                 .argument(EnumArgument.of(Color.class, "color"))
                 .handler(sync((context, player) -> {
                     Color color = context.get("color");
-                    Collection<ArmorStand> stands = Entities.getEntitiesOfType(ArmorStand.class, player.getWorld(), stand -> color == COLOR_KEY.getFrom(stand));
-                    if (!stands.isEmpty()) {
+                    if (this.spheres.has(player, color)) {
                         context.getSender().sendMessage(translatable("modules.spawning-spheres.commands.add.fail", RED, color));
                         return;
                     }
                     Location center = PTUtils.toBlockLoc(player.getLocation()).add(0.5, 0, 0.5);
-                    player.getWorld().spawn(center.clone().subtract(0, 1, 0), ArmorStand.class, stand -> {
-                        configureStand(stand, context.get("color"), color.center);
-                        stand.setCustomName("Center");
-                        stand.setCustomNameVisible(true);
-                    });
-                    this.fibonacciSphere(player.getWorld(), center, DESPAWN_DISTANCES.hard(player.getWorld()), 1500, color, color.outer);
-                    this.fibonacciSphere(player.getWorld(), center, DESPAWN_DISTANCES.soft(player.getWorld()), 200, color, color.inner);
+                    this.spheres.add(player, color, center, DESPAWN_DISTANCES.hard(player.getWorld()), DESPAWN_DISTANCES.soft(player.getWorld()));
                     context.getSender().sendMessage(translatable("modules.spawning-spheres.commands.add.succeed", GREEN, color));
                 }))
         ).command(literal(builder, "remove")
                 .argument(EnumArgument.of(Color.class, "color"))
                 .handler(sync((context, player) -> {
                     Color color = context.get("color");
+                    if (this.spheres.remove(player, color)) {
+                        context.getSender().sendMessage(translatable("modules.spawning-spheres.commands.remove.succeed", GREEN, color));
+                        return;
+                    }
                     Collection<ArmorStand> sphereStands = Entities.getEntitiesOfType(ArmorStand.class, player.getWorld(), stand -> color == COLOR_KEY.getFrom(stand));
                     if (sphereStands.isEmpty()) {
                         context.getSender().sendMessage(translatable("modules.spawning-spheres.commands.remove.fail", RED, color));
@@ -90,47 +109,64 @@ class Commands extends ConfiguredModuleCommand {
                     sphereStands.forEach(Entity::remove);
                     context.getSender().sendMessage(translatable("modules.spawning-spheres.commands.remove.succeed", GREEN, color));
                 }))
+        ).command(literal(builder, "analyze")
+                .handler(sync((context, player) -> {
+                    if (!this.analyzing.add(player.getUniqueId())) {
+                        context.getSender().sendMessage(translatable("modules.spawning-spheres.commands.analyze.running", RED));
+                        return;
+                    }
+                    Location center = PTUtils.toBlockLoc(player.getLocation());
+                    int radius = DESPAWN_DISTANCES.hard(player.getWorld());
+                    context.getSender().sendMessage(translatable("modules.spawning-spheres.commands.analyze.started", GRAY));
+                    new SpawnAnalysis(this.plugin, center, radius, result -> {
+                        this.analyzing.remove(player.getUniqueId());
+                        if (player.isOnline()) {
+                            this.report(player, center, radius, result);
+                        }
+                    }).start();
+                }))
         );
     }
 
-    private void fibonacciSphere(World world, Location center, double radius, int count, Color color, Material helmet) {
-        for (int i = 0; i < count; i++) {
-            final double y = radius - ((i / (double) (count - 1)) * (2 * radius));
-            final double radiusAtY = Math.sqrt(radius * radius - y * y);
-
-            final double theta = PHI * i;
-
-            final double x = Math.cos(theta) * radiusAtY;
-            final double z = Math.sin(theta) * radiusAtY;
-            world.spawn(center.clone().add(x, y, z), ArmorStand.class, stand -> {
-                configureStand(stand, color, helmet);
-                stand.setGlowing(true);
-            });
+    private void report(Player player, Location center, int radius, SpawnAnalysis.Result result) {
+        player.sendMessage(translatable("modules.spawning-spheres.commands.analyze.result", GREEN, text(result.totalDark(), GOLD), text(result.totalNight(), GOLD), text(radius, GOLD)));
+        if (result.unloadedChunks > 0) {
+            player.sendMessage(translatable("modules.spawning-spheres.commands.analyze.unloaded", YELLOW, text(result.unloadedChunks)));
+        }
+        List<Integer> layers = new ArrayList<>();
+        for (int i = 0; i < result.dark.length; i++) {
+            if (result.dark[i] > 0 || result.night[i] > 0) {
+                layers.add(i);
+            }
+        }
+        // only list the busiest layers, top to bottom
+        layers.sort(Comparator.comparingInt((Integer i) -> result.dark[i] + result.night[i]).reversed());
+        List<Integer> shown = new ArrayList<>(layers.subList(0, Math.min(MAX_LAYERS, layers.size())));
+        shown.sort(Comparator.reverseOrder());
+        for (int i : shown) {
+            player.sendMessage(translatable("modules.spawning-spheres.commands.analyze.layer", GRAY, text(result.minY + i, WHITE), text(result.dark[i], WHITE), text(result.night[i], WHITE)));
+        }
+        if (layers.size() > shown.size()) {
+            player.sendMessage(translatable("modules.spawning-spheres.commands.analyze.more-layers", GRAY, text(layers.size() - shown.size())));
+        }
+        @Nullable ParticleEmitter highlight = this.spheres.highlight(player, center, result.highlights(), radius);
+        if (highlight != null) {
+            Bukkit.getScheduler().runTaskLater(this.plugin, () -> this.spheres.removeHighlight(player.getUniqueId(), highlight), HIGHLIGHT_TICKS);
         }
-    }
-
-    private static void configureStand(ArmorStand stand, Color color, Material helmet) {
-        stand.setGravity(false);
-        stand.setVisible(false);
-        stand.setMarker(true);
-        stand.setCollidable(false);
-        stand.setArms(false);
-        stand.setInvulnerable(true);
-        stand.getEquipment().setHelmet(new ItemStack(helmet));
-        COLOR_KEY.setTo(stand, color);
     }
 
     enum Color implements ComponentLike {
-        RED(Material.REDSTONE_BLOCK, Material.RED_CONCRETE, Material.ORANGE_CONCRETE, NamedTextColor.RED),
-        BLUE(Material.LAPIS_BLOCK, Material.BLUE_CONCRETE, Material.CYAN_CONCRETE, NamedTextColor.BLUE),
-        GREEN(Material.EMERALD_BLOCK, Material.GREEN_CONCRETE, Material.LIME_CONCRETE, NamedTextColor.GREEN);
-
-        final Material center;
-        final Material inner;
-        final Material outer;
+        // dust colors match the redstone/lapis/emerald blocks and concrete the armor stands used to wear
+        RED(org.bukkit.Color.fromRGB(175, 24, 5), org.bukkit.Color.fromRGB(142, 33, 33), org.bukkit.Color.fromRGB(224, 97, 1), NamedTextColor.RED),
+        BLUE(org.bukkit.Color.fromRGB(31, 67, 140), org.bukkit.Color.fromRGB(45, 47, 143), org.bukkit.Color.fromRGB(21, 119, 136), NamedTextColor.BLUE),
+        GREEN(org.bukkit.Color.fromRGB(42, 203, 88), org.bukkit.Color.fromRGB(73, 91, 36), org.bukkit.Color.fromRGB(94, 169, 24), NamedTextColor.GREEN);
+
+        final org.bukkit.Color center;
+        final org.bukkit.Color inner;
+        final org.bukkit.Color outer;
         final NamedTextColor color;
 
-        Color(Material center, Material inner, Material outer, NamedTextColor color) {
+        Color(org.bukkit.Color center, org.bukkit.Color inner, org.bukkit.Color outer, NamedTextColor color) {
             this.center = center;
             this.inner = inner;
             this.outer = outer;
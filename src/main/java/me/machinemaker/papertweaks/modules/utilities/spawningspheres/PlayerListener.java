@@ -17,26 +17,24 @@
  * You should have received a copy of the GNU General Public License
  * along with this program. If not, see <https://www.gnu.org/licenses/>.
  */
-package me.machinemaker.papertweaks.modules.survival.multiplayersleep;
+package me.machinemaker.papertweaks.modules.utilities.spawningspheres;
 
-import java.util.function.Consumer;
-import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
+import com.google.inject.Inject;
+import me.machinemaker.papertweaks.modules.ModuleListener;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.player.PlayerQuitEvent;
 
-class PlayerBedCheckRunnable extends BukkitRunnable {
+class PlayerListener implements ModuleListener {
 
-    private final Player player;
-    private final Consumer<Player> sleepingCallback;
+    private final Spheres spheres;
 
-    PlayerBedCheckRunnable(final Player player, final Consumer<Player> sleepingCallback) {
-        this.player = player;
-        this.sleepingCallback = sleepingCallback;
+    @Inject
+    PlayerListener(final Spheres spheres) {
+        this.spheres = spheres;
     }
 
-    @Override
-    public void run() {
-        if (this.player.getSleepTicks() >= 100) {
-            this.sleepingCallback.accept(this.player);
-        }
+    @EventHandler
+    public void onPlayerQuit(final PlayerQuitEvent event) {
+        this.spheres.removeAll(event.getPlayer().getUniqueId());
     }
 }
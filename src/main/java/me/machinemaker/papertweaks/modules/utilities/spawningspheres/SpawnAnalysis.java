@@ -0,0 +1,272 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.utilities.spawningspheres;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import me.machinemaker.papertweaks.utils.LongHashSet;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.type.Slab;
+import org.bukkit.block.data.type.Stairs;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+/**
+ * Counts the blocks a hostile mob could spawn on inside a spawning sphere.
+ * <p>
+ * The main thread only takes {@link ChunkSnapshot}s of the loaded chunks
+ * in the sphere, a few per tick. Each batch of snapshots is classified on
+ * an async worker and the results are merged once every batch finished.
+ * The rules are the common ones for monsters: a full top face to stand on,
+ * two passable blocks above it, block light within the dimension's limit,
+ * and not in a biome without monster spawns. A block that only has sky
+ * light is counted separately, since it can only spawn mobs at night.
+ */
+class SpawnAnalysis extends BukkitRunnable {
+
+    static final int NO_SPAWN_RADIUS = 24;
+    private static final int SNAPSHOTS_PER_TICK = 8;
+    private static final int HIGHLIGHT_LIMIT = 512;
+    private static final int HIGHLIGHT_SPACING_MASK = 3; // only highlight blocks on a 4x4 grid
+    private static final Set<Biome> NO_MONSTER_BIOMES = EnumSet.of(Biome.MUSHROOM_FIELDS, Biome.DEEP_DARK);
+
+    private final Plugin plugin;
+    private final World world;
+    private final int centerX;
+    private final int centerY;
+    private final int centerZ;
+    private final int radius;
+    private final int minY;
+    private final int maxY;
+    private final int blockLightLimit;
+    private final long[] chunks;
+    private final Consumer<Result> callback;
+    private final Queue<Result> results = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger remainingBatches;
+    private int nextChunk;
+    private int unloadedChunks;
+
+    SpawnAnalysis(final Plugin plugin, final Location center, final int radius, final Consumer<Result> callback) {
+        this.plugin = plugin;
+        this.world = center.getWorld();
+        this.centerX = center.getBlockX();
+        this.centerY = center.getBlockY();
+        this.centerZ = center.getBlockZ();
+        this.radius = radius;
+        this.minY = Math.max(this.world.getMinHeight() + 1, this.centerY - radius);
+        this.maxY = Math.min(this.world.getMaxHeight() - 2, this.centerY + radius);
+        this.blockLightLimit = this.world.getEnvironment() == World.Environment.NETHER ? 15 : 0;
+        this.callback = callback;
+        final LongHashSet chunkKeys = new LongHashSet();
+        final long radiusSquared = (long) radius * radius;
+        for (int chunkX = (this.centerX - radius) >> 4; chunkX <= (this.centerX + radius) >> 4; chunkX++) {
+            for (int chunkZ = (this.centerZ - radius) >> 4; chunkZ <= (this.centerZ + radius) >> 4; chunkZ++) {
+                // the closest point of the chunk to the center has to be inside the sphere
+                final long dx = Math.max(0, Math.max((chunkX << 4) - this.centerX, this.centerX - ((chunkX << 4) + 15)));
+                final long dz = Math.max(0, Math.max((chunkZ << 4) - this.centerZ, this.centerZ - ((chunkZ << 4) + 15)));
+                if (dx * dx + dz * dz <= radiusSquared) {
+                    chunkKeys.add(Chunk.getChunkKey(chunkX, chunkZ));
+                }
+            }
+        }
+        this.chunks = new long[chunkKeys.size()];
+        final int[] i = {0};
+        chunkKeys.forEach(key -> this.chunks[i[0]++] = key);
+        this.remainingBatches = new AtomicInteger((this.chunks.length + SNAPSHOTS_PER_TICK - 1) / SNAPSHOTS_PER_TICK);
+    }
+
+    void start() {
+        if (this.chunks.length == 0) {
+            this.callback.accept(new Result(this.minY, this.maxY, 0));
+            return;
+        }
+        this.runTaskTimer(this.plugin, 1L, 1L);
+    }
+
+    @Override
+    public void run() {
+        final List<ChunkSnapshot> batch = new ArrayList<>(SNAPSHOTS_PER_TICK);
+        final int end = Math.min(this.chunks.length, this.nextChunk + SNAPSHOTS_PER_TICK);
+        for (; this.nextChunk < end; this.nextChunk++) {
+            final int chunkX = (int) this.chunks[this.nextChunk];
+            final int chunkZ = (int) (this.chunks[this.nextChunk] >> 32);
+            if (this.world.isChunkLoaded(chunkX, chunkZ)) {
+                batch.add(this.world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, true, false));
+            } else {
+                this.unloadedChunks++;
+            }
+        }
+        final boolean last = this.nextChunk >= this.chunks.length;
+        final int unloaded = this.unloadedChunks;
+        if (last) {
+            this.cancel();
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(this.plugin, () -> {
+            final Result result = new Result(this.minY, this.maxY, 0);
+            for (final ChunkSnapshot snapshot : batch) {
+                this.classify(snapshot, result);
+            }
+            this.results.add(result);
+            if (this.remainingBatches.decrementAndGet() == 0) {
+                this.finish(unloaded);
+            }
+        });
+    }
+
+    private void finish(final int unloaded) {
+        final Result merged = new Result(this.minY, this.maxY, unloaded);
+        for (final Result result : this.results) {
+            merged.merge(result);
+        }
+        Bukkit.getScheduler().runTask(this.plugin, () -> this.callback.accept(merged));
+    }
+
+    private void classify(final ChunkSnapshot snapshot, final Result result) {
+        final long radiusSquared = (long) this.radius * this.radius;
+        final long noSpawnSquared = (long) NO_SPAWN_RADIUS * NO_SPAWN_RADIUS;
+        for (int localX = 0; localX < 16; localX++) {
+            final int x = snapshot.getX() << 4 | localX;
+            for (int localZ = 0; localZ < 16; localZ++) {
+                final int z = snapshot.getZ() << 4 | localZ;
+                final long horizontalSquared = (long) (x - this.centerX) * (x - this.centerX) + (long) (z - this.centerZ) * (z - this.centerZ);
+                if (horizontalSquared > radiusSquared) {
+                    continue;
+                }
+                final int reach = (int) Math.sqrt(radiusSquared - horizontalSquared);
+                final int fromY = Math.max(this.minY, this.centerY - reach);
+                final int toY = Math.min(this.maxY, this.centerY + reach);
+                if (fromY > toY) {
+                    continue;
+                }
+                Material below = snapshot.getBlockType(localX, fromY - 1, localZ);
+                Material feet = snapshot.getBlockType(localX, fromY, localZ);
+                for (int y = fromY; y <= toY; y++) {
+                    final Material head = snapshot.getBlockType(localX, y + 1, localZ);
+                    final long distanceSquared = horizontalSquared + (long) (y - this.centerY) * (y - this.centerY);
+                    if (distanceSquared >= noSpawnSquared && isPassable(feet) && isPassable(head) && isFloor(snapshot, localX, y - 1, localZ, below)
+                        && snapshot.getBlockEmittedLight(localX, y, localZ) <= this.blockLightLimit
+                        && !NO_MONSTER_BIOMES.contains(snapshot.getBiome(localX, y, localZ))) {
+                        if (snapshot.getBlockSkyLight(localX, y, localZ) == 0) {
+                            result.dark[y - this.minY]++;
+                            if ((x & HIGHLIGHT_SPACING_MASK) == 0 && (z & HIGHLIGHT_SPACING_MASK) == 0 && result.highlightCount < HIGHLIGHT_LIMIT) {
+                                result.addHighlight(x - this.centerX + 0.5, y - this.centerY + 0.1, z - this.centerZ + 0.5);
+                            }
+                        } else {
+                            result.night[y - this.minY]++;
+                        }
+                    }
+                    below = feet;
+                    feet = head;
+                }
+            }
+        }
+    }
+
+    private static boolean isPassable(final Material type) {
+        return !type.isSolid() && type != Material.WATER && type != Material.LAVA && type != Material.POWDER_SNOW && !Tag.PREVENT_MOB_SPAWNING_INSIDE.isTagged(type);
+    }
+
+    private static boolean isFloor(final ChunkSnapshot snapshot, final int localX, final int y, final int localZ, final Material type) {
+        if (type.isOccluding()) {
+            return type != Material.BARRIER;
+        }
+        if (Tag.SLABS.isTagged(type)) {
+            final BlockData data = snapshot.getBlockData(localX, y, localZ);
+            return data instanceof Slab slab && slab.getType() != Slab.Type.BOTTOM;
+        }
+        if (Tag.STAIRS.isTagged(type)) {
+            final BlockData data = snapshot.getBlockData(localX, y, localZ);
+            return data instanceof Stairs stairs && stairs.getHalf() == Stairs.Half.TOP;
+        }
+        return false;
+    }
+
+    static final class Result {
+
+        final int minY;
+        final int[] dark;
+        final int[] night;
+        final int unloadedChunks;
+        double[] highlights = new double[48];
+        int highlightCount;
+
+        private Result(final int minY, final int maxY, final int unloadedChunks) {
+            this.minY = minY;
+            this.dark = new int[Math.max(0, maxY - minY + 1)];
+            this.night = new int[this.dark.length];
+            this.unloadedChunks = unloadedChunks;
+        }
+
+        private void addHighlight(final double x, final double y, final double z) {
+            if (this.highlightCount * 3 == this.highlights.length) {
+                this.highlights = Arrays.copyOf(this.highlights, this.highlights.length * 2);
+            }
+            this.highlights[this.highlightCount * 3] = x;
+            this.highlights[this.highlightCount * 3 + 1] = y;
+            this.highlights[this.highlightCount * 3 + 2] = z;
+            this.highlightCount++;
+        }
+
+        private void merge(final Result other) {
+            for (int i = 0; i < this.dark.length; i++) {
+                this.dark[i] += other.dark[i];
+                this.night[i] += other.night[i];
+            }
+            for (int i = 0; i < other.highlightCount && this.highlightCount < HIGHLIGHT_LIMIT; i++) {
+                this.addHighlight(other.highlights[i * 3], other.highlights[i * 3 + 1], other.highlights[i * 3 + 2]);
+            }
+        }
+
+        int totalDark() {
+            int total = 0;
+            for (final int count : this.dark) {
+                total += count;
+            }
+            return total;
+        }
+
+        int totalNight() {
+            int total = 0;
+            for (final int count : this.night) {
+                total += count;
+            }
+            return total;
+        }
+
+        double[] highlights() {
+            return Arrays.copyOf(this.highlights, this.highlightCount * 3);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import me.machinemaker.papertweaks.annotations.ModuleInfo;
 import me.machinemaker.papertweaks.modules.ModuleBase;
 import me.machinemaker.papertweaks.modules.ModuleCommand;
 import me.machinemaker.papertweaks.modules.ModuleLifecycle;
+import me.machinemaker.papertweaks.modules.ModuleListener;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 
@@ -37,7 +38,12 @@ public class SpawningSpheres extends ModuleBase {
 
     @Override
     protected @NotNull Class<? extends ModuleLifecycle> lifecycle() {
-        return ModuleLifecycle.Empty.class;
+        return Lifecycle.class;
+    }
+
+    @Override
+    protected @NotNull Collection<Class<? extends ModuleListener>> listeners() {
+        return Set.of(PlayerListener.class);
     }
 
     @Override
@@ -0,0 +1,163 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.utilities.spawningspheres;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import me.machinemaker.papertweaks.particles.ParticleEmitter;
+import me.machinemaker.papertweaks.particles.ParticleService;
+import me.machinemaker.papertweaks.particles.ParticleShape;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The spheres each player has created. Spheres are drawn with particles
+ * that are only sent to the player who created them, so they don't add
+ * any entities to the world and are gone when the player logs out.
+ */
+@Singleton
+class Spheres {
+
+    private static final int OUTER_POINTS = 1500;
+    private static final int INNER_POINTS = 200;
+    private static final int PERIOD = 20;
+    private static final double VIEW_MARGIN = 32;
+    private static final Particle.DustOptions HIGHLIGHT = new Particle.DustOptions(Color.fromRGB(255, 0, 0), 1.5F);
+
+    private final Map<UUID, Map<Commands.Color, List<ParticleEmitter>>> spheres = new HashMap<>();
+    private final Map<UUID, ParticleEmitter> highlights = new HashMap<>();
+    private final ParticleService particles;
+
+    @Inject
+    Spheres(final ParticleService particles) {
+        this.particles = particles;
+    }
+
+    boolean has(final Player player, final Commands.Color color) {
+        final @Nullable Map<Commands.Color, List<ParticleEmitter>> playerSpheres = this.spheres.get(player.getUniqueId());
+        return playerSpheres != null && playerSpheres.containsKey(color);
+    }
+
+    void add(final Player player, final Commands.Color color, final Location center, final double hardRadius, final double softRadius) {
+        final Set<UUID> viewer = Set.of(player.getUniqueId());
+        final List<ParticleEmitter> emitters = List.of(
+            this.particles.register(ParticleEmitter.builder(center, ParticleShape.point())
+                .particle(Particle.REDSTONE, new Particle.DustOptions(color.center, 3.0F))
+                .period(PERIOD)
+                .range(hardRadius + VIEW_MARGIN)
+                .viewers(viewer)
+                .build()),
+            this.particles.register(ParticleEmitter.builder(center, ParticleShape.sphere(hardRadius, OUTER_POINTS))
+                .particle(Particle.REDSTONE, new Particle.DustOptions(color.outer, 2.0F))
+                .period(PERIOD)
+                .range(hardRadius + VIEW_MARGIN)
+                .viewers(viewer)
+                .build()),
+            this.particles.register(ParticleEmitter.builder(center, ParticleShape.sphere(softRadius, INNER_POINTS))
+                .particle(Particle.REDSTONE, new Particle.DustOptions(color.inner, 2.0F))
+                .period(PERIOD)
+                .range(hardRadius + VIEW_MARGIN)
+                .viewers(viewer)
+                .build())
+        );
+        final @Nullable List<ParticleEmitter> previous = this.spheres.computeIfAbsent(player.getUniqueId(), uuid -> new EnumMap<>(Commands.Color.class)).put(color, emitters);
+        if (previous != null) {
+            this.particles.unregisterAll(previous);
+        }
+    }
+
+    boolean remove(final Player player, final Commands.Color color) {
+        final @Nullable Map<Commands.Color, List<ParticleEmitter>> playerSpheres = this.spheres.get(player.getUniqueId());
+        if (playerSpheres == null) {
+            return false;
+        }
+        final @Nullable List<ParticleEmitter> emitters = playerSpheres.remove(color);
+        if (playerSpheres.isEmpty()) {
+            this.spheres.remove(player.getUniqueId());
+        }
+        if (emitters == null) {
+            return false;
+        }
+        this.particles.unregisterAll(emitters);
+        return true;
+    }
+
+    /**
+     * Shows the result of a {@link SpawnAnalysis} to a player, replacing
+     * their previous one.
+     *
+     * @param player the player
+     * @param center the center of the analysis
+     * @param offsets the highlighted points, relative to the center
+     * @param radius the radius of the analysis
+     * @return the emitter, or null if there was nothing to highlight
+     */
+    @Nullable ParticleEmitter highlight(final Player player, final Location center, final double[] offsets, final double radius) {
+        this.removeHighlight(player.getUniqueId());
+        if (offsets.length == 0) {
+            return null;
+        }
+        final ParticleEmitter emitter = this.particles.register(ParticleEmitter.builder(center, ParticleShape.points(offsets))
+            .particle(Particle.REDSTONE, HIGHLIGHT)
+            .period(PERIOD)
+            .range(radius + VIEW_MARGIN)
+            .viewers(Set.of(player.getUniqueId()))
+            .build());
+        this.highlights.put(player.getUniqueId(), emitter);
+        return emitter;
+    }
+
+    void removeHighlight(final UUID playerId, final ParticleEmitter emitter) {
+        if (this.highlights.remove(playerId, emitter)) {
+            this.particles.unregister(emitter);
+        }
+    }
+
+    private void removeHighlight(final UUID playerId) {
+        final @Nullable ParticleEmitter previous = this.highlights.remove(playerId);
+        if (previous != null) {
+            this.particles.unregister(previous);
+        }
+    }
+
+    void removeAll(final UUID playerId) {
+        final @Nullable Map<Commands.Color, List<ParticleEmitter>> playerSpheres = this.spheres.remove(playerId);
+        if (playerSpheres != null) {
+            playerSpheres.values().forEach(this.particles::unregisterAll);
+        }
+        this.removeHighlight(playerId);
+    }
+
+    void clear() {
+        this.spheres.values().forEach(playerSpheres -> playerSpheres.values().forEach(this.particles::unregisterAll));
+        this.spheres.clear();
+        this.particles.unregisterAll(this.highlights.values());
+        this.highlights.clear();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.particles;
+
+import com.google.common.base.Preconditions;
+import java.util.Set;
+import java.util.UUID;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A static shape drawn by the {@link ParticleService}. Emitters are
+ * immutable; to move or restyle one, unregister it and register a new one.
+ */
+public final class ParticleEmitter {
+
+    final World world;
+    final double x;
+    final double y;
+    final double z;
+    final ParticleShape shape;
+    final Particle particle;
+    final @Nullable Object data;
+    final double offsetX;
+    final double offsetY;
+    final double offsetZ;
+    final double extra;
+    final int period;
+    final double range;
+    final @Nullable Set<UUID> viewers;
+    final int phase;
+
+    private ParticleEmitter(final Builder builder) {
+        this.world = builder.world;
+        this.x = builder.x;
+        this.y = builder.y;
+        this.z = builder.z;
+        this.shape = builder.shape;
+        this.particle = builder.particle;
+        this.data = builder.data;
+        this.offsetX = builder.offsetX;
+        this.offsetY = builder.offsetY;
+        this.offsetZ = builder.offsetZ;
+        this.extra = builder.extra;
+        this.period = builder.period;
+        this.range = builder.range;
+        this.viewers = builder.viewers;
+        // spread emitters with the same period over different ticks
+        this.phase = Math.floorMod(System.identityHashCode(this), this.period);
+    }
+
+    public static Builder builder(final Location location, final ParticleShape shape) {
+        return new Builder(location, shape);
+    }
+
+    public World world() {
+        return this.world;
+    }
+
+    boolean canSee(final Player player) {
+        return this.viewers == null || this.viewers.contains(player.getUniqueId());
+    }
+
+    public static final class Builder {
+
+        private final World world;
+        private final double x;
+        private final double y;
+        private final double z;
+        private final ParticleShape shape;
+        private Particle particle = Particle.END_ROD;
+        private @Nullable Object data;
+        private double offsetX;
+        private double offsetY;
+        private double offsetZ;
+        private double extra;
+        private int period = 10;
+        private double range = 32;
+        private @Nullable Set<UUID> viewers;
+
+        private Builder(final Location location, final ParticleShape shape) {
+            this.world = Preconditions.checkNotNull(location.getWorld(), "location must have a world");
+            this.x = location.getX();
+            this.y = location.getY();
+            this.z = location.getZ();
+            this.shape = shape;
+        }
+
+        public <T> Builder particle(final Particle particle, final @Nullable T data) {
+            Preconditions.checkArgument(data == null || particle.getDataType().isInstance(data), "%s requires %s data", particle, particle.getDataType());
+            this.particle = particle;
+            this.data = data;
+            return this;
+        }
+
+        public Builder offset(final double offsetX, final double offsetY, final double offsetZ) {
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.offsetZ = offsetZ;
+            return this;
+        }
+
+        public Builder extra(final double extra) {
+            this.extra = extra;
+            return this;
+        }
+
+        /**
+         * Sets how often the shape is drawn.
+         *
+         * @param period the period in ticks
+         * @return this builder
+         */
+        public Builder period(final int period) {
+            Preconditions.checkArgument(period > 0, "period must be positive");
+            this.period = period;
+            return this;
+        }
+
+        /**
+         * Sets how far away from the shape a player can be and still see it.
+         *
+         * @param range the range in blocks
+         * @return this builder
+         */
+        public Builder range(final double range) {
+            Preconditions.checkArgument(range > 0, "range must be positive");
+            this.range = range;
+            return this;
+        }
+
+        /**
+         * Limits the emitter to specific players. By default, everyone in range sees it.
+         *
+         * @param viewers the uuids of the players, the set is read live
+         * @return this builder
+         */
+        public Builder viewers(final @Nullable Set<UUID> viewers) {
+            this.viewers = viewers;
+            return this;
+        }
+
+        public ParticleEmitter build() {
+            return new ParticleEmitter(this);
+        }
+    }
+}
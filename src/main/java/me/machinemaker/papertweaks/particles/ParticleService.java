@@ -0,0 +1,235 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.particles;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import me.machinemaker.papertweaks.utils.LongHashSet;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Draws registered {@link ParticleEmitter}s for the players near them.
+ * <p>
+ * Emitters are bucketed by world and by 64 block region. Each tick, only
+ * the regions within reach of an online player are visited, and the
+ * emitters in them that are due look up nearby players in a grid of the
+ * online players built for that tick, sending the particles only to
+ * those players. Points further from the player are thinned out, and
+ * each player has a budget of particles per tick so a crowded area can't
+ * flood their connection. Emitters are main thread only.
+ */
+public class ParticleService implements Listener {
+
+    private static final int CELL_SHIFT = 5; // 32 block grid cells
+    private static final int REGION_SHIFT = 6; // 64 block emitter buckets
+    private static final int PLAYER_BUDGET = 1024;
+
+    private final Map<World, WorldEmitters> worlds = new HashMap<>();
+    private @Nullable BukkitTask task;
+    private int tick;
+    private int count;
+
+    private static long cell(final double x, final double z) {
+        return key((int) Math.floor(x) >> CELL_SHIFT, (int) Math.floor(z) >> CELL_SHIFT);
+    }
+
+    private static long key(final int x, final int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static long region(final ParticleEmitter emitter) {
+        return key((int) Math.floor(emitter.x) >> REGION_SHIFT, (int) Math.floor(emitter.z) >> REGION_SHIFT);
+    }
+
+    public void start(final Plugin plugin) {
+        if (this.task == null) {
+            this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    public void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        this.worlds.clear();
+        this.count = 0;
+    }
+
+    public ParticleEmitter register(final ParticleEmitter emitter) {
+        final WorldEmitters world = this.worlds.computeIfAbsent(emitter.world, w -> new WorldEmitters());
+        if (world.regions.computeIfAbsent(region(emitter), key -> new LinkedHashSet<>()).add(emitter)) {
+            world.maxReach = Math.max(world.maxReach, emitter.shape.radius() + emitter.range);
+            this.count++;
+        }
+        return emitter;
+    }
+
+    public void unregister(final ParticleEmitter emitter) {
+        final @Nullable WorldEmitters world = this.worlds.get(emitter.world);
+        if (world == null) {
+            return;
+        }
+        final long region = region(emitter);
+        final @Nullable Set<ParticleEmitter> emitters = world.regions.get(region);
+        if (emitters != null && emitters.remove(emitter)) {
+            this.count--;
+            if (emitters.isEmpty()) {
+                world.regions.remove(region);
+                if (world.regions.isEmpty()) {
+                    this.worlds.remove(emitter.world);
+                }
+            }
+        }
+    }
+
+    public void unregisterAll(final Collection<ParticleEmitter> emitters) {
+        emitters.forEach(this::unregister);
+    }
+
+    public int emitterCount() {
+        return this.count;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    void onWorldUnload(final WorldUnloadEvent event) {
+        final @Nullable WorldEmitters world = this.worlds.remove(event.getWorld());
+        if (world != null) {
+            world.regions.values().forEach(emitters -> this.count -= emitters.size());
+        }
+    }
+
+    private void tick() {
+        this.tick++;
+        if (this.worlds.isEmpty()) {
+            return;
+        }
+        final Map<Player, int[]> budgets = new IdentityHashMap<>();
+        for (final Map.Entry<World, WorldEmitters> entry : this.worlds.entrySet()) {
+            final List<Player> players = entry.getKey().getPlayers();
+            if (players.isEmpty()) {
+                continue;
+            }
+            final WorldEmitters world = entry.getValue();
+            final Map<Long, List<Player>> cells = buildGrid(players);
+            final LongHashSet visited = new LongHashSet();
+            for (final Player player : players) {
+                final double playerX = player.getLocation().getX();
+                final double playerZ = player.getLocation().getZ();
+                final int minRegionX = (int) Math.floor(playerX - world.maxReach) >> REGION_SHIFT;
+                final int maxRegionX = (int) Math.floor(playerX + world.maxReach) >> REGION_SHIFT;
+                final int minRegionZ = (int) Math.floor(playerZ - world.maxReach) >> REGION_SHIFT;
+                final int maxRegionZ = (int) Math.floor(playerZ + world.maxReach) >> REGION_SHIFT;
+                for (int regionX = minRegionX; regionX <= maxRegionX; regionX++) {
+                    for (int regionZ = minRegionZ; regionZ <= maxRegionZ; regionZ++) {
+                        final long region = key(regionX, regionZ);
+                        if (!visited.add(region)) {
+                            continue;
+                        }
+                        final @Nullable Set<ParticleEmitter> emitters = world.regions.get(region);
+                        if (emitters != null) {
+                            for (final ParticleEmitter emitter : emitters) {
+                                if ((this.tick + emitter.phase) % emitter.period == 0) {
+                                    this.emit(emitter, cells, budgets);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void emit(final ParticleEmitter emitter, final Map<Long, List<Player>> cells, final Map<Player, int[]> budgets) {
+        final double reach = emitter.shape.radius() + emitter.range;
+        final int minCellX = (int) Math.floor(emitter.x - reach) >> CELL_SHIFT;
+        final int maxCellX = (int) Math.floor(emitter.x + reach) >> CELL_SHIFT;
+        final int minCellZ = (int) Math.floor(emitter.z - reach) >> CELL_SHIFT;
+        final int maxCellZ = (int) Math.floor(emitter.z + reach) >> CELL_SHIFT;
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                final @Nullable List<Player> players = cells.get(key(cellX, cellZ));
+                if (players != null) {
+                    for (final Player player : players) {
+                        if (emitter.canSee(player)) {
+                            this.draw(emitter, player, budgets.computeIfAbsent(player, p -> new int[]{PLAYER_BUDGET}));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static Map<Long, List<Player>> buildGrid(final List<Player> players) {
+        final Map<Long, List<Player>> cells = new HashMap<>();
+        for (final Player player : players) {
+            cells.computeIfAbsent(cell(player.getLocation().getX(), player.getLocation().getZ()), key -> new ArrayList<>()).add(player);
+        }
+        return cells;
+    }
+
+    private void draw(final ParticleEmitter emitter, final Player player, final int[] budget) {
+        final double playerX = player.getLocation().getX();
+        final double playerY = player.getLocation().getY();
+        final double playerZ = player.getLocation().getZ();
+        final double range = emitter.range;
+        final double rangeSquared = range * range;
+        final double nearSquared = rangeSquared / 9;
+        final double midSquared = rangeSquared * 4 / 9;
+        final List<Player> receivers = List.of(player);
+        final ParticleShape shape = emitter.shape;
+        for (int i = 0; i < shape.size() && budget[0] > 0; i++) {
+            final double x = emitter.x + shape.x(i);
+            final double y = emitter.y + shape.y(i);
+            final double z = emitter.z + shape.z(i);
+            final double distanceSquared = (x - playerX) * (x - playerX) + (y - playerY) * (y - playerY) + (z - playerZ) * (z - playerZ);
+            if (distanceSquared > rangeSquared) {
+                continue;
+            }
+            // level of detail: every point up close, every 2nd a bit further and every 4th near the edge of the range
+            if (distanceSquared > midSquared ? (i & 3) != 0 : distanceSquared > nearSquared && (i & 1) != 0) {
+                continue;
+            }
+            emitter.world.spawnParticle(emitter.particle, receivers, null, x, y, z, 1, emitter.offsetX, emitter.offsetY, emitter.offsetZ, emitter.extra, emitter.data, true);
+            budget[0]--;
+        }
+    }
+
+    private static final class WorldEmitters {
+
+        private final Map<Long, Set<ParticleEmitter>> regions = new HashMap<>();
+        private double maxReach; // only grows, a stale value just visits a few extra regions
+    }
+}
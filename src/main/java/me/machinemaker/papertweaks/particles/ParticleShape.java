@@ -0,0 +1,98 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.particles;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A fixed set of points, relative to an emitter's position.
+ */
+public final class ParticleShape {
+
+    private static final double PHI = Math.PI * (3.0 - Math.sqrt(5.0));
+    private static final ParticleShape POINT = new ParticleShape(new double[]{0, 0, 0});
+
+    private final double[] points;
+    private final double radius;
+
+    private ParticleShape(final double[] points) {
+        this.points = points;
+        double maxSquared = 0;
+        for (int i = 0; i < points.length; i += 3) {
+            maxSquared = Math.max(maxSquared, points[i] * points[i] + points[i + 1] * points[i + 1] + points[i + 2] * points[i + 2]);
+        }
+        this.radius = Math.sqrt(maxSquared);
+    }
+
+    public static ParticleShape point() {
+        return POINT;
+    }
+
+    /**
+     * Creates a shell of evenly spread points using a fibonacci lattice.
+     *
+     * @param radius the sphere radius
+     * @param count the number of points
+     * @return the shape
+     */
+    public static ParticleShape sphere(final double radius, final int count) {
+        final double[] points = new double[count * 3];
+        for (int i = 0; i < count; i++) {
+            final double y = count == 1 ? 0 : radius - ((i / (double) (count - 1)) * (2 * radius));
+            final double radiusAtY = Math.sqrt(Math.max(0, radius * radius - y * y));
+            final double theta = PHI * i;
+            points[i * 3] = Math.cos(theta) * radiusAtY;
+            points[i * 3 + 1] = y;
+            points[i * 3 + 2] = Math.sin(theta) * radiusAtY;
+        }
+        return new ParticleShape(points);
+    }
+
+    /**
+     * Creates a shape from arbitrary points.
+     *
+     * @param offsets the x, y and z offsets of each point, one after another
+     * @return the shape
+     */
+    public static ParticleShape points(final double[] offsets) {
+        Preconditions.checkArgument(offsets.length % 3 == 0, "offsets must be x, y, z triples");
+        return new ParticleShape(offsets.clone());
+    }
+
+    public int size() {
+        return this.points.length / 3;
+    }
+
+    public double radius() {
+        return this.radius;
+    }
+
+    double x(final int index) {
+        return this.points[index * 3];
+    }
+
+    double y(final int index) {
+        return this.points[index * 3 + 1];
+    }
+
+    double z(final int index) {
+        return this.points[index * 3 + 2];
+    }
+}
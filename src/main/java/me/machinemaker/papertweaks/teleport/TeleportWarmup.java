@@ -0,0 +1,95 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.teleport;
+
+import com.google.common.base.Preconditions;
+import net.kyori.adventure.bossbar.BossBar;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A teleport that happens after a delay, unless the player moves to
+ * another block or takes damage first. Scheduled with
+ * {@link TeleportWarmups#schedule(TeleportWarmup)}.
+ */
+public abstract class TeleportWarmup {
+
+    protected final Player player;
+    protected final Location teleportLoc;
+    final long delayTicks;
+    final World originWorld;
+    final int originX;
+    final int originY;
+    final int originZ;
+    long deadline;
+    boolean active;
+    @Nullable BossBar bossBar;
+    boolean prefetching;
+    boolean ticketed;
+
+    protected TeleportWarmup(final Player player, final Location teleportLoc, final long delayTicks) {
+        Preconditions.checkArgument(delayTicks > 0, "delayTicks must be positive");
+        this.player = player;
+        this.teleportLoc = teleportLoc;
+        this.delayTicks = delayTicks;
+        final Location origin = player.getLocation();
+        this.originWorld = origin.getWorld();
+        this.originX = origin.getBlockX();
+        this.originY = origin.getBlockY();
+        this.originZ = origin.getBlockZ();
+    }
+
+    public final Player player() {
+        return this.player;
+    }
+
+    public final boolean isActive() {
+        return this.active;
+    }
+
+    /**
+     * Called right before the player is teleported.
+     */
+    public void onTeleport() {
+    }
+
+    /**
+     * Called when the warmup is cancelled by the player.
+     *
+     * @param reason why it was cancelled
+     */
+    public void onCancel(final CancelReason reason) {
+    }
+
+    /**
+     * Called whenever the warmup ends, after {@link #onTeleport()} or
+     * {@link #onCancel(CancelReason)}, or when it is dropped because the
+     * player died or left.
+     */
+    public void onEnd() {
+    }
+
+    public enum CancelReason {
+        MOVED,
+        DAMAGED
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.teleport;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.Component.translatable;
+import static net.kyori.adventure.text.format.NamedTextColor.GOLD;
+import static net.kyori.adventure.text.format.NamedTextColor.YELLOW;
+
+/**
+ * Runs the {@link TeleportWarmup}s of all modules.
+ * <p>
+ * Warmups are cancelled from the move and damage events instead of
+ * polling every player each tick, and finish from a queue ordered by
+ * deadline, so a tick only touches the warmups that expire in it.
+ * Cancelled warmups are left in the queue and skipped when they come up.
+ * Countdowns are redrawn every few ticks for the warmups that show one.
+ * <p>
+ * The destination chunk is loaded asynchronously as soon as a warmup
+ * starts and held with a plugin chunk ticket until the warmup ends, so
+ * the teleport doesn't wait on a cold chunk. Tickets are counted per
+ * chunk, as a plugin has only one ticket per chunk, and the number of
+ * prefetches per world is capped.
+ */
+public class TeleportWarmups implements Listener {
+
+    private final Countdown countdown;
+    private final int countdownInterval;
+    private final int maxPrefetchesPerWorld;
+    private final Map<World, Integer> prefetches = new HashMap<>();
+    private final Map<World, Map<Long, Integer>> tickets = new HashMap<>();
+    private final Map<UUID, TeleportWarmup> warmups = new HashMap<>();
+    private final PriorityQueue<TeleportWarmup> deadlines = new PriorityQueue<>(Comparator.comparingLong(warmup -> warmup.deadline));
+    private final Set<TeleportWarmup> displayed = new LinkedHashSet<>();
+    private @Nullable Plugin plugin;
+    private @Nullable BukkitTask task;
+    private long tick;
+
+    public TeleportWarmups(final Countdown countdown, final int countdownInterval, final int maxPrefetchesPerWorld) {
+        this.countdown = countdown;
+        this.countdownInterval = Math.max(1, countdownInterval);
+        this.maxPrefetchesPerWorld = maxPrefetchesPerWorld;
+    }
+
+    public void start(final Plugin plugin) {
+        this.plugin = plugin;
+        if (this.task == null) {
+            this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    public void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        this.endAll(warmup -> true);
+        this.deadlines.clear();
+    }
+
+    /**
+     * Starts a warmup.
+     *
+     * @param warmup the warmup
+     * @return false if the player already has a warmup running
+     */
+    public boolean schedule(final TeleportWarmup warmup) {
+        if (warmup.active || this.warmups.putIfAbsent(warmup.player.getUniqueId(), warmup) != null) {
+            return false;
+        }
+        warmup.active = true;
+        warmup.deadline = this.tick + warmup.delayTicks;
+        this.deadlines.add(warmup);
+        this.prefetch(warmup);
+        if (this.countdown != Countdown.NONE) {
+            this.displayed.add(warmup);
+            this.render(warmup);
+        }
+        return true;
+    }
+
+    public boolean isWarmingUp(final Player player) {
+        return this.warmups.containsKey(player.getUniqueId());
+    }
+
+    /**
+     * Ends warmups without teleporting, e.g. when the module that started
+     * them is disabled.
+     *
+     * @param filter the warmups to end
+     */
+    public void endAll(final Predicate<? super TeleportWarmup> filter) {
+        final List<TeleportWarmup> ended = new ArrayList<>();
+        for (final TeleportWarmup warmup : this.warmups.values()) {
+            if (filter.test(warmup)) {
+                ended.add(warmup);
+            }
+        }
+        ended.forEach(this::end);
+    }
+
+    public int activeCount() {
+        return this.warmups.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    void onPlayerMove(final PlayerMoveEvent event) {
+        if (this.warmups.isEmpty() || !event.hasChangedBlock()) {
+            return;
+        }
+        this.checkMoved(event.getPlayer(), event.getTo());
+    }
+
+    // has its own handler list, so it isn't seen by the move handler
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    void onPlayerTeleport(final PlayerTeleportEvent event) {
+        if (!this.warmups.isEmpty()) {
+            this.checkMoved(event.getPlayer(), event.getTo());
+        }
+    }
+
+    // players riding something don't get move events of their own
+    @EventHandler(priority = EventPriority.MONITOR)
+    void onVehicleMove(final VehicleMoveEvent event) {
+        if (this.warmups.isEmpty()) {
+            return;
+        }
+        final Location from = event.getFrom();
+        final Location to = event.getTo();
+        if (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY() && from.getBlockZ() == to.getBlockZ()) {
+            return;
+        }
+        for (final Entity passenger : event.getVehicle().getPassengers()) {
+            if (passenger instanceof final Player player) {
+                final @Nullable TeleportWarmup warmup = this.warmups.get(player.getUniqueId());
+                if (warmup != null) {
+                    this.cancel(warmup, TeleportWarmup.CancelReason.MOVED);
+                }
+            }
+        }
+    }
+
+    private void checkMoved(final Player player, final Location to) {
+        final @Nullable TeleportWarmup warmup = this.warmups.get(player.getUniqueId());
+        if (warmup != null && !isAtOrigin(warmup, to)) {
+            this.cancel(warmup, TeleportWarmup.CancelReason.MOVED);
+        }
+    }
+
+    private static boolean isAtOrigin(final TeleportWarmup warmup, final Location location) {
+        return location.getBlockX() == warmup.originX && location.getBlockY() == warmup.originY && location.getBlockZ() == warmup.originZ && warmup.originWorld.equals(location.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    void onEntityDamage(final EntityDamageEvent event) {
+        if (!this.warmups.isEmpty() && event.getEntity() instanceof final Player player) {
+            final @Nullable TeleportWarmup warmup = this.warmups.get(player.getUniqueId());
+            if (warmup != null) {
+                this.cancel(warmup, TeleportWarmup.CancelReason.DAMAGED);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    void onPlayerDeath(final PlayerDeathEvent event) {
+        this.endFor(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    void onPlayerQuit(final PlayerQuitEvent event) {
+        this.endFor(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    void onWorldUnload(final WorldUnloadEvent event) {
+        this.prefetches.remove(event.getWorld());
+        this.tickets.remove(event.getWorld());
+    }
+
+    private void endFor(final Player player) {
+        final @Nullable TeleportWarmup warmup = this.warmups.get(player.getUniqueId());
+        if (warmup != null) {
+            this.end(warmup);
+        }
+    }
+
+    private void tick() {
+        this.tick++;
+        @Nullable TeleportWarmup next;
+        while ((next = this.deadlines.peek()) != null && next.deadline <= this.tick) {
+            this.deadlines.poll();
+            if (next.active) {
+                this.complete(next);
+            }
+        }
+        if (!this.displayed.isEmpty() && this.tick % this.countdownInterval == 0) {
+            this.displayed.forEach(this::render);
+        }
+    }
+
+    private void complete(final TeleportWarmup warmup) {
+        if (!isAtOrigin(warmup, warmup.player.getLocation())) {
+            // moved in a way none of the events above caught
+            this.cancel(warmup, TeleportWarmup.CancelReason.MOVED);
+            return;
+        }
+        this.deactivate(warmup);
+        warmup.onTeleport();
+        if (warmup.teleportLoc.isChunkLoaded()) {
+            warmup.player.teleport(warmup.teleportLoc);
+        } else {
+            warmup.player.teleportAsync(warmup.teleportLoc);
+        }
+        this.releasePrefetch(warmup); // after the teleport, so the ticket holds the chunk until then
+        warmup.onEnd();
+    }
+
+    private void cancel(final TeleportWarmup warmup, final TeleportWarmup.CancelReason reason) {
+        this.deactivate(warmup);
+        this.releasePrefetch(warmup);
+        warmup.onCancel(reason);
+        warmup.onEnd();
+    }
+
+    private void end(final TeleportWarmup warmup) {
+        this.deactivate(warmup);
+        this.releasePrefetch(warmup);
+        warmup.onEnd();
+    }
+
+    private void deactivate(final TeleportWarmup warmup) {
+        warmup.active = false;
+        this.warmups.remove(warmup.player.getUniqueId(), warmup);
+        if (this.displayed.remove(warmup) && warmup.bossBar != null) {
+            warmup.player.hideBossBar(warmup.bossBar);
+            warmup.bossBar = null;
+        }
+    }
+
+    private void prefetch(final TeleportWarmup warmup) {
+        final @Nullable Plugin plugin = this.plugin;
+        final @Nullable World world = warmup.teleportLoc.getWorld();
+        if (plugin == null || world == null || this.prefetches.getOrDefault(world, 0) >= this.maxPrefetchesPerWorld) {
+            return;
+        }
+        this.prefetches.merge(world, 1, Integer::sum);
+        warmup.prefetching = true;
+        world.getChunkAtAsync(warmup.teleportLoc).thenAccept(chunk -> { // completes on the main thread
+            if (warmup.prefetching) {
+                warmup.ticketed = true;
+                this.tickets.computeIfAbsent(world, w -> new HashMap<>()).merge(chunk.getChunkKey(), 1, Integer::sum);
+                chunk.addPluginChunkTicket(plugin);
+            }
+        });
+    }
+
+    private void releasePrefetch(final TeleportWarmup warmup) {
+        if (!warmup.prefetching) {
+            return;
+        }
+        warmup.prefetching = false;
+        final @Nullable World world = warmup.teleportLoc.getWorld();
+        if (world == null) {
+            return;
+        }
+        this.prefetches.computeIfPresent(world, (w, count) -> count > 1 ? count - 1 : null);
+        if (warmup.ticketed) {
+            warmup.ticketed = false;
+            final int chunkX = warmup.teleportLoc.getBlockX() >> 4;
+            final int chunkZ = warmup.teleportLoc.getBlockZ() >> 4;
+            final @Nullable Map<Long, Integer> worldTickets = this.tickets.get(world);
+            if (worldTickets != null && worldTickets.computeIfPresent(Chunk.getChunkKey(chunkX, chunkZ), (key, count) -> count > 1 ? count - 1 : null) == null && this.plugin != null) {
+                world.removePluginChunkTicket(chunkX, chunkZ, this.plugin);
+            }
+        }
+    }
+
+    private void render(final TeleportWarmup warmup) {
+        final long ticksLeft = Math.max(0, warmup.deadline - this.tick);
+        final Component message = translatable("teleport-warmup.countdown", YELLOW, text((ticksLeft + 19) / 20, GOLD));
+        switch (this.countdown) {
+            case ACTION_BAR -> warmup.player.sendActionBar(message);
+            case BOSS_BAR -> {
+                final float progress = Math.min(1, (float) ticksLeft / warmup.delayTicks);
+                if (warmup.bossBar == null) {
+                    warmup.bossBar = BossBar.bossBar(message, progress, BossBar.Color.YELLOW, BossBar.Overlay.PROGRESS);
+                    warmup.player.showBossBar(warmup.bossBar);
+                } else {
+                    warmup.bossBar.name(message).progress(progress);
+                }
+            }
+            case NONE -> {
+            }
+        }
+    }
+
+    public enum Countdown {
+        NONE,
+        ACTION_BAR,
+        BOSS_BAR
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.utils;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * An immutable weighted random selection, built with Vose's alias method.
+ * Building the table is O(n), after which every draw is O(1): one random
+ * column and one biased coin flip, no matter how many entries there are.
+ *
+ * @param <T> the entry type
+ */
+public final class AliasTable<T> {
+
+    private final List<T> entries;
+    private final double[] probability;
+    private final int[] alias;
+
+    private AliasTable(final List<T> entries, final double[] probability, final int[] alias) {
+        this.entries = entries;
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    /**
+     * Builds an alias table.
+     *
+     * @param entries the entries, at least 1
+     * @param weight the weight of each entry, must be finite and not negative
+     * @param <T> the entry type
+     * @return the table
+     * @throws IllegalArgumentException if there are no entries or the weights are invalid
+     */
+    public static <T> AliasTable<T> create(final Collection<? extends T> entries, final ToDoubleFunction<? super T> weight) {
+        final List<T> list = List.copyOf(entries);
+        final int size = list.size();
+        if (size == 0) {
+            throw new IllegalArgumentException("Must have at least 1 entry");
+        }
+        final double[] scaled = new double[size];
+        double total = 0;
+        int heaviest = 0;
+        for (int i = 0; i < size; i++) {
+            final double entryWeight = weight.applyAsDouble(list.get(i));
+            if (!Double.isFinite(entryWeight) || entryWeight < 0) {
+                throw new IllegalArgumentException("Invalid weight " + entryWeight + " for " + list.get(i));
+            }
+            scaled[i] = entryWeight;
+            total += entryWeight;
+            if (entryWeight > scaled[heaviest]) {
+                heaviest = i;
+            }
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The total weight must be positive");
+        }
+
+        final Deque<Integer> small = new ArrayDeque<>();
+        final Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            scaled[i] = scaled[i] * size / total;
+            (scaled[i] < 1 ? small : large).push(i);
+        }
+        final double[] probability = new double[size];
+        final int[] alias = new int[size];
+        final boolean[] positive = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            positive[i] = scaled[i] > 0;
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            final int less = small.pop();
+            final int more = large.pop();
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            (scaled[more] < 1 ? small : large).push(more);
+        }
+        // anything left over is 1 give or take rounding error
+        while (!large.isEmpty()) {
+            probability[large.pop()] = 1;
+        }
+        while (!small.isEmpty()) {
+            final int less = small.pop();
+            // an entry without weight must never be drawn, even if rounding left it without a partner
+            if (positive[less]) {
+                probability[less] = 1;
+            } else {
+                probability[less] = 0;
+                alias[less] = heaviest;
+            }
+        }
+        return new AliasTable<>(list, probability, alias);
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public List<T> entries() {
+        return this.entries;
+    }
+
+    public T next() {
+        return this.next(ThreadLocalRandom.current());
+    }
+
+    public T next(final RandomGenerator random) {
+        final int column = random.nextInt(this.probability.length);
+        return this.entries.get(random.nextDouble() < this.probability[column] ? column : this.alias[column]);
+    }
+}
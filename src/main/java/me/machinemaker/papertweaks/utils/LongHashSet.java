@@ -0,0 +1,231 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.utils;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Open addressing hash set of primitive longs, for large sets of packed
+ * block or chunk keys where boxing every entry would be wasteful.
+ */
+public final class LongHashSet {
+
+    private static final long FREE = 0L;
+
+    private long[] keys;
+    private int mask;
+    private int maxFill;
+    private boolean containsFree;
+    private int size;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(final int expectedSize) {
+        this.allocate(Integer.highestOneBit(Math.max(2, expectedSize * 2) - 1) << 1);
+    }
+
+    private static int mix(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean contains(final long key) {
+        if (key == FREE) {
+            return this.containsFree;
+        }
+        int pos = mix(key) & this.mask;
+        long current;
+        while ((current = this.keys[pos]) != FREE) {
+            if (current == key) {
+                return true;
+            }
+            pos = (pos + 1) & this.mask;
+        }
+        return false;
+    }
+
+    public boolean add(final long key) {
+        if (key == FREE) {
+            if (this.containsFree) {
+                return false;
+            }
+            this.containsFree = true;
+        } else {
+            int pos = mix(key) & this.mask;
+            long current;
+            while ((current = this.keys[pos]) != FREE) {
+                if (current == key) {
+                    return false;
+                }
+                pos = (pos + 1) & this.mask;
+            }
+            this.keys[pos] = key;
+        }
+        if (++this.size > this.maxFill) {
+            this.rehash(this.keys.length * 2);
+        }
+        return true;
+    }
+
+    public void addAll(final LongHashSet other) {
+        other.forEach(this::add);
+    }
+
+    public boolean remove(final long key) {
+        if (key == FREE) {
+            if (!this.containsFree) {
+                return false;
+            }
+            this.containsFree = false;
+            this.size--;
+            return true;
+        }
+        int pos = mix(key) & this.mask;
+        long current;
+        while ((current = this.keys[pos]) != FREE) {
+            if (current == key) {
+                this.shiftKeys(pos);
+                this.size--;
+                return true;
+            }
+            pos = (pos + 1) & this.mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes and returns a random element. Not uniformly distributed as
+     * keys in longer probe runs are picked less often, but cheap.
+     *
+     * @param random the source of randomness
+     * @return the removed element
+     * @throws NoSuchElementException if the set is empty
+     */
+    public long removeRandom(final Random random) {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        if (this.containsFree && random.nextInt(this.size) == 0) {
+            this.containsFree = false;
+            this.size--;
+            return FREE;
+        }
+        int pos = random.nextInt(this.keys.length);
+        while (this.keys[pos] == FREE) {
+            pos = (pos + 1) & this.mask;
+        }
+        final long key = this.keys[pos];
+        this.shiftKeys(pos);
+        this.size--;
+        return key;
+    }
+
+    /**
+     * Removes all elements matching a filter.
+     *
+     * @param filter the filter
+     * @return the number of removed elements
+     */
+    public int removeIf(final LongPredicate filter) {
+        int removed = 0;
+        if (this.containsFree && filter.test(FREE)) {
+            this.remove(FREE);
+            removed++;
+        }
+        for (final long key : this.keys.clone()) {
+            if (key != FREE && filter.test(key) && this.remove(key)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public void forEach(final LongConsumer consumer) {
+        if (this.containsFree) {
+            consumer.accept(FREE);
+        }
+        for (final long key : this.keys) {
+            if (key != FREE) {
+                consumer.accept(key);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(this.keys, FREE);
+        this.containsFree = false;
+        this.size = 0;
+    }
+
+    private void allocate(final int capacity) {
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+        this.maxFill = capacity / 2;
+    }
+
+    private void rehash(final int capacity) {
+        final long[] oldKeys = this.keys;
+        this.allocate(capacity);
+        for (final long key : oldKeys) {
+            if (key != FREE) {
+                int pos = mix(key) & this.mask;
+                while (this.keys[pos] != FREE) {
+                    pos = (pos + 1) & this.mask;
+                }
+                this.keys[pos] = key;
+            }
+        }
+    }
+
+    // backward shift deletion, keeps probe runs intact without tombstones
+    private void shiftKeys(int pos) {
+        int last;
+        long current;
+        while (true) {
+            pos = ((last = pos) + 1) & this.mask;
+            while (true) {
+                if ((current = this.keys[pos]) == FREE) {
+                    this.keys[last] = FREE;
+                    return;
+                }
+                final int slot = mix(current) & this.mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & this.mask;
+            }
+            this.keys[last] = current;
+        }
+    }
+}
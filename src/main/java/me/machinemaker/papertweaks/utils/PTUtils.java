@@ -19,26 +19,16 @@
  */
 package me.machinemaker.papertweaks.utils;
 
-import com.google.common.collect.Iterables;
-import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.mojang.authlib.GameProfile;
-import com.mojang.authlib.properties.Property;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Consumer;
-import me.machinemaker.mirror.FieldAccessor;
-import me.machinemaker.mirror.MethodInvoker;
-import me.machinemaker.mirror.Mirror;
-import me.machinemaker.mirror.paper.PaperMirror;
+import me.machinemaker.papertweaks.heads.HeadFactory;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
@@ -46,12 +36,10 @@ import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.inventory.meta.SkullMeta;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
@@ -62,15 +50,6 @@ import static net.kyori.adventure.text.format.TextDecoration.ITALIC;
 @DefaultQualifier(NonNull.class)
 public final class PTUtils {
 
-    private static final Class<?> CRAFT_PLAYER_CLASS = PaperMirror.getCraftBukkitClass("entity.CraftPlayer");
-    private static final Class<?> NMS_PLAYER_CLASS = PaperMirror.findMinecraftClass("world.entity.player.EntityHuman", "world.entity.player.Player");
-    private static final Class<?> CRAFT_META_SKULL_CLASS = PaperMirror.getCraftBukkitClass("inventory.CraftMetaSkull");
-    private static final FieldAccessor.Typed<GameProfile> CRAFT_META_ITEM_GAME_PROFILE = Mirror.typedFuzzyField(CRAFT_META_SKULL_CLASS, GameProfile.class).names("profile").find();
-    private static final MethodInvoker CRAFT_PLAYER_GET_HANDLE = Mirror.fuzzyMethod(CRAFT_PLAYER_CLASS, NMS_PLAYER_CLASS).names("getHandle").find();
-    private static final MethodInvoker.Typed<GameProfile> NMS_PLAYER_GET_PLAYER_PROFILE = Mirror.typedFuzzyMethod(NMS_PLAYER_CLASS, GameProfile.class).find();
-
-    private static final Gson GSON = new Gson();
-
     private PTUtils() {
     }
 
@@ -97,13 +76,6 @@ public final class PTUtils {
         return GsonComponentSerializer.gson().deserializeFromTree(tree);
     }
 
-    public static GameProfile getGameProfile(final Player player) {
-        final GameProfile live = Objects.requireNonNull(NMS_PLAYER_GET_PLAYER_PROFILE.invoke(CRAFT_PLAYER_GET_HANDLE.invoke(player)), () -> "unexpected null GameProfile from " + player);
-        final GameProfile copy = new GameProfile(live.getId(), live.getName());
-        copy.getProperties().putAll(live.getProperties());
-        return copy;
-    }
-
     public static ItemStack getSkull(final Component name, final String texture) {
         return getSkull(name, null, texture, 1);
     }
@@ -117,37 +89,7 @@ public final class PTUtils {
     }
 
     public static ItemStack getSkull(final @Nullable Component name, final @Nullable String gameProfileName, final @Nullable UUID uuid, final @Nullable String texture, final int count) {
-        final ItemStack skull = new ItemStack(Material.PLAYER_HEAD, count);
-        if (name == null && gameProfileName == null && uuid == null && texture == null) {
-            return skull;
-        }
-        final @Nullable SkullMeta meta = (SkullMeta) Objects.requireNonNull(skull.getItemMeta());
-        final GameProfile profile = new GameProfile(uuid == null ? UUID.randomUUID() : uuid, gameProfileName);
-        profile.getProperties().put("textures", new Property("textures", texture));
-        loadMeta(meta, profile, name);
-        skull.setItemMeta(meta);
-        return skull;
-    }
-
-    public static void sanitizeTextures(final GameProfile profile) {
-        final Property textures = Iterables.getFirst(profile.getProperties().get("textures"), null);
-        profile.getProperties().removeAll("textures");
-        if (textures != null) {
-            final JsonObject object = GSON.fromJson(new String(Base64.getDecoder().decode(textures.getValue()), StandardCharsets.UTF_8), JsonObject.class);
-            object.remove("timestamp");
-            profile.getProperties().put("textures", new Property("textures", Base64.getEncoder().encodeToString(GSON.toJson(object).getBytes(StandardCharsets.UTF_8))));
-        }
-    }
-
-    public static void loadMeta(final SkullMeta meta, final GameProfile profile) {
-        loadMeta(meta, profile, null);
-    }
-
-    public static void loadMeta(final SkullMeta meta, final GameProfile profile, final @Nullable Component name) {
-        CRAFT_META_ITEM_GAME_PROFILE.set(meta, profile);
-        if (name != null) {
-            loadMeta(meta, name);
-        }
+        return HeadFactory.create(name, gameProfileName, uuid, texture, count);
     }
 
     public static void loadMeta(final ItemMeta meta, final Component displayName) {
@@ -9,3 +9,28 @@ CREATE TABLE IF NOT EXISTS homes (
 );
 
 CREATE INDEX IF NOT EXISTS homes_by_player ON homes (player, name);
+
+CREATE TABLE IF NOT EXISTS stat_history (
+    stat varchar(16) NOT NULL,
+    player uuid NOT NULL,
+    resolution tinyint NOT NULL,
+    bucket bigint NOT NULL,
+    delta int NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS stat_history_by_player ON stat_history (stat, player, resolution, bucket);
+CREATE INDEX IF NOT EXISTS stat_history_by_bucket ON stat_history (resolution, bucket);
+
+CREATE TABLE IF NOT EXISTS stat_history_heads (
+    stat varchar(16) NOT NULL,
+    player uuid NOT NULL,
+    value int NOT NULL,
+    PRIMARY KEY (stat, player)
+);
+
+CREATE TABLE IF NOT EXISTS mob_death_counts (
+    scope varchar(64) NOT NULL,
+    mob varchar(64) NOT NULL,
+    deaths int NOT NULL,
+    PRIMARY KEY (scope, mob)
+);
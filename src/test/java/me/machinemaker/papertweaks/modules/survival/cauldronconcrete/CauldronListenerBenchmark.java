@@ -0,0 +1,135 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.modules.survival.cauldronconcrete;
+
+import io.papermc.paper.event.entity.EntityInsideBlockEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Zombie;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures the cost of {@link CauldronListener#onEntityInsideBlock} for
+ * entities that never turn into concrete, against the listener body from
+ * before the converter existed. The event fires every tick for every
+ * entity touching a block, so this is the cost paid by item farms and
+ * mob farms that never go near a cauldron.
+ * <p>
+ * Not a unit test, run the main method directly. The entities and blocks
+ * are Mockito stubs, whose calls cost far more than the real ones, so
+ * only compare the two listeners with each other. For anything more
+ * precise use a proper harness like JMH.
+ */
+final class CauldronListenerBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+    private static final int EVENTS = 200_000;
+    private static final int ENTITIES = 1_000; // mocks are heavy, so the events share them
+    private static final Material[] BLOCKS = {Material.STONE, Material.HOPPER, Material.WATER, Material.GRASS_BLOCK, Material.CAULDRON};
+    // what MaterialTags.CONCRETE_POWDER matches, without needing a server for the tag
+    private static final Set<Material> CONCRETE_POWDER = EnumSet.noneOf(Material.class);
+
+    static {
+        Arrays.stream(Material.values()).filter(type -> type.name().endsWith("_CONCRETE_POWDER")).forEach(CONCRETE_POWDER::add);
+    }
+
+    private CauldronListenerBenchmark() {
+    }
+
+    public static void main(final String[] args) {
+        final Server server = mock(Server.class);
+        when(server.getLogger()).thenReturn(Logger.getLogger("MockServer"));
+        Bukkit.setServer(server);
+        final CauldronListener listener = new CauldronListener(new ConcreteConverter(mock(Plugin.class), mock(Config.class)));
+        report("items on other blocks", events(EVENTS, false, false), listener);
+        report("mobs on other blocks", events(EVENTS, true, false), listener);
+        report("other items in cauldrons", events(EVENTS, false, true), listener);
+    }
+
+    private static void report(final String name, final List<EntityInsideBlockEvent> events, final CauldronListener listener) {
+        final double current = measure(events, listener::onEntityInsideBlock);
+        final double baseline = measure(events, CauldronListenerBenchmark::baseline);
+        System.out.printf("%-25s: listener %7.2f ns/event, baseline %7.2f ns/event%n", name, current, baseline);
+    }
+
+    private static List<EntityInsideBlockEvent> events(final int count, final boolean mobs, final boolean cauldrons) {
+        final List<EntityInsideBlockEvent> events = new ArrayList<>(count);
+        final List<Block> blocks = new ArrayList<>();
+        for (final Material type : cauldrons ? new Material[]{Material.WATER_CAULDRON} : BLOCKS) {
+            final Block block = mock(Block.class, withSettings().stubOnly());
+            when(block.getType()).thenReturn(type);
+            blocks.add(block);
+        }
+        final List<Entity> entities = new ArrayList<>(ENTITIES);
+        for (int i = 0; i < ENTITIES; i++) {
+            final Entity entity;
+            if (mobs) {
+                entity = mock(Zombie.class, withSettings().stubOnly());
+            } else {
+                final Item item = mock(Item.class, withSettings().stubOnly());
+                when(item.getItemStack()).thenReturn(new ItemStack(i % 2 == 0 ? Material.COBBLESTONE : Material.DIRT, 64));
+                when(item.getUniqueId()).thenReturn(UUID.randomUUID());
+                entity = item;
+            }
+            entities.add(entity);
+        }
+        for (int i = 0; i < count; i++) {
+            events.add(new EntityInsideBlockEvent(entities.get(i % ENTITIES), blocks.get(i % blocks.size())));
+        }
+        return events;
+    }
+
+    private static double measure(final List<EntityInsideBlockEvent> events, final Consumer<EntityInsideBlockEvent> handler) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            events.forEach(handler);
+        }
+        final long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            events.forEach(handler);
+        }
+        return (System.nanoTime() - start) / (double) ((long) ROUNDS * events.size());
+    }
+
+    // the listener body before the converter, the drop and remove never happen for these events
+    private static void baseline(final EntityInsideBlockEvent event) {
+        if (event.getEntity() instanceof final Item item && event.getBlock().getType() == Material.WATER_CAULDRON && CONCRETE_POWDER.contains(item.getItemStack().getType())) {
+            item.getWorld().dropItem(item.getLocation(), new ItemStack(CauldronConcrete.toConcreteFromPowder(item.getItemStack().getType()), item.getItemStack().getAmount()));
+            item.remove();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Compares draws from an {@link AliasTable} against the cumulative weight
+ * {@link TreeMap} lookup that the removed {@code WeightedRandomList} used.
+ * Not a unit test, run the main method directly. The numbers are only
+ * rough, for anything more precise use a proper harness like JMH.
+ */
+final class AliasTableBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+    private static final int DRAWS = 5_000_000;
+
+    private AliasTableBenchmark() {
+    }
+
+    public static void main(final String[] args) {
+        for (final int size : new int[]{4, 16, 64, 256, 1024}) {
+            final SplittableRandom random = new SplittableRandom(size);
+            final List<Double> weights = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                weights.add(random.nextInt(4) == 0 ? 0 : random.nextDouble());
+            }
+            weights.set(0, 1.0);
+            final AliasTable<Double> table = AliasTable.create(weights, Double::doubleValue);
+            final CumulativeList<Double> list = new CumulativeList<>(weights, Double::doubleValue);
+            final double aliasNanos = measure(() -> table.next(random));
+            final double cumulativeNanos = measure(() -> list.next(random));
+            System.out.printf("%5d entries: alias table %6.2f ns/draw, cumulative tree map %6.2f ns/draw%n", size, aliasNanos, cumulativeNanos);
+        }
+    }
+
+    private static double measure(final Draw draw) {
+        double sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int i = 0; i < DRAWS; i++) {
+                sink += draw.next();
+            }
+        }
+        final long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < DRAWS; i++) {
+                sink += draw.next();
+            }
+        }
+        final long elapsed = System.nanoTime() - start;
+        if (sink == Double.MIN_VALUE) {
+            System.out.println(sink); // keeps the draws from being optimized away
+        }
+        return elapsed / (double) ((long) ROUNDS * DRAWS);
+    }
+
+    @FunctionalInterface
+    private interface Draw {
+
+        double next();
+    }
+
+    // the lookup WeightedRandomList did, kept here for comparison
+    private static final class CumulativeList<T> {
+
+        private final NavigableMap<Double, T> entries = new TreeMap<>();
+        private double totalWeight;
+
+        CumulativeList(final List<T> entries, final ToDoubleFunction<? super T> weight) {
+            for (final T entry : entries) {
+                this.totalWeight += weight.applyAsDouble(entry);
+                this.entries.put(this.totalWeight, entry);
+            }
+        }
+
+        T next(final RandomGenerator random) {
+            return this.entries.higherEntry(random.nextDouble() * this.totalWeight).getValue();
+        }
+    }
+}
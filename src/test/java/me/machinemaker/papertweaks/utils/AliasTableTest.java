@@ -0,0 +1,151 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AliasTableTest {
+
+    private static final int STEPS = 10_000;
+
+    private static AliasTable<Integer> table(final double... weights) {
+        return AliasTable.create(IntStream.range(0, weights.length).boxed().toList(), i -> weights[i]);
+    }
+
+    /**
+     * Draws once for every column and every step of the coin flip, so the
+     * result is the table's exact distribution up to the step size.
+     */
+    private static double[] distribution(final AliasTable<Integer> table) {
+        final int size = table.size();
+        final int[] counts = new int[size];
+        for (int column = 0; column < size; column++) {
+            for (int step = 0; step < STEPS; step++) {
+                counts[table.next(new FixedRandom(column, (step + 0.5) / STEPS))]++;
+            }
+        }
+        final double[] distribution = new double[size];
+        for (int i = 0; i < size; i++) {
+            distribution[i] = counts[i] / (double) (size * STEPS);
+        }
+        return distribution;
+    }
+
+    private static void assertDistribution(final double[] weights, final double[] distribution, final double delta) {
+        final double total = IntStream.range(0, weights.length).mapToDouble(i -> weights[i]).sum();
+        for (int i = 0; i < weights.length; i++) {
+            assertEquals(weights[i] / total, distribution[i], delta, "entry " + i);
+        }
+    }
+
+    @Test
+    void testExactDistribution() {
+        final double[] weights = {1, 2, 3, 4};
+        assertDistribution(weights, distribution(table(weights)), 1e-3);
+    }
+
+    @Test
+    void testSampledDistribution() {
+        final double[] weights = {0.5, 10, 3.25, 1, 7};
+        final AliasTable<Integer> table = table(weights);
+        final SplittableRandom random = new SplittableRandom(42);
+        final int draws = 1_000_000;
+        final double[] distribution = new double[weights.length];
+        for (int i = 0; i < draws; i++) {
+            distribution[table.next(random)] += 1.0 / draws;
+        }
+        assertDistribution(weights, distribution, 5e-3);
+    }
+
+    @Test
+    void testZeroWeights() {
+        final double[] weights = {0, 5, 0, 1, 0, 0, 2, 0};
+        final double[] distribution = distribution(table(weights));
+        assertDistribution(weights, distribution, 1e-3);
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] == 0) {
+                assertEquals(0, distribution[i], 0, "entry " + i);
+            }
+        }
+    }
+
+    @Test
+    void testZeroWeightsNeverDrawn() {
+        final Random random = new Random(1234);
+        for (int round = 0; round < 1_000; round++) {
+            final double[] weights = new double[2 + random.nextInt(30)];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = random.nextInt(3) == 0 ? 0 : random.nextDouble();
+            }
+            weights[random.nextInt(weights.length)] = 1; // at least one positive weight
+            final AliasTable<Integer> table = table(weights);
+            for (int column = 0; column < weights.length; column++) {
+                // the largest and smallest coin flips pick the column itself or its alias
+                for (final double flip : new double[]{0, Math.nextDown(1.0)}) {
+                    final int drawn = table.next(new FixedRandom(column, flip));
+                    assertTrue(weights[drawn] > 0, "drew entry " + drawn + " with weight 0");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSingleEntry() {
+        final AliasTable<String> table = AliasTable.create(List.of("only"), entry -> 3);
+        assertEquals("only", table.next(new SplittableRandom(1)));
+    }
+
+    @Test
+    void testInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.create(new ArrayList<Integer>(), entry -> 1));
+        assertThrows(IllegalArgumentException.class, () -> table(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> table(1, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> table(1, Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> table(0, 0));
+    }
+
+    private record FixedRandom(int column, double flip) implements RandomGenerator {
+
+        @Override
+        public int nextInt(final int bound) {
+            return this.column;
+        }
+
+        @Override
+        public double nextDouble() {
+            return this.flip;
+        }
+
+        @Override
+        public long nextLong() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
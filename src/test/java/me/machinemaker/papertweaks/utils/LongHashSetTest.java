@@ -0,0 +1,178 @@
+/*
+ * GNU General Public License v3
+ *
+ * PaperTweaks, a performant replacement for the VanillaTweaks datapacks.
+ *
+ * Copyright (C) 2021-2023 Machine_Maker
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.machinemaker.papertweaks.utils;
+
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashSetTest {
+
+    @Test
+    void testAddContains() {
+        final LongHashSet set = new LongHashSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(42L));
+        assertFalse(set.add(42L));
+        assertTrue(set.add(-1L));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertTrue(set.contains(42L));
+        assertTrue(set.contains(-1L));
+        assertTrue(set.contains(Long.MIN_VALUE));
+        assertFalse(set.contains(43L));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    void testZeroKey() {
+        final LongHashSet set = new LongHashSet();
+        assertFalse(set.contains(0L));
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertTrue(set.contains(0L));
+        assertEquals(1, set.size());
+        assertTrue(set.remove(0L));
+        assertFalse(set.remove(0L));
+        assertFalse(set.contains(0L));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void testRemove() {
+        final LongHashSet set = new LongHashSet();
+        for (long i = 1; i <= 10; i++) {
+            set.add(i);
+        }
+        assertTrue(set.remove(5L));
+        assertFalse(set.remove(5L));
+        assertFalse(set.remove(11L));
+        assertFalse(set.contains(5L));
+        assertEquals(9, set.size());
+        for (long i = 1; i <= 10; i++) {
+            assertEquals(i != 5, set.contains(i));
+        }
+    }
+
+    @Test
+    void testResize() {
+        final LongHashSet set = new LongHashSet(2);
+        for (long i = 0; i < 10_000; i++) {
+            assertTrue(set.add(i * 31));
+        }
+        assertEquals(10_000, set.size());
+        for (long i = 0; i < 10_000; i++) {
+            assertTrue(set.contains(i * 31));
+            assertFalse(set.contains(i * 31 + 1));
+        }
+    }
+
+    @Test
+    void testRemovedSlotsAreReused() {
+        // keys that all land in the same probe run exercise the backward shift on removal
+        final LongHashSet set = new LongHashSet(16);
+        final Set<Long> expected = new HashSet<>();
+        for (long i = 1; i <= 12; i++) {
+            set.add(i << 32);
+            expected.add(i << 32);
+        }
+        for (int round = 0; round < 1_000; round++) {
+            final long removed = (round % 12 + 1L) << 32;
+            assertTrue(set.remove(removed));
+            assertFalse(set.contains(removed));
+            for (final long key : expected) {
+                assertEquals(key != removed, set.contains(key));
+            }
+            assertTrue(set.add(removed));
+        }
+        assertEquals(12, set.size());
+    }
+
+    @Test
+    void testMatchesHashSet() {
+        final Random random = new Random(1234);
+        final LongHashSet set = new LongHashSet();
+        final Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            final long key = random.nextInt(2_000) - 1_000;
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(key), set.add(key));
+            } else {
+                assertEquals(expected.remove(key), set.remove(key));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        for (long key = -1_000; key < 1_000; key++) {
+            assertEquals(expected.contains(key), set.contains(key));
+        }
+        final Set<Long> iterated = new HashSet<>();
+        set.forEach(iterated::add);
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    void testRemoveIf() {
+        final LongHashSet set = new LongHashSet();
+        for (long i = 0; i < 100; i++) {
+            set.add(i);
+        }
+        assertEquals(50, set.removeIf(key -> key % 2 == 0));
+        assertEquals(50, set.size());
+        for (long i = 0; i < 100; i++) {
+            assertEquals(i % 2 != 0, set.contains(i));
+        }
+    }
+
+    @Test
+    void testRemoveRandom() {
+        final Random random = new Random(1234);
+        final LongHashSet set = new LongHashSet();
+        final Set<Long> expected = new HashSet<>();
+        for (long i = 0; i < 100; i++) {
+            set.add(i);
+            expected.add(i);
+        }
+        while (!set.isEmpty()) {
+            final long key = set.removeRandom(random);
+            assertTrue(expected.remove(key));
+            assertFalse(set.contains(key));
+        }
+        assertTrue(expected.isEmpty());
+        assertThrows(NoSuchElementException.class, () -> set.removeRandom(random));
+    }
+
+    @Test
+    void testClear() {
+        final LongHashSet set = new LongHashSet();
+        set.add(0L);
+        set.add(1L);
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0L));
+        assertFalse(set.contains(1L));
+        assertTrue(set.add(1L));
+    }
+}